@@ -24,6 +24,8 @@
  */
 package org.jacpfx.api.annotations.component;
 
+import org.jacpfx.api.message.MessageKeyExtractor;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -67,4 +69,20 @@ public @interface Component {
      */
     String localeID() default "";
 
+    /**
+     * Defines the topics this component subscribes to. A message published to one of the topics ({@link org.jacpfx.api.context.JacpContext#publish(String, Object)})
+     * is delivered to all active subscribers in all perspectives, the message body is shared between the subscribers.
+     *
+     * @return The subscribed topics
+     */
+    String[] topics() default {};
+
+    /**
+     * Enables the conflating mailbox of a stateful component. A queued message is replaced by a newer message with the same key, so under load the component handles
+     * at most one message per key. Requests ({@link org.jacpfx.api.context.JacpContext#request(String, Object)}) are never conflated. Stateless components ignore this attribute.
+     *
+     * @return The key extractor, the default disables conflation
+     */
+    Class<? extends MessageKeyExtractor> conflationKey() default MessageKeyExtractor.None.class;
+
 }
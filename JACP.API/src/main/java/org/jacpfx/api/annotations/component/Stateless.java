@@ -42,4 +42,25 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Stateless {
+
+    /**
+     * The minimum amount of component instances kept alive when the component is idle.
+     *
+     * @return the minimum instance count
+     */
+    int minInstances() default 0;
+
+    /**
+     * The maximum amount of component instances handling messages in parallel. A value less or equal 0 uses the number of available processors + 1.
+     *
+     * @return the maximum instance count
+     */
+    int maxInstances() default 0;
+
+    /**
+     * The time (in milliseconds) an unused instance is kept before it is removed.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    long idleTimeout() default 60000;
 }
@@ -31,6 +31,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import org.jacpfx.api.context.JacpContext;
+import org.jacpfx.api.message.MessageKeyExtractor;
 
 /**
  * Defines a component that returns a view node to be displayed in a perspective target.
@@ -81,4 +82,29 @@ public @interface View {
      * @return The default locale Id
      */
     String localeID() default "";
+
+    /**
+     * Defines how many messages may be prepared in background (handle / @OnAsyncMessage) while the postHandle / @OnMessage execution of previous messages is still pending on the FX application thread.
+     * The UI stage is always executed in message order. A value of 1 (default) waits for every UI update before the next message is handled.
+     * In pipelined mode context changes (like target layout changes) made in handle() may become visible to the postHandle of previous messages.
+     *
+     * @return The max amount of pending UI updates
+     */
+    int pipelineDepth() default 1;
+
+    /**
+     * Defines the topics this component subscribes to. A message published to one of the topics ({@link org.jacpfx.api.context.JacpContext#publish(String, Object)})
+     * is delivered to all active subscribers in all perspectives, the message body is shared between the subscribers.
+     *
+     * @return The subscribed topics
+     */
+    String[] topics() default {};
+
+    /**
+     * Enables the conflating mailbox of a stateful component. A queued message is replaced by a newer message with the same key, so under load the component handles
+     * at most one message per key. Requests ({@link org.jacpfx.api.context.JacpContext#request(String, Object)}) are never conflated. Stateless components ignore this attribute.
+     *
+     * @return The key extractor, the default disables conflation
+     */
+    Class<? extends MessageKeyExtractor> conflationKey() default MessageKeyExtractor.None.class;
 }
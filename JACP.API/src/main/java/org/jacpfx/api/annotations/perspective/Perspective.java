@@ -79,4 +79,19 @@ public @interface Perspective {
      * @return all related component ids
      */
     String[] components();
+
+    /**
+     * The maximum amount of messages the perspective coordinator takes from its queue in one cycle. Messages of one batch are routed in order and handed over per target component.
+     * A value of 1 disables batching.
+     *
+     * @return The maximum batch size
+     */
+    int messageBatchSize() default 1;
+
+    /**
+     * The maximum time (in milliseconds) the perspective coordinator waits for further messages until a batch is full. A value of 0 handles all available messages immediately.
+     *
+     * @return The max linger time in milliseconds
+     */
+    long messageBatchLinger() default 0;
 }
@@ -62,7 +62,7 @@ public interface StatelessCallabackComponent<L, A, M> extends
     AtomicInteger getThreadCounter();
 
     /**
-     * returns associated executor service
+     * returns associated executor service, the executor may be shared with other components and must not be shut down by the component
      *
      * @return the execution service
      */
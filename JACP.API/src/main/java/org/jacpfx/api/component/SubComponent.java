@@ -26,6 +26,7 @@ package org.jacpfx.api.component;
 
 import org.jacpfx.api.message.Message;
 
+import java.util.List;
 import java.util.concurrent.TransferQueue;
 
 /**
@@ -54,6 +55,15 @@ public interface SubComponent<L, A, M> extends ComponentBase<L, M> {
      */
     void putIncomingMessage(final Message<A, M> message);
 
+    /**
+     * Add a list of messages to component, the messages will be handled in list order.
+     *
+     * @param messages, the messages.
+     */
+    default void putIncomingMessages(final List<Message<A, M>> messages) {
+        messages.forEach(this::putIncomingMessage);
+    }
+
     /**
      * Returns next message in pipe.
      *
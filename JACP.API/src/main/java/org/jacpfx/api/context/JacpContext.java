@@ -25,7 +25,13 @@
 
 package org.jacpfx.api.context;
 
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.api.message.SendOptions;
+
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created with IntelliJ IDEA.
@@ -55,6 +61,57 @@ public interface JacpContext<L, M> {
      */
     void send(final String targetId, final M message);
 
+    /**
+     * Send a message with a priority to defined targetId. Messages of a higher priority overtake queued messages of a lower priority.
+     *
+     * @param targetId, The target id for the message.
+     * @param message,  The message object.
+     * @param priority, The priority lane of the message.
+     */
+    void send(final String targetId, final M message, final MessagePriority priority);
+
+    /**
+     * Send a message with options like priority and time to live to defined targetId.
+     *
+     * @param targetId, The target id for the message.
+     * @param message,  The message object.
+     * @param options,  The send options.
+     */
+    void send(final String targetId, final M message, final SendOptions options);
+
+    /**
+     * Publish a message to all components subscribed to the topic (see the topics attribute of the component annotations).
+     * The message is enqueued once and fanned out to the subscribers of all perspectives, all subscribers receive the same message body.
+     *
+     * @param topic,   The topic to publish to.
+     * @param message, The message object.
+     */
+    void publish(final String topic, final M message);
+
+    /**
+     * Send a request to defined targetId. The returned future completes with the return value of the targets handle method (or @OnAsyncMessage method), the
+     * return value is not delivered as message. Only callback components answer requests, the future of a request to a UI component or perspective completes exceptionally.
+     * Cancelling the future before the target handles the request skips the execution.
+     *
+     * @param targetId, The target id for the request.
+     * @param message,  The message object.
+     * @param <R>       The reply type.
+     * @return the pending reply
+     */
+    <R> CompletableFuture<R> request(final String targetId, final M message);
+
+    /**
+     * Send a request to defined targetId, the returned future completes with a {@link java.util.concurrent.TimeoutException} when the target does not answer in time.
+     *
+     * @param targetId, The target id for the request.
+     * @param message,  The message object.
+     * @param timeout,  The max time to wait for the reply.
+     * @param unit,     The unit of the timeout.
+     * @param <R>       The reply type.
+     * @return the pending reply
+     */
+    <R> CompletableFuture<R> request(final String targetId, final M message, final long timeout, final TimeUnit unit);
+
     /**
      * Returns an event handler that handles messages to caller component
      *
@@ -95,6 +152,16 @@ public interface JacpContext<L, M> {
      */
     String getFullyQualifiedId();
 
+    /**
+     * Returns the interned address of the fully qualified id.
+     *
+     * @return The address
+     */
+    default ComponentAddress getComponentAddress() {
+        final String fullyQualifiedId = getFullyQualifiedId();
+        return fullyQualifiedId != null ? ComponentAddress.of(fullyQualifiedId) : null;
+    }
+
 
     /**
      * Returns the component resource bundle.
@@ -3,7 +3,7 @@
  *
  *  Copyright (C) 2010 - 2015
  *
- *  [AccessUtil.java]
+ *  [MessageRejectedException.java]
  *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
  *  All rights reserved.
  *
@@ -23,37 +23,26 @@
  * *********************************************************************
  */
 
-package org.jacpfx.rcp.util;
+package org.jacpfx.api.exceptions;
 
 /**
- * Created with IntelliJ IDEA.
- * User: Andy Moncsek
- * Date: 02.12.13
- * Time: 22:32
- * Util method to check if access is allowed
+ * This Exception will be thrown when a message can not be delivered because the target message queue is full.
  */
-public class AccessUtil {
+public class MessageRejectedException extends RuntimeException {
 
-
-    public static boolean hasAccess(final String callerClass, Class ...clazz) {
-        final Class<?> caller = getClassByString(callerClass);
-        if(caller==null) return false;
-         for(final Class c : clazz) {
-             if(c.isAssignableFrom(caller)) return true;
-         }
-        return false;
+    public MessageRejectedException() {
 
     }
 
+    public MessageRejectedException(String message) {
+        super(message);
+    }
 
+    public MessageRejectedException(String message, Throwable e) {
+        super(message, e);
+    }
 
-    private static Class<?> getClassByString(final String className) {
-        if(className==null) return null;
-        try {
-            return Class.forName(className);
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-        }
-        return null;
+    public MessageRejectedException(Throwable e) {
+        super(e);
     }
 }
@@ -24,6 +24,8 @@
  */
 package org.jacpfx.api.handler;
 
+import java.util.List;
+
 /**
  * A component handler handles initialization and reassignment of component
  *
@@ -47,4 +49,14 @@ public interface ComponentHandler<T, A> {
      * @param message,   the message which triggers the execution
      */
     void handleAndReplaceComponent(final A message, final T component);
+
+    /**
+     * Runs 'handle' method for a batch of messages to the same component. The messages must be handled in list order.
+     *
+     * @param messages,  the messages which triggers the execution
+     * @param component, the component which should be handled
+     */
+    default void handleAndReplaceComponent(final List<A> messages, final T component) {
+        messages.forEach(message -> handleAndReplaceComponent(message, component));
+    }
 }
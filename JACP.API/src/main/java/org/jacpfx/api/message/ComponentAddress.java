@@ -0,0 +1,248 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentAddress.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The address of a message target. An address is either local ("componentId" or "perspectiveId") or qualified ("perspectiveId.componentId").
+ * Addresses of components and perspectives are interned by {@link #of(String)}: the id is parsed only once, the same id always returns the same instance,
+ * and the address gets a dense index which can be used to address arrays. The intern table is bounded, when it is full {@link #of(String)} returns
+ * addresses which are not interned. Message targets are resolved with {@link #lookup(String)}, which never interns, so unknown or user built target ids do not grow the table.
+ * Two addresses are equal when their ids are equal, interned addresses can also be compared by identity.
+ */
+public final class ComponentAddress {
+    /**
+     * the separator between perspective and component id
+     */
+    public static final char SEPARATOR = '.';
+    /**
+     * the index of addresses which are not interned
+     */
+    public static final int NOT_INTERNED = -1;
+    /**
+     * the max amount of interned addresses
+     */
+    public static final int MAX_INTERNED = 16384;
+
+    private static final ConcurrentMap<String, ComponentAddress> BY_ID = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ConcurrentMap<String, ComponentAddress>> BY_PARENT = new ConcurrentHashMap<>();
+    private static final AtomicInteger INDEX = new AtomicInteger(0);
+
+    private final String id;
+    private final String perspectiveId;
+    private final String componentId;
+    private final int index;
+
+    private ComponentAddress(final String id, final String perspectiveId, final String componentId, final int index) {
+        this.id = id;
+        this.perspectiveId = perspectiveId;
+        this.componentId = componentId;
+        this.index = index;
+    }
+
+    private static ComponentAddress intern(final String id, final String perspectiveId, final String componentId) {
+        return new ComponentAddress(id, perspectiveId, componentId, INDEX.getAndIncrement());
+    }
+
+    private static boolean isFull() {
+        return INDEX.get() >= MAX_INTERNED;
+    }
+
+    /**
+     * Returns the interned address of an id like "componentId" or "perspectiveId.componentId".
+     *
+     * @param id the target id
+     * @return the interned address, or an address which is not interned when the intern table is full
+     */
+    public static ComponentAddress of(final String id) {
+        Objects.requireNonNull(id, "id must not be null");
+        final ComponentAddress address = BY_ID.get(id);
+        if (address != null) return address;
+        if (isFull()) return parse(id);
+        final int separator = id.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return BY_ID.computeIfAbsent(id, key -> intern(key, null, key));
+        }
+        final int end = id.indexOf(SEPARATOR, separator + 1);
+        final ComponentAddress qualified = of(id.substring(0, separator), id.substring(separator + 1, end < 0 ? id.length() : end));
+        if (!qualified.isInterned()) return qualified;
+        final ComponentAddress previous = BY_ID.putIfAbsent(id, qualified);
+        return previous != null ? previous : qualified;
+    }
+
+    /**
+     * Returns the interned qualified address of a component in a perspective.
+     *
+     * @param perspectiveId the perspective id, if null the local address of the component is returned
+     * @param componentId   the component id
+     * @return the interned address, or an address which is not interned when the intern table is full
+     */
+    public static ComponentAddress of(final String perspectiveId, final String componentId) {
+        if (perspectiveId == null) return of(componentId);
+        Objects.requireNonNull(componentId, "componentId must not be null");
+        final ConcurrentMap<String, ComponentAddress> existing = BY_PARENT.get(perspectiveId);
+        final ComponentAddress address = existing != null ? existing.get(componentId) : null;
+        if (address != null) return address;
+        if (isFull()) return new ComponentAddress(perspectiveId + SEPARATOR + componentId, perspectiveId, componentId, NOT_INTERNED);
+        final ConcurrentMap<String, ComponentAddress> components = existing != null ? existing : BY_PARENT.computeIfAbsent(perspectiveId, key -> new ConcurrentHashMap<>());
+        return components.computeIfAbsent(componentId, key -> {
+            final String id = perspectiveId + SEPARATOR + key;
+            final ComponentAddress qualified = intern(id, perspectiveId, key);
+            BY_ID.putIfAbsent(id, qualified);
+            return qualified;
+        });
+    }
+
+    /**
+     * Returns the address of an id like "componentId" or "perspectiveId.componentId" without interning it. If the id was interned before, the interned address is returned.
+     *
+     * @param id the target id
+     * @return the address
+     */
+    public static ComponentAddress lookup(final String id) {
+        Objects.requireNonNull(id, "id must not be null");
+        final ComponentAddress address = BY_ID.get(id);
+        return address != null ? address : parse(id);
+    }
+
+    /**
+     * Returns the qualified address of a component in a perspective without interning it. If the address was interned before, the interned address is returned.
+     *
+     * @param perspectiveId the perspective id, if null the local address of the component is returned
+     * @param componentId   the component id
+     * @return the address
+     */
+    public static ComponentAddress lookup(final String perspectiveId, final String componentId) {
+        if (perspectiveId == null) return lookup(componentId);
+        Objects.requireNonNull(componentId, "componentId must not be null");
+        final ConcurrentMap<String, ComponentAddress> components = BY_PARENT.get(perspectiveId);
+        final ComponentAddress address = components != null ? components.get(componentId) : null;
+        return address != null ? address : new ComponentAddress(perspectiveId + SEPARATOR + componentId, perspectiveId, componentId, NOT_INTERNED);
+    }
+
+    private static ComponentAddress parse(final String id) {
+        final int separator = id.indexOf(SEPARATOR);
+        if (separator < 0) return new ComponentAddress(id, null, id, NOT_INTERNED);
+        final int end = id.indexOf(SEPARATOR, separator + 1);
+        final String perspectiveId = id.substring(0, separator);
+        final String componentId = id.substring(separator + 1, end < 0 ? id.length() : end);
+        return new ComponentAddress(end < 0 ? id : perspectiveId + SEPARATOR + componentId, perspectiveId, componentId, NOT_INTERNED);
+    }
+
+    /**
+     * Returns the qualified address in a perspective, a qualified address is returned unchanged. The qualified address is not interned by this call.
+     *
+     * @param parentId the perspective id
+     * @return the qualified address
+     */
+    public ComponentAddress qualify(final String parentId) {
+        return isLocal() ? lookup(parentId, this.componentId) : this;
+    }
+
+    /**
+     * Returns true if the address contains no perspective part.
+     *
+     * @return true for local addresses
+     */
+    public boolean isLocal() {
+        return this.perspectiveId == null;
+    }
+
+    /**
+     * Returns the full id.
+     *
+     * @return the id like "perspectiveId.componentId"
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the perspective part of a qualified address.
+     *
+     * @return the perspective id or null for local addresses
+     */
+    public String getPerspectiveId() {
+        return this.perspectiveId;
+    }
+
+    /**
+     * Returns the component part of the address, for local addresses this is the full id.
+     *
+     * @return the component id
+     */
+    public String getComponentId() {
+        return this.componentId;
+    }
+
+    /**
+     * Returns the perspective targeted by this address, for local addresses this is the full id.
+     *
+     * @return the target perspective id
+     */
+    public String getTargetPerspectiveId() {
+        return isLocal() ? this.id : this.perspectiveId;
+    }
+
+    /**
+     * Returns true if this address is interned and has a dense index.
+     *
+     * @return true for interned addresses
+     */
+    public boolean isInterned() {
+        return this.index != NOT_INTERNED;
+    }
+
+    /**
+     * Returns the dense index of this address.
+     *
+     * @return the index, or {@link #NOT_INTERNED} for addresses which are not interned
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ComponentAddress)) return false;
+        return this.id.equals(((ComponentAddress) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.id;
+    }
+}
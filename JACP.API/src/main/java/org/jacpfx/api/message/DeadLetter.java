@@ -0,0 +1,72 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeadLetter.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+/**
+ * A message which could not be delivered. Dead letters are published to the dead letter topic, components subscribe to the topic to receive them.
+ */
+public final class DeadLetter {
+    /**
+     * the topic of published dead letters
+     */
+    public static final String TOPIC = "jacpfx.deadLetters";
+
+    private final Message<?, ?> message;
+    private final DeadLetterReason reason;
+    private final String description;
+
+    public DeadLetter(final Message<?, ?> message, final DeadLetterReason reason, final String description) {
+        this.message = message;
+        this.reason = reason;
+        this.description = description;
+    }
+
+    /**
+     * @return the undelivered message
+     */
+    public Message<?, ?> getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the reason why the message was not delivered
+     */
+    public DeadLetterReason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return a description of the failed delivery
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadLetter{" + reason + ", source=" + message.getSourceId() + ", target=" + message.getTargetId() + ", " + description + "}";
+    }
+}
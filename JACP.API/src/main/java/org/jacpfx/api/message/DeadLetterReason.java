@@ -0,0 +1,48 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeadLetterReason.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.api.message;
+
+/**
+ * The reason why a message was moved to the dead letter channel.
+ */
+public enum DeadLetterReason {
+    /**
+     * no component or perspective with the target id exists
+     */
+    UNKNOWN_TARGET,
+    /**
+     * the perspective of the target does not exist
+     */
+    NO_PERSPECTIVE,
+    /**
+     * the deadline of the message passed before it was handled
+     */
+    EXPIRED,
+    /**
+     * the message queue of the target was full and the overflow policy dropped the message
+     */
+    OVERFLOW
+}
@@ -25,6 +25,7 @@
 
 package org.jacpfx.api.message;
 
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an message used by specific listener. An message targets a component
@@ -74,6 +75,91 @@ public interface Message<A, M> extends Cloneable {
      */
     String getTargetId();
 
+    /**
+     * Returns the address of the message target, the address is interned if the target id was interned before.
+     *
+     * @return the target address
+     */
+    default ComponentAddress getTargetAddress() {
+        final String targetId = getTargetId();
+        return targetId != null ? ComponentAddress.lookup(targetId) : null;
+    }
+
+    /**
+     * Returns the topic of a published message.
+     *
+     * @return the topic or null if the message targets a single component
+     */
+    default String getTopic() {
+        return null;
+    }
+
+    /**
+     * Returns true if a published message was already fanned out to all perspectives and must only be delivered to the subscribers of the receiving perspective.
+     *
+     * @return true for perspective local topic messages
+     */
+    default boolean isTopicLocal() {
+        return false;
+    }
+
+    /**
+     * Returns the pending reply of a request message, the reply is completed with the return value of the targets handle method.
+     *
+     * @return the reply or null if no reply was requested
+     */
+    default CompletableFuture<Object> getReply() {
+        return null;
+    }
+
+    /**
+     * Returns the priority lane of the message.
+     *
+     * @return the message priority
+     */
+    default MessagePriority getPriority() {
+        return MessagePriority.NORMAL;
+    }
+
+    /**
+     * Returns the creation time of the message in nanoseconds, the value is only useful to measure the message age with {@link System#nanoTime()}.
+     *
+     * @return the creation time or 0 if unknown
+     */
+    default long getCreationTime() {
+        return 0L;
+    }
+
+    /**
+     * Returns the sequence number of the message, unique for every message instance of the application. Copies of a message, like clones or the perspective
+     * local copies of a topic message, get their own sequence number.
+     *
+     * @return the sequence number or 0 if unknown
+     */
+    default long getSequence() {
+        return 0L;
+    }
+
+    /**
+     * Returns the deadline of the message in nanoseconds of {@link System#nanoTime()}, an expired message is dropped before it is handled.
+     *
+     * @return the deadline or 0 if the message never expires
+     */
+    default long getDeadline() {
+        return 0L;
+    }
+
+    /**
+     * Checks if the deadline of the message has passed.
+     *
+     * @param nanoTime the current {@link System#nanoTime()}
+     * @return true if the message is expired
+     */
+    default boolean isExpired(final long nanoTime) {
+        final long deadline = getDeadline();
+        return deadline != 0L && nanoTime - deadline >= 0;
+    }
+
     /**
      * Checks if message is type of a given class.
      *
@@ -0,0 +1,64 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageKeyExtractor.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.api.message;
+
+/**
+ * Extracts the conflation key of a message. A conflating component mailbox keeps only the latest queued message per key, messages with a null key are never conflated.
+ * Implementations need a public no-arg constructor to be used in component annotations.
+ */
+@FunctionalInterface
+public interface MessageKeyExtractor {
+
+    /**
+     * Returns the conflation key of a message.
+     *
+     * @param message the queued message
+     * @return the key or null if the message must not be conflated
+     */
+    Object getKey(final Message<?, ?> message);
+
+    /**
+     * Disables conflation, this is the default of the component annotations.
+     */
+    final class None implements MessageKeyExtractor {
+        @Override
+        public Object getKey(final Message<?, ?> message) {
+            return null;
+        }
+    }
+
+    /**
+     * Conflates messages by the type of their message body, a component handles only the latest message of each type.
+     */
+    final class ByType implements MessageKeyExtractor {
+        @Override
+        public Object getKey(final Message<?, ?> message) {
+            final Object body = message.getMessageBody();
+            return body != null ? body.getClass() : null;
+        }
+    }
+}
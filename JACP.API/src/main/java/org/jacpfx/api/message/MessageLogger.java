@@ -61,4 +61,11 @@ public interface MessageLogger {
      * @param m, the message
      */
     void receive(final Message m);
+    /**
+     * Log message when a message could not be delivered and was moved to the dead letter channel
+     * @param m, the message
+     * @param reason, the reason why the message was not delivered
+     */
+    default void deadLetter(final Message m, final DeadLetterReason reason) {
+    }
 }
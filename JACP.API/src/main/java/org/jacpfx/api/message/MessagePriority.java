@@ -0,0 +1,46 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessagePriority.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.api.message;
+
+/**
+ * The priority of a message. Coordinators and component mailboxes keep one lane per priority and serve higher lanes first,
+ * a lower lane is served at the latest after a configurable amount of higher lane messages, so bulk messages never starve.
+ */
+public enum MessagePriority {
+    /**
+     * user interactions like cancel or navigation, served before all other messages
+     */
+    INTERACTIVE,
+    /**
+     * the default priority of all messages
+     */
+    NORMAL,
+    /**
+     * bulk data, served when no message of a higher priority is waiting
+     */
+    BULK
+}
@@ -0,0 +1,111 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [SendOptions.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.api.message;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable options of a single send call, like the priority lane and the time to live of the message.
+ * A message which is not handled within its time to live is dropped by the coordinators and component workers.
+ */
+public final class SendOptions {
+    private static final MessagePriority[] PRIORITIES = MessagePriority.values();
+    private static final SendOptions[] BY_PRIORITY = new SendOptions[PRIORITIES.length];
+
+    static {
+        for (final MessagePriority priority : PRIORITIES) {
+            BY_PRIORITY[priority.ordinal()] = new SendOptions(priority, 0L);
+        }
+    }
+
+    /**
+     * normal priority, no time to live
+     */
+    public static final SendOptions DEFAULT = BY_PRIORITY[MessagePriority.NORMAL.ordinal()];
+
+    private final MessagePriority priority;
+    private final long ttlNanos;
+
+    private SendOptions(final MessagePriority priority, final long ttlNanos) {
+        this.priority = priority;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Returns the options for a priority without time to live.
+     *
+     * @param priority the priority lane
+     * @return the options
+     */
+    public static SendOptions priority(final MessagePriority priority) {
+        return BY_PRIORITY[Objects.requireNonNull(priority, "priority must not be null").ordinal()];
+    }
+
+    /**
+     * Returns the options for a time to live with normal priority.
+     *
+     * @param ttl  the time to live, must be positive
+     * @param unit the unit of the time to live
+     * @return the options
+     */
+    public static SendOptions ttl(final long ttl, final TimeUnit unit) {
+        return DEFAULT.withTtl(ttl, unit);
+    }
+
+    /**
+     * @param priority the priority lane
+     * @return a copy of these options with another priority
+     */
+    public SendOptions withPriority(final MessagePriority priority) {
+        return ttlNanos == 0L ? priority(priority) : new SendOptions(Objects.requireNonNull(priority, "priority must not be null"), ttlNanos);
+    }
+
+    /**
+     * @param ttl  the time to live, must be positive
+     * @param unit the unit of the time to live
+     * @return a copy of these options with another time to live
+     */
+    public SendOptions withTtl(final long ttl, final TimeUnit unit) {
+        if (ttl <= 0) throw new IllegalArgumentException("time to live must be positive: " + ttl);
+        return new SendOptions(priority, unit.toNanos(ttl));
+    }
+
+    /**
+     * @return the priority lane
+     */
+    public MessagePriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the time to live in nanoseconds, 0 if the message never expires
+     */
+    public long getTtlNanos() {
+        return ttlNanos;
+    }
+}
@@ -26,18 +26,24 @@ package org.jacpfx.rcp.component;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import org.jacpfx.api.annotations.component.Stateless;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.StatelessCallabackComponent;
 import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
-import org.jacpfx.rcp.util.HandlerThreadFactory;
-import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+import org.jacpfx.rcp.scheduler.StatelessWorkerPool;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -52,14 +58,24 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
         StatelessCallabackComponent<EventHandler<Event>, Event, Object> {
 	public static final int MAX_INCTANCE_COUNT = getNrOfProcessors()+1;
 
+	private static final long DEFAULT_IDLE_TIMEOUT = 60000;
 
-
+	// counts the existing instances
 	private final AtomicInteger threadCount = new AtomicInteger(0);
 
+	// true while a sweep of expired idle instances is scheduled
+	private final AtomicBoolean sweepScheduled = new AtomicBoolean(false);
+
 	private final List<SubComponent<EventHandler<Event>, Event, Object>> componentInstances = new CopyOnWriteArrayList<>();
 
-	private final ExecutorService executor = Executors
-			.newFixedThreadPool(AStatelessCallbackComponent.MAX_INCTANCE_COUNT,new HandlerThreadFactory("AStatelessCallbackComponent:"));
+	// idle instances, the most recently used instance is at the head, the longest idle instance at the tail
+	private final ConcurrentLinkedDeque<IdleInstance> idleInstances = new ConcurrentLinkedDeque<>();
+
+	private final Queue<Message<Event, Object>> pendingMessages = new ConcurrentLinkedQueue<>();
+
+	private final int minInstances;
+	private final int maxInstances;
+	private final long idleTimeout;
 
 
 	private static int getNrOfProcessors() {
@@ -68,11 +84,19 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
 	}
 
 	public AStatelessCallbackComponent() {
-		ShutdownThreadsHandler.registerExecutor(executor);
+		this.minInstances = 0;
+		this.maxInstances = MAX_INCTANCE_COUNT;
+		this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT);
 	}
 
-
-
+	public AStatelessCallbackComponent(final ComponentHandle<?, Event, Object> handle) {
+		this.setComponent(handle);
+		final Stateless stateless = handle.getClass().getAnnotation(Stateless.class);
+		final int max = stateless != null && stateless.maxInstances() > 0 ? stateless.maxInstances() : MAX_INCTANCE_COUNT;
+		this.maxInstances = max;
+		this.minInstances = stateless != null ? Math.min(Math.max(0, stateless.minInstances()), max) : 0;
+		this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(stateless != null ? Math.max(0, stateless.idleTimeout()) : DEFAULT_IDLE_TIMEOUT);
+	}
 
 
 
@@ -99,6 +123,150 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
         currentContext.updateExecutionTarget(InternalContext.class.cast(context).getExecutionTarget());
     }
 
+	/**
+	 * Adds a message to the queue shared by all instances.
+	 *
+	 * @param message the message
+	 */
+	public final void putPendingMessage(final Message<Event, Object> message) {
+		this.pendingMessages.add(message);
+	}
+
+	/**
+	 * Returns the next message of the queue shared by all instances.
+	 *
+	 * @return the message or null if no message is pending
+	 */
+	public final Message<Event, Object> pollPendingMessage() {
+		return this.pendingMessages.poll();
+	}
+
+	/**
+	 * Checks if the queue shared by all instances contains messages.
+	 *
+	 * @return true if messages are pending
+	 */
+	public final boolean hasPendingMessages() {
+		return !this.pendingMessages.isEmpty();
+	}
+
+	/**
+	 * Returns a snapshot of the messages waiting for an idle instance.
+	 *
+	 * @return the pending messages
+	 */
+	public final List<Message<Event, Object>> getPendingMessages() {
+		return new ArrayList<>(this.pendingMessages);
+	}
+
+	/**
+	 * @return the amount of instances waiting for messages
+	 */
+	public final int getIdleInstanceCount() {
+		return this.idleInstances.size();
+	}
+
+	/**
+	 * Returns the most recently used idle instance.
+	 *
+	 * @return the instance or null if all instances are busy
+	 */
+	public final SubComponent<EventHandler<Event>, Event, Object> pollIdleInstance() {
+		final IdleInstance idle = this.idleInstances.pollFirst();
+		return idle != null ? idle.instance : null;
+	}
+
+	/**
+	 * Reserves a slot for a new instance, the caller must create and add the instance.
+	 *
+	 * @return false if the maximum amount of instances is reached
+	 */
+	public final boolean reserveInstance() {
+		int current;
+		do {
+			current = this.threadCount.get();
+			if (current >= this.maxInstances) return false;
+		} while (!this.threadCount.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/**
+	 * Adds a new created instance.
+	 *
+	 * @param instance the new instance
+	 */
+	public final void addInstance(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+		this.componentInstances.add(instance);
+	}
+
+	/**
+	 * Returns an instance after it handled all messages. Instances of a removed component are dropped.
+	 *
+	 * @param instance the instance
+	 */
+	public final void returnInstance(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+		if (this.componentInstances.contains(instance)) this.idleInstances.offerFirst(new IdleInstance(instance, System.nanoTime()));
+	}
+
+	/**
+	 * Removes the longest idle instance when it exceeded the idle timeout and more than the minimum amount of instances exist.
+	 *
+	 * @return the removed instance or null
+	 */
+	public final SubComponent<EventHandler<Event>, Event, Object> removeExpiredInstance() {
+		final IdleInstance idle = this.idleInstances.peekLast();
+		if (idle == null || System.nanoTime() - idle.since < this.idleTimeout) return null;
+		int current;
+		do {
+			current = this.threadCount.get();
+			if (current <= this.minInstances) return null;
+		} while (!this.threadCount.compareAndSet(current, current - 1));
+		if (!this.idleInstances.removeLastOccurrence(idle)) {
+			// the instance was taken in the meantime
+			this.threadCount.incrementAndGet();
+			return null;
+		}
+		this.componentInstances.remove(idle.instance);
+		return idle.instance;
+	}
+
+	/**
+	 * Returns the time until the longest idle instance exceeds the idle timeout.
+	 *
+	 * @return the remaining nanoseconds, 0 if the instance is already expired, or -1 if no instance can be removed
+	 */
+	public final long getNanosToNextExpiry() {
+		final IdleInstance idle = this.idleInstances.peekLast();
+		if (idle == null || this.threadCount.get() <= this.minInstances) return -1;
+		return Math.max(0, idle.since + this.idleTimeout - System.nanoTime());
+	}
+
+	/**
+	 * Marks a sweep of expired instances as scheduled.
+	 *
+	 * @return false if a sweep is already scheduled
+	 */
+	public final boolean beginSweep() {
+		return this.sweepScheduled.compareAndSet(false, true);
+	}
+
+	/**
+	 * Marks the scheduled sweep as started, a new sweep can be scheduled.
+	 */
+	public final void endSweep() {
+		this.sweepScheduled.set(false);
+	}
+
+	/**
+	 * Removes all instances and pending messages.
+	 */
+	public final void clearInstances() {
+		this.componentInstances.clear();
+		this.idleInstances.clear();
+		this.pendingMessages.clear();
+		this.threadCount.set(0);
+	}
+
 	@Override
 	public final List<SubComponent<EventHandler<Event>, Event, Object>> getInstances() {
 		return this.componentInstances;
@@ -111,7 +279,17 @@ public abstract class AStatelessCallbackComponent extends ASubComponent
 
 	@Override
 	public final ExecutorService getExecutorService() {
-		return this.executor;
+		return StatelessWorkerPool.getExecutor();
+	}
+
+	private static final class IdleInstance {
+		private final SubComponent<EventHandler<Event>, Event, Object> instance;
+		private final long since;
+
+		private IdleInstance(final SubComponent<EventHandler<Event>, Event, Object> instance, final long since) {
+			this.instance = instance;
+			this.since = since;
+		}
 	}
 
 }
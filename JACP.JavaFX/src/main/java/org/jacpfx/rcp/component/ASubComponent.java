@@ -31,12 +31,15 @@ import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageKeyExtractor;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.message.MessageLaneMetrics;
+import org.jacpfx.rcp.metrics.ComponentMetrics;
 import org.jacpfx.rcp.worker.AEmbeddedComponentWorker;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,10 +56,11 @@ public abstract class ASubComponent  implements
 
     private final Semaphore lock = new Semaphore(1);
     private final Logger componentLogger = Logger.getLogger(this.getClass().getName());
-    private final BlockingQueue<Message<Event, Object>> incomingMessage = new LinkedBlockingQueue<>();
+    private volatile PriorityMailbox incomingMessage = new PriorityMailbox();
     private volatile ComponentHandle<?, Event, Object> component;
     private volatile AEmbeddedComponentWorker workerRef;
     private final AtomicBoolean started =  new AtomicBoolean(false);
+    private final ComponentMetrics metrics = new ComponentMetrics();
     private String localeID = "";
     private String resourceBundleLocation = "";
     private Context context;
@@ -74,6 +78,53 @@ public abstract class ASubComponent  implements
     }
 
 
+    /**
+     * Replaces the component mailbox by a conflating mailbox. Must be called while component initialization, before the component is registered,
+     * the mailbox of a component which may already receive messages is never replaced.
+     *
+     * @param keyExtractor the extractor of the conflation key
+     * @throws IllegalStateException when the component was already started or received messages
+     */
+    public final void setMessageKeyExtractor(final MessageKeyExtractor keyExtractor) {
+        if (this.workerRef != null || isStarted() || !this.incomingMessage.isEmpty())
+            throw new IllegalStateException("the mailbox of a component can only be set before it receives messages");
+        this.incomingMessage = new ConflatingMailbox(keyExtractor);
+    }
+
+    /**
+     * Returns the amount of handled messages and their latency per priority lane of the component mailbox.
+     *
+     * @return the mailbox lane metrics
+     */
+    public final MessageLaneMetrics getMailboxMetrics() {
+        return this.incomingMessage.getLaneMetrics();
+    }
+
+    /**
+     * Returns the handle, postHandle and application thread wait metrics of the component.
+     *
+     * @return the component metrics
+     */
+    public final ComponentMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * @return the amount of messages in the component mailbox
+     */
+    public final int getMailboxDepth() {
+        return this.incomingMessage.size();
+    }
+
+    /**
+     * Returns a snapshot of the queued messages in the order they will be handled.
+     *
+     * @return the queued messages
+     */
+    public final List<Message<Event, Object>> getMailboxSnapshot() {
+        return new ArrayList<>(this.incomingMessage);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -87,13 +138,23 @@ public abstract class ASubComponent  implements
      */
     @Override
     public final void putIncomingMessage(final Message<Event, Object> action) {
-        try {
-            this.incomingMessage.put(action);
-        } catch (final InterruptedException e) {
-            this.componentLogger.info("massage put failed:");
-            //TODO handle exception global
-        }
+        // the mailbox is unbounded, put never waits
+        this.incomingMessage.put(action);
+        signalWorker();
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void putIncomingMessages(final List<Message<Event, Object>> messages) {
+        this.incomingMessage.addAll(messages);
+        signalWorker();
+    }
+
+    private void signalWorker() {
+        final AEmbeddedComponentWorker worker = this.workerRef;
+        if (worker != null) worker.signal();
     }
 
     /**
@@ -130,6 +191,16 @@ public abstract class ASubComponent  implements
     @Override
     public final void release() {
         this.lock.release();
+        if (hasIncomingMessage()) signalWorker();
+    }
+
+    /**
+     * Acquires the component lock if it is available.
+     *
+     * @return true if the lock was acquired
+     */
+    public final boolean tryLock() {
+        return this.lock.tryAcquire();
     }
 
 
@@ -164,11 +235,10 @@ public abstract class ASubComponent  implements
     }
 
     public final void interruptWorker() {
-        if(workerRef==null)return;
-        if(workerRef.isAlive()) {
-            workerRef.interrupt();
-        }
-        workerRef.cleanAfterInterrupt();
+        final AEmbeddedComponentWorker worker = this.workerRef;
+        if(worker==null)return;
+        worker.stop();
+        worker.cleanAfterInterrupt();
     }
 
     /**
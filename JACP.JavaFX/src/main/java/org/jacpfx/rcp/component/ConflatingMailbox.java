@@ -0,0 +1,55 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ConflatingMailbox.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.component;
+
+import org.jacpfx.api.message.MessageKeyExtractor;
+
+/**
+ * A component mailbox which keeps only the latest message per key. A new message replaces a queued message with the same key at the position of the queued message,
+ * so the message order of different keys is kept and a component handles at most one message per key and mailbox cycle. Messages without key and requests are queued like in a plain {@link PriorityMailbox}.
+ * A replacing message stays in the priority lane of the queued message.
+ */
+public class ConflatingMailbox extends PriorityMailbox {
+
+    public ConflatingMailbox(final MessageKeyExtractor keyExtractor) {
+        super(keyExtractor);
+    }
+
+    /**
+     * Returns the amount of messages replaced by a newer message.
+     *
+     * @return the conflated message count
+     */
+    public long getConflatedCount() {
+        lock.lock();
+        try {
+            return conflatedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
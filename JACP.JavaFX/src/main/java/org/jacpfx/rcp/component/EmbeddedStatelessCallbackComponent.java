@@ -37,8 +37,7 @@ import org.jacpfx.api.component.ComponentHandle;
 public class EmbeddedStatelessCallbackComponent extends AStatelessCallbackComponent{
 
     public EmbeddedStatelessCallbackComponent(ComponentHandle handle) {
-        super();
-        this.setComponent(handle);
+        super(handle);
     }
 
     @Override
@@ -0,0 +1,279 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PriorityMailbox.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.component;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageKeyExtractor;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.rcp.message.MessageLaneMetrics;
+import org.jacpfx.rcp.message.PriorityLanes;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The default component mailbox. Messages are queued in one FIFO lane per {@link MessagePriority}, the component handles higher lanes first (see {@link PriorityLanes}).
+ */
+public class PriorityMailbox extends AbstractQueue<Message<Event, Object>> implements BlockingQueue<Message<Event, Object>> {
+    private final MessageKeyExtractor keyExtractor;
+    /**
+     * contains the messages, only messages with a conflation key are wrapped in a slot
+     */
+    private final PriorityLanes<Object> lanes = new PriorityLanes<>();
+    private final Map<Object, Slot> slotsByKey = new HashMap<>();
+    private final MessageLaneMetrics metrics = new MessageLaneMetrics();
+    final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    long conflatedCount;
+
+    public PriorityMailbox() {
+        this.keyExtractor = null;
+    }
+
+    PriorityMailbox(final MessageKeyExtractor keyExtractor) {
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+    }
+
+    /**
+     * Returns the amount of served messages and their latency per lane.
+     *
+     * @return the lane metrics
+     */
+    public MessageLaneMetrics getLaneMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the amount of queued messages in a lane.
+     *
+     * @param priority the lane
+     * @return the lane size
+     */
+    public int size(final MessagePriority priority) {
+        lock.lock();
+        try {
+            return lanes.size(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(final Message<Event, Object> message) {
+        Objects.requireNonNull(message);
+        // a request must be answered, so it never replaces or gets replaced
+        final Object key = keyExtractor != null && message.getReply() == null ? keyExtractor.getKey(message) : null;
+        lock.lock();
+        try {
+            final Slot queued = key != null ? slotsByKey.get(key) : null;
+            if (queued != null) {
+                queued.message = message;
+                conflatedCount++;
+                return true;
+            }
+            if (key != null) {
+                final Slot slot = new Slot(key, message);
+                lanes.add(slot, message.getPriority());
+                slotsByKey.put(key, slot);
+            } else {
+                lanes.add(message, message.getPriority());
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final Message<Event, Object> message) {
+        offer(message);
+    }
+
+    @Override
+    public boolean offer(final Message<Event, Object> message, final long timeout, final TimeUnit unit) {
+        return offer(message);
+    }
+
+    @Override
+    public Message<Event, Object> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (lanes.isEmpty()) notEmpty.await();
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Message<Event, Object> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (lanes.isEmpty()) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Message<Event, Object> poll() {
+        lock.lock();
+        try {
+            return lanes.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Message<Event, Object> peek() {
+        lock.lock();
+        try {
+            final Object element = lanes.peek();
+            return element != null ? messageOf(element) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Message<Event, Object>> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Message<Event, Object>> c, final int maxElements) {
+        if (c == this) throw new IllegalArgumentException();
+        lock.lock();
+        try {
+            int count = 0;
+            while (count < maxElements && !lanes.isEmpty()) {
+                c.add(dequeue());
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return lanes.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return lanes.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queued messages ordered by lane, the iterator does not support remove.
+     *
+     * @return the snapshot iterator
+     */
+    @Override
+    public Iterator<Message<Event, Object>> iterator() {
+        final List<Message<Event, Object>> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            lanes.forEach(element -> snapshot.add(messageOf(element)));
+        } finally {
+            lock.unlock();
+        }
+        final Iterator<Message<Event, Object>> iterator = snapshot.iterator();
+        return new Iterator<Message<Event, Object>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Message<Event, Object> next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * must be called while holding the lock
+     */
+    private Message<Event, Object> dequeue() {
+        final Object element = lanes.poll();
+        if (element instanceof Slot) slotsByKey.remove(((Slot) element).key);
+        final Message<Event, Object> message = messageOf(element);
+        metrics.record(message);
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<Event, Object> messageOf(final Object element) {
+        return element instanceof Slot ? ((Slot) element).message : (Message<Event, Object>) element;
+    }
+
+    private static final class Slot {
+        private final Object key;
+        private Message<Event, Object> message;
+
+        private Slot(final Object key, final Message<Event, Object> message) {
+            this.key = key;
+            this.message = message;
+        }
+    }
+}
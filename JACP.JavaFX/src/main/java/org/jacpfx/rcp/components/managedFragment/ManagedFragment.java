@@ -38,6 +38,8 @@ import org.jacpfx.api.exceptions.ManagedFragmentNotInitializedException;
 import org.jacpfx.api.fragment.Scope;
 import org.jacpfx.api.launcher.Launcher;
 import org.jacpfx.rcp.component.FXComponent;
+import org.jacpfx.rcp.context.Context;
+import org.jacpfx.rcp.context.ContextView;
 import org.jacpfx.rcp.perspective.FXPerspective;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
@@ -261,12 +263,12 @@ public class ManagedFragment {
         final SubComponent<EventHandler<Event>, Event, Object> comp = findSubcomponentById(resource, parentId,componentId);
         if(comp!=null) {
             if(!comp.getContext().getParentId().equalsIgnoreCase(parentId))  throw new IllegalArgumentException("parentId annotation must be unique "+componentId);
-            field.set(bean, comp.getContext());
+            field.set(bean, new ContextView(Context.class.cast(comp.getContext()), ContextView.Role.FRAGMENT));
             return;
         }
         final Perspective<Node, EventHandler<Event>, Event, Object> persp = findPerspective(resource, parentId, componentId);
         if (persp == null) throw new IllegalArgumentException("component could not be found: "+componentId);
-        field.set(bean, persp.getContext());
+        field.set(bean, new ContextView(Context.class.cast(persp.getContext()), ContextView.Role.FRAGMENT));
 
     }
 
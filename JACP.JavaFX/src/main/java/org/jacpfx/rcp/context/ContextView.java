@@ -0,0 +1,234 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ContextView.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.context;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.component.Injectable;
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.api.message.SendOptions;
+import org.jacpfx.concurrency.FXWorker;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.FXComponent;
+import org.jacpfx.rcp.componentLayout.FXComponentLayout;
+import org.jacpfx.rcp.components.managedFragment.ManagedFragmentHandler;
+import org.jacpfx.rcp.perspective.FXPerspective;
+import org.jacpfx.rcp.workbench.FXWorkbench;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The context view handed to a workbench, perspective, component or fragment. The view exposes only the operations the role of its owner may call and delegates
+ * them to the context of the owner, the framework itself works with the unrestricted context. The role is fixed when the view is injected, so a check costs one field read.
+ */
+public final class ContextView implements Context {
+
+    /**
+     * The role of the context owner and the operations it may call.
+     */
+    public enum Role {
+        WORKBENCH(false, false, false, false),
+        PERSPECTIVE(true, true, false, false),
+        FX_COMPONENT(true, true, false, true),
+        CALLBACK_COMPONENT(true, false, true, false),
+        FRAGMENT(true, false, false, false);
+
+        private final boolean selfMessages;
+        private final boolean viewResources;
+        private final boolean returnTarget;
+        private final boolean placement;
+
+        Role(final boolean selfMessages, final boolean viewResources, final boolean returnTarget, final boolean placement) {
+            this.selfMessages = selfMessages;
+            this.viewResources = viewResources;
+            this.returnTarget = returnTarget;
+            this.placement = placement;
+        }
+
+        /**
+         * Returns the role of a workbench, perspective or component handle.
+         *
+         * @param handle the handle
+         * @return the role of the handle
+         */
+        public static Role of(final Injectable handle) {
+            if (handle instanceof FXComponent) return FX_COMPONENT;
+            if (handle instanceof CallbackComponent) return CALLBACK_COMPONENT;
+            if (handle instanceof FXPerspective) return PERSPECTIVE;
+            if (handle instanceof FXWorkbench) return WORKBENCH;
+            return FRAGMENT;
+        }
+    }
+
+    private final Context context;
+    private final Role role;
+
+    public ContextView(final Context context, final Role role) {
+        this.context = context;
+        this.role = role;
+    }
+
+    /**
+     * @return the role of the context owner
+     */
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public void send(final Object message) {
+        if (!role.selfMessages) throw new IllegalStateException(" a FXWorkbench is no valid message target");
+        context.send(message);
+    }
+
+    @Override
+    public void send(final String targetId, final Object message) {
+        context.send(targetId, message);
+    }
+
+    @Override
+    public void send(final String targetId, final Object message, final MessagePriority priority) {
+        context.send(targetId, message, priority);
+    }
+
+    @Override
+    public void send(final String targetId, final Object message, final SendOptions options) {
+        context.send(targetId, message, options);
+    }
+
+    @Override
+    public void publish(final String topic, final Object message) {
+        context.publish(topic, message);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> request(final String targetId, final Object message) {
+        return context.request(targetId, message);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> request(final String targetId, final Object message, final long timeout, final TimeUnit unit) {
+        return context.request(targetId, message, timeout, unit);
+    }
+
+    @Override
+    @Deprecated
+    public EventHandler<Event> getEventHandler(final Object message) {
+        if (!role.selfMessages) throw new IllegalStateException(" a FXWorkbench is no valid message target");
+        return context.getEventHandler(message);
+    }
+
+    @Override
+    @Deprecated
+    public EventHandler<Event> getEventHandler(final String targetId, final Object message) {
+        return context.getEventHandler(targetId, message);
+    }
+
+    @Override
+    public String getId() {
+        return context.getId();
+    }
+
+    @Override
+    public String getParentId() {
+        return context.getParentId();
+    }
+
+    @Override
+    public String getFullyQualifiedId() {
+        return context.getFullyQualifiedId();
+    }
+
+    @Override
+    public ComponentAddress getComponentAddress() {
+        return context.getComponentAddress();
+    }
+
+    @Override
+    public ResourceBundle getResourceBundle() {
+        return context.getResourceBundle();
+    }
+
+    @Override
+    public boolean isActive() {
+        return context.isActive();
+    }
+
+    @Override
+    public void setReturnTarget(final String componentTargetId) throws IllegalStateException {
+        if (!role.returnTarget) throw new IllegalStateException(" the return target can be set only in CallbackComponents");
+        context.setReturnTarget(componentTargetId);
+    }
+
+    @Override
+    @Deprecated
+    public void setExecutionTarget(final String id) throws IllegalStateException {
+        if (!role.placement) throw new IllegalStateException(" the execution target can be set only in FXComponents");
+        context.setExecutionTarget(id);
+    }
+
+    @Override
+    public void setTargetLayout(final String targetLayout) throws IllegalStateException {
+        if (!role.placement) throw new IllegalStateException(" the target layout can be set only in FXComponents");
+        context.setTargetLayout(targetLayout);
+    }
+
+    @Override
+    public <T> ManagedFragmentHandler<T> getManagedFragmentHandler(final Class<T> clazz) {
+        if (!role.viewResources) throw new IllegalStateException(" managed fragments are accessible from FXPerspective and FXComponent");
+        return context.getManagedFragmentHandler(clazz);
+    }
+
+    @Override
+    public void showModalDialog(final Node node) {
+        if (!role.viewResources) throw new IllegalStateException("modal dialogs are accessible from FXPerspective and FXComponent");
+        context.showModalDialog(node);
+    }
+
+    @Override
+    public void hideModalDialog() {
+        context.hideModalDialog();
+    }
+
+    @Override
+    public FXComponentLayout getComponentLayout() {
+        return context.getComponentLayout();
+    }
+
+    @Override
+    public FXWorker<?> worker() {
+        return context.worker();
+    }
+
+    @Override
+    public String toString() {
+        return "ContextView{" + role + ", " + context.getFullyQualifiedId() + "}";
+    }
+}
@@ -28,28 +28,34 @@ package org.jacpfx.rcp.context;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.message.ComponentAddress;
 import org.jacpfx.api.message.Message;
-import org.jacpfx.api.util.CustomSecurityManager;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.api.message.SendOptions;
 import org.jacpfx.concurrency.FXWorker;
 import org.jacpfx.rcp.component.AStatelessCallbackComponent;
-import org.jacpfx.rcp.component.CallbackComponent;
-import org.jacpfx.rcp.component.FXComponent;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.componentLayout.FXComponentLayout;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
 import org.jacpfx.rcp.components.managedFragment.ManagedFragment;
 import org.jacpfx.rcp.components.managedFragment.ManagedFragmentHandler;
 import org.jacpfx.rcp.components.modalDialog.JACPModalDialog;
+import org.jacpfx.rcp.jfr.JfrEvents;
 import org.jacpfx.rcp.message.ActionListenerImpl;
 import org.jacpfx.rcp.message.MessageImpl;
-import org.jacpfx.rcp.perspective.FXPerspective;
-import org.jacpfx.rcp.util.AccessUtil;
-import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.recorder.FlightPhase;
+import org.jacpfx.rcp.recorder.FlightRecorder;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.scheduler.RequestTimeoutScheduler;
 import org.jacpfx.rcp.util.MessageLoggerService;
-import org.jacpfx.rcp.util.PerspectiveUtil;
-import org.jacpfx.rcp.workbench.FXWorkbench;
-import org.jacpfx.rcp.worker.AComponentWorker;
-import org.jacpfx.rcp.worker.AEmbeddedComponentWorker;
+import org.jacpfx.rcp.util.RuntimeSettings;
 
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -59,11 +65,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Date: 24.06.13
  * Time: 21:36
  * JACP context object provides functionality to component context and basic features.
+ * The framework uses the context unrestricted, workbench, perspective and component handles get a {@link ContextView} limited to the operations of their role.
  */
 public class JacpContextImpl implements Context,InternalContext {
 
-    private final static CustomSecurityManager customSecurityManager =
-            new CustomSecurityManager();
+    private static final boolean DIRECT_SEND = RuntimeSettings.getBoolean(RuntimeSettings.MESSAGE_DIRECT, true);
     private TransferQueue<Message<Event, Object>> globalMessageQueue;
     /**
      * will be set on init
@@ -71,6 +77,8 @@ public class JacpContextImpl implements Context,InternalContext {
     private String id;
     private volatile String parentId;
     private volatile String fullyQualifiedId;
+    private volatile ComponentAddress address;
+    private volatile ComponentAddress localAddress;
     /**
      * will be set on init
      */
@@ -99,10 +107,7 @@ public class JacpContextImpl implements Context,InternalContext {
     @Override
     public final EventHandler<Event> getEventHandler(
             final Object message) {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (AccessUtil.hasAccess(callerClassName, FXWorkbench.class))
-            throw new IllegalStateException(" a FXWorkbench is no valid message target");
-        return new ActionListenerImpl(new MessageImpl(this.fullyQualifiedId, message),
+        return new ActionListenerImpl(new MessageImpl(this.fullyQualifiedId, this.address, message, null),
                 this.globalMessageQueue);
     }
 
@@ -121,27 +126,109 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public final void send(final String targetId, final Object message) {
-        logAndPutMessage(new MessageImpl(this.fullyQualifiedId, targetId, message, null));
+        logAndPutMessage(MessageImpl.createMessage(this.fullyQualifiedId, targetId, message, SendOptions.DEFAULT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void send(final String targetId, final Object message, final MessagePriority priority) {
+        logAndPutMessage(MessageImpl.createMessage(this.fullyQualifiedId, targetId, message, SendOptions.priority(priority)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void send(final String targetId, final Object message, final SendOptions options) {
+        logAndPutMessage(MessageImpl.createMessage(this.fullyQualifiedId, targetId, message, Objects.requireNonNull(options, "options must not be null")));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void publish(final String topic, final Object message) {
+        logAndPutMessage(MessageImpl.createTopicMessage(this.fullyQualifiedId, Objects.requireNonNull(topic, "topic must not be null"), message));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <R> CompletableFuture<R> request(final String targetId, final Object message) {
+        final CompletableFuture<R> reply = new CompletableFuture<>();
+        final Message<Event, Object> request = MessageImpl.createRequestMessage(this.fullyQualifiedId, targetId, message, (CompletableFuture<Object>) reply);
+        FlightRecorder.record(FlightPhase.SEND, request);
+        JfrEvents.send(this.parentId, this.id, request);
+        if (sendDirect(request)) return reply;
+        MessageLoggerService.getInstance().onSend(request);
+        try {
+            CoordinatorQueue.send(this.globalMessageQueue, request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reply.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            reply.completeExceptionally(e);
+        }
+        return reply;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final <R> CompletableFuture<R> request(final String targetId, final Object message, final long timeout, final TimeUnit unit) {
+        return RequestTimeoutScheduler.orTimeout(request(targetId, message), timeout, unit);
     }
 
     private void logAndPutMessage(Message<Event, Object> m ){
+        FlightRecorder.record(FlightPhase.SEND, m);
+        JfrEvents.send(this.parentId, this.id, m);
+        if (sendDirect(m)) return;
         MessageLoggerService.getInstance().onSend(m);
         try {
-            this.globalMessageQueue.transfer(m);
+            CoordinatorQueue.send(this.globalMessageQueue, m);
         } catch (InterruptedException e) {
             Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(),e);
         }
     }
 
+    /**
+     * Puts a message directly into the mailbox of an active component in the same perspective, the coordinator thread is skipped.
+     * Inactive targets, perspectives, stateless components, topics and other perspectives are routed by the coordinator. A message is only sent
+     * directly while the coordinator queue is idle, so it never overtakes an earlier message of this sender.
+     *
+     * @param message the message
+     * @return true if the message was delivered
+     */
+    private boolean sendDirect(final Message<Event, Object> message) {
+        final String parent = this.parentId;
+        if (!DIRECT_SEND || parent == null || message.getTopic() != null || !(this.globalMessageQueue instanceof CoordinatorQueue)) return false;
+        final ComponentAddress target = message.getTargetAddress();
+        if (target == null || !(target.isLocal() || parent.equals(target.getPerspectiveId()))) return false;
+        if (!((CoordinatorQueue) this.globalMessageQueue).isIdle()) return false;
+        final SubComponent<EventHandler<Event>, Event, Object> component = ComponentRegistry.findComponentByAddress(target.qualify(parent));
+        if (!(component instanceof ASubComponent) || component instanceof AStatelessCallbackComponent) return false;
+        // UI components reject requests, the coordinator handles this
+        if (message.getReply() != null && component instanceof EmbeddedFXComponent) return false;
+        final MessageLoggerService logger = MessageLoggerService.getInstance();
+        logger.onSend(message);
+        logger.handleActive(message);
+        FlightRecorder.record(FlightPhase.ROUTE, message);
+        JfrEvents.route(parent, message, "DIRECT");
+        component.putIncomingMessage(message);
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public final void send(final Object message) {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (AccessUtil.hasAccess(callerClassName, FXWorkbench.class))
-            throw new IllegalStateException(" a FXWorkbench is no valid message target");
-        logAndPutMessage(new MessageImpl(this.fullyQualifiedId, this.id, message, null));
+        logAndPutMessage(MessageImpl.createMessage(this.fullyQualifiedId, this.localAddress, message, SendOptions.DEFAULT));
     }
 
     /**
@@ -159,13 +246,22 @@ public class JacpContextImpl implements Context,InternalContext {
     public final String getFullyQualifiedId() {
         return this.fullyQualifiedId;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final ComponentAddress getComponentAddress() {
+        return this.address;
+    }
     /**
      * {@inheritDoc}
      */
     @Override
     public final void setId(final String id) {
         this.id = id;
-        this.fullyQualifiedId = this.parentId!=null?this.parentId.concat(FXUtil.PATTERN_GLOBAL).concat(this.id):this.id;
+        this.localAddress = ComponentAddress.of(id);
+        updateAddress(ComponentAddress.of(this.parentId, id));
     }
 
     /**
@@ -182,7 +278,16 @@ public class JacpContextImpl implements Context,InternalContext {
     @Override
     public final void setParentId(final String parentId) {
         this.parentId = parentId;
-        this.fullyQualifiedId = this.id!=null?this.parentId.concat(FXUtil.PATTERN_GLOBAL).concat(this.id):this.parentId;
+        if (this.id != null) {
+            updateAddress(ComponentAddress.of(parentId, this.id));
+        } else {
+            updateAddress(parentId != null ? ComponentAddress.of(parentId) : null);
+        }
+    }
+
+    private void updateAddress(final ComponentAddress address) {
+        this.address = address;
+        this.fullyQualifiedId = address != null ? address.getId() : null;
     }
 
 
@@ -224,9 +329,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public <T> ManagedFragmentHandler<T> getManagedFragmentHandler(final Class<T> clazz) {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, FXPerspective.class, FXComponent.class))
-            throw new IllegalStateException(" managed fragments are accessible from FXPerspective and FXComponent");
         return ManagedFragment.getInstance().getManagedFragment(clazz, this.parentId,this.id);
     }
 
@@ -235,9 +337,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public void showModalDialog(final Node node) {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, FXPerspective.class, FXComponent.class))
-            throw new IllegalStateException("modal dialogs are accessible from FXPerspective and FXComponent");
         JACPModalDialog.getInstance().showModalDialog(node);
     }
 
@@ -274,9 +373,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public final String getReturnTargetAndClear() {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, CallbackComponent.class, AComponentWorker.class, AEmbeddedComponentWorker.class))
-            throw new IllegalStateException(" getReturnTargetAndClear can only be called from a CallbackComponent");
         final String returnVal = String.valueOf(this.returnTarget);
         this.returnTarget = null;
         return returnVal;
@@ -287,9 +383,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public final void setReturnTarget(final String returnTargetId) throws IllegalStateException {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, CallbackComponent.class, AComponentWorker.class, AEmbeddedComponentWorker.class))
-            throw new IllegalStateException(" the return target can be set only in CallbackComponents");
         this.returnTarget = returnTargetId;
     }
 
@@ -298,9 +391,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public final void updateReturnTarget(final String returnTargetId) throws IllegalStateException {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, CallbackComponent.class, AComponentWorker.class, AEmbeddedComponentWorker.class))
-            throw new IllegalStateException(" the return target can be set only in CallbackComponents");
         this.returnTarget = returnTargetId;
     }
 
@@ -317,10 +407,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public void setExecutionTarget(final String id) throws IllegalStateException {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, FXComponent.class, AStatelessCallbackComponent.class, AEmbeddedComponentWorker.class))
-            throw new IllegalStateException(" the execution target can be set only in FXComponents");
-
         if (id == null) {
             this.executionTarget = "";
             return;
@@ -333,10 +419,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public void updateExecutionTarget(final String id) throws IllegalStateException {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, FXComponent.class, AStatelessCallbackComponent.class, AEmbeddedComponentWorker.class))
-            throw new IllegalStateException(" the execution target can be set only in FXComponents");
-
         if (id == null) {
             this.executionTarget = "";
             return;
@@ -365,9 +447,6 @@ public class JacpContextImpl implements Context,InternalContext {
      */
     @Override
     public void setTargetLayout(String targetLayout) throws IllegalStateException {
-        final String callerClassName = customSecurityManager.getCallerClassName();
-        if (!AccessUtil.hasAccess(callerClassName, FXComponent.class, PerspectiveUtil.class))
-            throw new IllegalStateException(" the target layout can be set only in FXComponents");
         if (targetLayout == null) throw new IllegalArgumentException("targetLayout should not be null");
         this.targetLayout = targetLayout;
     }
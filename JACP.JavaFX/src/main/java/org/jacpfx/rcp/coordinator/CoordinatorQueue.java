@@ -0,0 +1,488 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [CoordinatorQueue.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.application.Platform;
+import javafx.event.Event;
+import org.jacpfx.api.exceptions.MessageRejectedException;
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.rcp.message.DeadLetterChannel;
+import org.jacpfx.rcp.message.MessageLaneMetrics;
+import org.jacpfx.rcp.message.PriorityLanes;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TransferQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The message queue of a MessageCoordinator. In synchronous mode messages are handed over to the coordinator with {@link #transfer(Object)}, like in previous versions.
+ * In asynchronous mode the queue is bounded and a full queue is handled by the configured {@link MessageOverflowPolicy}, the JavaFX application thread never waits in this mode.
+ * Dropped messages are moved to the {@link DeadLetterChannel}, so pending replies of dropped requests complete exceptionally.
+ * The capacity only applies to the offer methods, put/transfer are used by the framework internal delegation and never fail.
+ * Messages are served by {@link org.jacpfx.api.message.MessagePriority}: on each take the coordinator moves all handed over messages to their {@link PriorityLanes} and serves the highest lane first.
+ */
+public class CoordinatorQueue extends AbstractQueue<Message<Event, Object>> implements TransferQueue<Message<Event, Object>> {
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private final LinkedTransferQueue<Message<Event, Object>> queue = new LinkedTransferQueue<>();
+    private final AtomicInteger count = new AtomicInteger();
+    /**
+     * messages taken by the coordinator which are not yet routed
+     */
+    private final AtomicInteger routing = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final PriorityLanes<Message<Event, Object>> lanes = new PriorityLanes<>();
+    private final MessageLaneMetrics metrics = new MessageLaneMetrics();
+    private final int capacity;
+    private final MessageOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final boolean async;
+
+    /**
+     * Creates an unbounded queue in synchronous mode.
+     */
+    public CoordinatorQueue() {
+        this(false, Integer.MAX_VALUE, MessageOverflowPolicy.BLOCK, 0);
+    }
+
+    /**
+     * Creates a coordinator queue.
+     *
+     * @param async              true to enable the asynchronous send mode
+     * @param capacity           the max amount of messages accepted by offer
+     * @param overflowPolicy     the policy to handle a full queue in asynchronous mode
+     * @param blockTimeoutMillis the max wait time for the BLOCK policy
+     */
+    public CoordinatorQueue(final boolean async, final int capacity, final MessageOverflowPolicy overflowPolicy, final long blockTimeoutMillis) {
+        if (capacity < 1) throw new IllegalArgumentException("queue capacity must be positive: " + capacity);
+        if (blockTimeoutMillis < 0) throw new IllegalArgumentException("block timeout must not be negative: " + blockTimeoutMillis);
+        this.async = async;
+        this.capacity = capacity;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+    }
+
+    /**
+     * Sends a message to a coordinator queue. Coordinator queues handle the message by their send mode, all other queues receive the message by transfer.
+     *
+     * @param queue   the target queue
+     * @param message the message
+     * @throws InterruptedException when the sender was interrupted while waiting
+     */
+    public static void send(final TransferQueue<Message<Event, Object>> queue, final Message<Event, Object> message) throws InterruptedException {
+        if (queue instanceof CoordinatorQueue) {
+            ((CoordinatorQueue) queue).send(message);
+        } else {
+            queue.transfer(message);
+        }
+    }
+
+    /**
+     * Sends a message by the send mode of this queue.
+     *
+     * @param message the message
+     * @throws InterruptedException when the sender was interrupted while waiting
+     * @throws MessageRejectedException when the message was rejected by the overflow policy
+     */
+    public void send(final Message<Event, Object> message) throws InterruptedException {
+        Objects.requireNonNull(message);
+        if (!async) {
+            transfer(message);
+            return;
+        }
+        if (offer(message)) return;
+        switch (overflowPolicy) {
+            case BLOCK:
+                if (Platform.isFxApplicationThread()) {
+                    // the application thread must never wait for the coordinator
+                    drop(message);
+                } else if (!offer(message, blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    reject(message);
+                }
+                break;
+            case DROP_OLDEST:
+                while (!offer(message)) {
+                    // make room in the lowest lane, a message of a higher priority than the new one is never dropped
+                    final Message<Event, Object> oldest = pollLowest(message.getPriority());
+                    if (oldest == null) {
+                        drop(message);
+                        break;
+                    }
+                    drop(oldest);
+                }
+                break;
+            case DROP_NEWEST:
+                drop(message);
+                break;
+            default:
+                reject(message);
+        }
+    }
+
+    private void drop(final Message<Event, Object> message) {
+        dropped.increment();
+        DeadLetterChannel.deadLetter(message, DeadLetterReason.OVERFLOW, "message queue full, dropped message from: " + message.getSourceId() + " to: " + message.getTargetId());
+    }
+
+    private void reject(final Message<Event, Object> message) {
+        rejected.increment();
+        throw new MessageRejectedException("message queue full, rejected message from: " + message.getSourceId() + " to: " + message.getTargetId());
+    }
+
+    /**
+     * @return the amount of messages rejected by the overflow policy
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the amount of messages dropped by the overflow policy
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the amount of messages served to the coordinator and their latency per priority lane.
+     *
+     * @return the lane metrics
+     */
+    public MessageLaneMetrics getLaneMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Marks taken messages as routed, called by the coordinator after the messages were handed over to their targets.
+     *
+     * @param messages the amount of routed messages
+     */
+    public void routed(final int messages) {
+        routing.addAndGet(-messages);
+    }
+
+    /**
+     * Returns true if no message is queued or currently routed by the coordinator. A sender which delivers a message directly to its target while the queue is idle
+     * can not overtake one of its earlier messages.
+     *
+     * @return true if the queue is idle
+     */
+    public boolean isIdle() {
+        // a message is counted as routing before it leaves the queue count, so both reads can not miss it
+        return count.get() == 0 && routing.get() == 0;
+    }
+
+    /**
+     * @return the queue capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return true if the queue runs in asynchronous send mode
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    private boolean tryReserve() {
+        for (; ; ) {
+            final int current = count.get();
+            if (current >= capacity) return false;
+            if (count.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    @Override
+    public boolean offer(final Message<Event, Object> message) {
+        Objects.requireNonNull(message);
+        if (!tryReserve()) return false;
+        queue.offer(message);
+        return true;
+    }
+
+    @Override
+    public boolean offer(final Message<Event, Object> message, final long timeout, final TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(message);
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long backoff = MIN_BACKOFF_NANOS;
+        while (!tryReserve()) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+            LockSupport.parkNanos(this, Math.min(backoff, remaining));
+            backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+        }
+        queue.offer(message);
+        return true;
+    }
+
+    /**
+     * Adds a message without capacity check.
+     *
+     * @param message the message
+     */
+    @Override
+    public void put(final Message<Event, Object> message) {
+        Objects.requireNonNull(message);
+        count.incrementAndGet();
+        queue.put(message);
+    }
+
+    /**
+     * Transfers a message to the coordinator without capacity check.
+     *
+     * @param message the message
+     * @throws InterruptedException when interrupted while waiting
+     */
+    @Override
+    public void transfer(final Message<Event, Object> message) throws InterruptedException {
+        Objects.requireNonNull(message);
+        count.incrementAndGet();
+        try {
+            queue.transfer(message);
+        } catch (InterruptedException e) {
+            // the message was removed from queue
+            count.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean tryTransfer(final Message<Event, Object> message) {
+        Objects.requireNonNull(message);
+        count.incrementAndGet();
+        if (queue.tryTransfer(message)) return true;
+        count.decrementAndGet();
+        return false;
+    }
+
+    @Override
+    public boolean tryTransfer(final Message<Event, Object> message, final long timeout, final TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(message);
+        count.incrementAndGet();
+        boolean transferred = false;
+        try {
+            transferred = queue.tryTransfer(message, timeout, unit);
+            return transferred;
+        } finally {
+            if (!transferred) count.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean hasWaitingConsumer() {
+        return queue.hasWaitingConsumer();
+    }
+
+    @Override
+    public int getWaitingConsumerCount() {
+        return queue.getWaitingConsumerCount();
+    }
+
+    @Override
+    public Message<Event, Object> take() throws InterruptedException {
+        final Message<Event, Object> message = pollLanes();
+        if (message != null) return message;
+        return serve(queue.take());
+    }
+
+    @Override
+    public Message<Event, Object> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final Message<Event, Object> message = pollLanes();
+        if (message != null) return message;
+        final Message<Event, Object> handedOver = queue.poll(timeout, unit);
+        return handedOver != null ? serve(handedOver) : null;
+    }
+
+    @Override
+    public Message<Event, Object> poll() {
+        return pollLanes();
+    }
+
+    @Override
+    public Message<Event, Object> peek() {
+        synchronized (lanes) {
+            stage();
+            return lanes.peek();
+        }
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Message<Event, Object>> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Message<Event, Object>> c, final int maxElements) {
+        if (c == this) throw new IllegalArgumentException();
+        int drained = 0;
+        synchronized (lanes) {
+            stage();
+            Message<Event, Object> message;
+            while (drained < maxElements && (message = lanes.poll()) != null) {
+                metrics.record(message);
+                c.add(message);
+                drained++;
+            }
+        }
+        if (drained > 0) {
+            routing.addAndGet(drained);
+            count.addAndGet(-drained);
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        synchronized (lanes) {
+            if (!lanes.remove(o) && !queue.remove(o)) return false;
+        }
+        count.decrementAndGet();
+        return true;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - count.get());
+    }
+
+    /**
+     * Returns the amount of messages in queue, including messages currently handed over.
+     *
+     * @return the queue size
+     */
+    @Override
+    public int size() {
+        return Math.max(0, count.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        synchronized (lanes) {
+            return lanes.isEmpty() && queue.isEmpty();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queued messages, ordered by lane for messages already taken over by the coordinator.
+     *
+     * @return the snapshot iterator
+     */
+    @Override
+    public Iterator<Message<Event, Object>> iterator() {
+        final List<Message<Event, Object>> snapshot = new ArrayList<>();
+        synchronized (lanes) {
+            lanes.forEach(snapshot::add);
+        }
+        snapshot.addAll(queue);
+        final Iterator<Message<Event, Object>> iterator = snapshot.iterator();
+        return new Iterator<Message<Event, Object>>() {
+            private Message<Event, Object> current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Message<Event, Object> next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                if (current == null) throw new IllegalStateException();
+                CoordinatorQueue.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    /**
+     * Moves all handed over messages to their lanes, must be called while holding the lanes monitor.
+     * In synchronous mode this releases the waiting senders.
+     */
+    private void stage() {
+        Message<Event, Object> message;
+        while ((message = queue.poll()) != null) {
+            lanes.add(message, message.getPriority());
+        }
+    }
+
+    private Message<Event, Object> pollLanes() {
+        final Message<Event, Object> message;
+        synchronized (lanes) {
+            stage();
+            message = lanes.poll();
+        }
+        if (message == null) return null;
+        routing.incrementAndGet();
+        count.decrementAndGet();
+        metrics.record(message);
+        return message;
+    }
+
+    /**
+     * Serves the next message after waiting for a message hand-over, the handed over message may be overtaken by messages of a higher lane.
+     */
+    private Message<Event, Object> serve(final Message<Event, Object> handedOver) {
+        final Message<Event, Object> message;
+        synchronized (lanes) {
+            lanes.add(handedOver, handedOver.getPriority());
+            stage();
+            message = lanes.poll();
+        }
+        routing.incrementAndGet();
+        count.decrementAndGet();
+        metrics.record(message);
+        return message;
+    }
+
+    private Message<Event, Object> pollLowest(final MessagePriority priority) {
+        final Message<Event, Object> message;
+        synchronized (lanes) {
+            stage();
+            message = lanes.pollLowest(priority);
+        }
+        if (message != null) count.decrementAndGet();
+        return message;
+    }
+}
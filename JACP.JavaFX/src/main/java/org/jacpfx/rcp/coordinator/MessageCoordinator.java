@@ -32,20 +32,34 @@ import javafx.scene.Node;
 import org.jacpfx.api.component.ComponentBase;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.SubComponent;
-import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.coordinator.Coordinator;
 import org.jacpfx.api.exceptions.ComponentNotFoundException;
+import org.jacpfx.api.exceptions.NonUniqueComponentException;
 import org.jacpfx.api.handler.ComponentHandler;
 import org.jacpfx.api.launcher.Launcher;
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.api.message.DeadLetterReason;
 import org.jacpfx.api.message.DelegateDTO;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.delegator.DelegateDTOImpl;
-import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.message.DeadLetterChannel;
+import org.jacpfx.rcp.message.MessageDeadlines;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.metrics.PerspectiveMetrics;
+import org.jacpfx.rcp.recorder.FlightPhase;
+import org.jacpfx.rcp.recorder.FlightRecorder;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.registry.TopicRegistry;
 import org.jacpfx.rcp.util.*;
 
-import java.util.concurrent.LinkedTransferQueue;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TransferQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Message Coordinator checks the message target and delegates the message to component/perspective for correct handling.
@@ -56,10 +70,25 @@ public class MessageCoordinator extends Thread implements
     private ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>> componentHandler;
     private ComponentHandler<Perspective<Node, EventHandler<Event>, Event, Object>, Message<Event, Object>> perspectiveHandler;
     private final TransferQueue<DelegateDTO<Event, Object>> delegateQueue;
-    private final TransferQueue<Message<Event, Object>> messages = new LinkedTransferQueue<>();
+    private final CoordinatorQueue messages = new CoordinatorQueue(
+            RuntimeSettings.getBoolean(RuntimeSettings.MESSAGE_ASYNC, false),
+            RuntimeSettings.getInt(RuntimeSettings.MESSAGE_QUEUE_CAPACITY, 10000),
+            RuntimeSettings.getEnum(RuntimeSettings.MESSAGE_OVERFLOW_POLICY, MessageOverflowPolicy.class, MessageOverflowPolicy.BLOCK),
+            RuntimeSettings.getLong(RuntimeSettings.MESSAGE_BLOCK_TIMEOUT, 1000));
     private final String parentId;
     private final Launcher<?> launcher;
-    private static final String seperator = ".";
+    private final RoutingTable routingTable;
+    private final PerspectiveMetrics metrics;
+    private final List<Message<Event, Object>> batch = new ArrayList<>();
+    private final Map<SubComponent<EventHandler<Event>, Event, Object>, List<Message<Event, Object>>> pendingDeliveries = new IdentityHashMap<>();
+    private final List<String> topicPerspectives = new ArrayList<>();
+    /**
+     * messages handed over to the message delegator which are not yet handled
+     */
+    private final AtomicInteger pendingDelegations = new AtomicInteger();
+    private final Runnable delegationHandled = pendingDelegations::decrementAndGet;
+    private volatile int messageBatchSize = 1;
+    private volatile long messageBatchLingerNanos = 0;
 
     public MessageCoordinator(final String parentId,
                               final Launcher<?> launcher) {
@@ -74,15 +103,33 @@ public class MessageCoordinator extends Thread implements
         this.launcher = launcher;
         this.delegateQueue = delegateQueue;
         this.perspectiveHandler = perspectiveHandler;
+        this.routingTable = new RoutingTable(parentId);
+        this.routingTable.register();
+        this.metrics = new PerspectiveMetrics(parentId, messages);
     }
 
 
     @Override
     public void run() {
+        metrics.register();
         while (!Thread.interrupted()) {
             try {
                 final Message<Event, Object> message = messages.take();
-                handleMessage(message.getTargetId(), message);
+                if (messageBatchSize > 1) {
+                    handleBatch(message);
+                } else {
+                    try {
+                        if (MessageDeadlines.dropIfExpired(message, MessageDeadlines.Stage.COORDINATOR)) {
+                            // an expired message is not routed
+                        } else if (message.getTopic() != null) {
+                            publish(message, false);
+                        } else {
+                            routeMessage(message.getTargetId(), message.getTargetAddress(), message, false);
+                        }
+                    } finally {
+                        messages.routed(1);
+                    }
+                }
                 Thread.yield();
             } catch (InterruptedException e) {
                 // this can happen on application shutdown
@@ -91,6 +138,114 @@ public class MessageCoordinator extends Thread implements
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+        routingTable.unregister();
+        metrics.unregister();
+    }
+
+    /**
+     * Enables the batch mode of this coordinator. The coordinator drains up to batchSize messages from the queue and waits max lingerMillis for the batch to be filled.
+     *
+     * @param batchSize    the max amount of messages handled in one cycle, a value of 1 disables batching
+     * @param lingerMillis the max time to wait for a full batch, 0 handles all available messages immediately
+     */
+    public void setMessageBatch(final int batchSize, final long lingerMillis) {
+        if (batchSize < 1) throw new IllegalArgumentException("message batch size must be positive: " + batchSize);
+        if (lingerMillis < 0) throw new IllegalArgumentException("message batch linger must not be negative: " + lingerMillis);
+        this.messageBatchSize = batchSize;
+        this.messageBatchLingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    }
+
+    /**
+     * Drains the next messages and routes them in queue order. Messages to active components are collected per component and
+     * handed over to the component handler as one group, all collected messages are passed before any other target is handled to keep the message order.
+     *
+     * @param first the first message of the batch
+     * @throws InterruptedException when the coordinator is interrupted while waiting for the batch
+     */
+    private void handleBatch(final Message<Event, Object> first) throws InterruptedException {
+        final int batchSize = messageBatchSize;
+        batch.add(first);
+        try {
+            messages.drainTo(batch, batchSize - 1);
+            fillBatch(batchSize);
+            batch.forEach(this::routeBatchMessage);
+        } finally {
+            flushPendingDeliveries();
+            messages.routed(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void fillBatch(final int batchSize) throws InterruptedException {
+        final long lingerNanos = messageBatchLingerNanos;
+        if (lingerNanos == 0) return;
+        final long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+            final Message<Event, Object> next = messages.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+            messages.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void routeBatchMessage(final Message<Event, Object> message) {
+        try {
+            if (MessageDeadlines.dropIfExpired(message, MessageDeadlines.Stage.COORDINATOR)) return;
+            if (message.getTopic() != null) {
+                publish(message, true);
+            } else {
+                routeMessage(message.getTargetId(), message.getTargetAddress(), message, true);
+            }
+        } catch (Exception e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    /**
+     * Fans a topic message out to its subscribers. Subscribers of this perspective receive the published message itself, every other perspective with subscribers
+     * gets one perspective local copy which is only delivered to the subscribers of that perspective. The message body is never cloned.
+     *
+     * @param message the published message
+     * @param batched true if local deliveries should be collected for the current batch
+     */
+    private void publish(final Message<Event, Object> message, final boolean batched) {
+        FlightRecorder.record(FlightPhase.ROUTE, message);
+        JfrEvents.route(this.parentId, message, "TOPIC");
+        final boolean topicLocal = message.isTopicLocal();
+        for (final SubComponent<EventHandler<Event>, Event, Object> subscriber : TopicRegistry.findSubscribers(message.getTopic())) {
+            final String subscriberParentId = subscriber.getContext().getParentId();
+            if (parentId.equals(subscriberParentId)) {
+                MessageLoggerService.getInstance().handleActive(message);
+                if (batched) {
+                    pendingDeliveries.computeIfAbsent(subscriber, component -> new ArrayList<>()).add(message);
+                } else {
+                    handleActive(subscriber, message);
+                }
+            } else if (!topicLocal && subscriberParentId != null && !topicPerspectives.contains(subscriberParentId)) {
+                topicPerspectives.add(subscriberParentId);
+            }
+        }
+        if (topicPerspectives.isEmpty()) return;
+        try {
+            final Message<Event, Object> localMessage = MessageImpl.createLocalTopicMessage(message);
+            for (final String perspectiveId : topicPerspectives) {
+                MessageLoggerService.getInstance().delegate(localMessage);
+                delegateMessageToCorrectPerspective(perspectiveId, true, localMessage);
+            }
+        } finally {
+            topicPerspectives.clear();
+        }
+    }
+
+    private void flushPendingDeliveries() {
+        if (pendingDeliveries.isEmpty()) return;
+        try {
+            pendingDeliveries.forEach((component, componentMessages) -> this.componentHandler.handleAndReplaceComponent(componentMessages, component));
+        } finally {
+            pendingDeliveries.clear();
+        }
     }
 
 
@@ -101,30 +256,61 @@ public class MessageCoordinator extends Thread implements
 
     @Override
     public void handleMessage(final String targetId, final Message<Event, Object> message) {
-        final MessageCoordinatorExecutionResult result = executeMessageHandling(targetId, message);
-        final Message<Event, Object> messageObject = result.getMessage();
-        switch (result.getState()) {
-            case HANDLE_ACTIVE:
-                MessageLoggerService.getInstance().handleActive(message);
-                handleActive(result.getTargetComponent(), messageObject);
-                break;
+        routeMessage(targetId, ComponentAddress.lookup(targetId), message, false);
+    }
+
+    /**
+     * Routes a message by the cached route of its target. The route is immutable and pre-resolved, so routing a message to an active component
+     * allocates no intermediate result object.
+     *
+     * @param targetId the target id
+     * @param target   the target address
+     * @param message  the message
+     * @param batched  true if deliveries to active components should be collected for the current batch
+     */
+    private void routeMessage(final String targetId, final ComponentAddress target, final Message<Event, Object> message, final boolean batched) {
+        FlightRecorder.record(FlightPhase.ROUTE, message);
+        final RoutingTable.Route route = routingTable.findRoute(target);
+        JfrEvents.route(this.parentId, message, route != null ? route.getState().name() : "UNKNOWN_TARGET");
+        if (route == null) {
+            DeadLetterChannel.deadLetter(message, DeadLetterReason.UNKNOWN_TARGET, "no valid component found for id: " + targetId + " found");
+            return;
+        }
+        if (route.getState() == MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE) {
+            MessageLoggerService.getInstance().handleActive(message);
+            if (batched) {
+                pendingDeliveries.computeIfAbsent(route.getComponent(), component -> new ArrayList<>()).add(message);
+            } else {
+                handleActive(route.getComponent(), message);
+            }
+            return;
+        }
+        // all other targets are handled in queue order after the collected deliveries
+        if (batched) flushPendingDeliveries();
+        switch (route.getState()) {
             case HANDLE_INACTIVE:
+                // inactive components are created on every message until the registry reports the new instance
+                final MessageCoordinatorExecutionResult result = createComponentInstanceAndRegister(route.getTargetId(), message);
+                if (result == null) return;
                 MessageLoggerService.getInstance().handleInactive(message);
-                handleInActive(result.getTargetComponent(), result.getParentPerspective(), messageObject);
+                handleInActive(result.getTargetComponent(), result.getParentPerspective(), result.getMessage());
                 break;
             case HANDLE_CURRENT_PERSPECTIVE:
-                handleCurrentPerspective(result.getTargetId(), message);
+                handleCurrentPerspective(route.getTargetId(), message);
                 break;
             case DELEGATE:
+                // delegate message to perspective, mark in dto if it is a perspective
                 MessageLoggerService.getInstance().delegate(message);
-                delegateMessageToCorrectPerspective(result.getDto());
+                delegateMessageToCorrectPerspective(route.getTargetId(), route.isPerspective(), message);
                 break;
             default:
-                throw new ComponentNotFoundException("no valid component found for id: " + targetId + " found");
+                DeadLetterChannel.deadLetter(message, DeadLetterReason.UNKNOWN_TARGET, "no valid component found for id: " + targetId + " found");
         }
     }
 
     private void handleCurrentPerspective(final String targetId, final Message<Event, Object> message) {
+        // perspectives do not answer requests, the message is still handled
+        if (message.getReply() != null) WorkerUtil.failReply(message, new UnsupportedOperationException("perspectives do not answer requests: " + targetId));
         final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(targetId);
         Platform.runLater(() -> this.perspectiveHandler
                 .handleAndReplaceComponent(
@@ -142,91 +328,36 @@ public class MessageCoordinator extends Thread implements
         this.componentHandler.initComponent(message, component);
     }
 
-    private void delegateMessageToCorrectPerspective(final DelegateDTOImpl dto) {
-        final Thread t = Thread.currentThread();
-        try {
-            this.delegateQueue.transfer(dto);
-        } catch (InterruptedException e) {
-            t.getUncaughtExceptionHandler().uncaughtException(t, e);
-        }
-    }
-
-    private MessageCoordinatorExecutionResult executeMessageHandling(final String targetId, final Message<Event, Object> message) {
-        if (!FXUtil.isLocalMessage(targetId)) {
-            // this must be a component message
-            return handleGlobalComponentMessage(targetId, message);
-        } else {
-            // unclear if it is a component- or a perspective-message
-            return findCorrectTargetAndProceed(targetId, message);
-        }
-    }
-
-    private MessageCoordinatorExecutionResult findCorrectTargetAndProceed(final String targetId, final Message<Event, Object> message) {
-        // 1. test if perspective itself
-        if (parentId.equalsIgnoreCase(targetId)) {
-            // this is a message to current perspective
-            return new MessageCoordinatorExecutionResult(targetId, message, MessageCoordinatorExecutionResult.State.HANDLE_CURRENT_PERSPECTIVE);
-
-        }
-        // 2. check if it is an active component in registry, active component must have active perspective
-        final SubComponent<EventHandler<Event>, Event, Object> targetComponent = ComponentRegistry.findComponentByQualifiedId(FXUtil.getQualifiedComponentId(parentId, targetId));
-        if (null != targetComponent) {
-            // found an active component
-            return new MessageCoordinatorExecutionResult(targetComponent, message, MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE);
-        }
-        // 3. check if it is a perspective, all perspective (even inactive ones are registerd)
-        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(targetId);
-        if (null != perspective) {
-            // this is a perspective
-            // delegate message to perspective, mark in dto that it is a perspective
-            return new MessageCoordinatorExecutionResult(new DelegateDTOImpl(targetId, true, message), MessageCoordinatorExecutionResult.State.DELEGATE);
-
-        }
-        // 4. check if it is an inactive component in perspective
-        boolean exists = PerspectiveRegistry.perspectiveContainsComponentIdInAnnotation(this.parentId, targetId);
-        if (exists) {
-            // create global id
-            final String globalTarget = this.parentId +seperator+targetId;
-            return createComponentInstanceAndRegister(globalTarget, message);
-        }
-        return new MessageCoordinatorExecutionResult(MessageCoordinatorExecutionResult.State.ERROR);
-    }
-
     /**
-     * Handles messages with fully qualified value like "parentId.componentId"
+     * Puts a message directly into the queue of an active target perspective. Messages to inactive or unknown perspectives are handed over to the
+     * message delegator, which activates the perspective first or reports the missing target. While the delegator holds messages of this coordinator all following
+     * messages take the same path, so the message order is kept.
      *
-     * @param targetId the fully qualified id
-     * @param message  the message
-     * @return a MessageCoordinatorExecutionResult with values "HANDLE_ACTIVE" , "HANDLE_INACTIVE", "DELEGATE", or "ERROR"
+     * @param targetId      the target id
+     * @param isPerspective true if the target is the perspective itself
+     * @param message       the message
      */
-    private MessageCoordinatorExecutionResult handleGlobalComponentMessage(final String targetId, final Message<Event, Object> message) {
-        final String parentMessageId = FXUtil.getParentFromId(targetId);
-        if (parentId.equalsIgnoreCase(parentMessageId)) {
-            // this is a message to local component in current perspective
-            return getTargetComponentInCurrentPerspective(targetId, message);
-        } else {
-            // this must be a message in different perspective
-            return new MessageCoordinatorExecutionResult(new DelegateDTOImpl(targetId, message), MessageCoordinatorExecutionResult.State.DELEGATE);
+    private void delegateMessageToCorrectPerspective(final String targetId, final boolean isPerspective, final Message<Event, Object> message) {
+        final String perspectiveId = isPerspective ? targetId : FXUtil.getTargetPerspectiveId(targetId);
+        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(perspectiveId);
+        final Thread t = Thread.currentThread();
+        if (pendingDelegations.get() == 0 && perspective != null && perspective.getContext().isActive()) {
+            try {
+                perspective.getMessageQueue().put(message);
+            } catch (InterruptedException e) {
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            }
+            return;
         }
-    }
-
-
-    /**
-     * Returns the target component by targetId specified in message.
-     *
-     * @param targetId the fully qualified id
-     * @param message  the message
-     * @return a MessageCoordinatorExecutionResult  with value "HANDLE_ACTIVE"  or "HANDLE_INACTIVE"
-     */
-    private MessageCoordinatorExecutionResult getTargetComponentInCurrentPerspective(final String targetId,
-                                                                                     final Message<Event, Object> message) {
-        final SubComponent<EventHandler<Event>, Event, Object> component = ComponentRegistry.findComponentByQualifiedId(targetId);
-        if (null != component) {
-            // component is active
-            return new MessageCoordinatorExecutionResult(component, message, MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE);
-        } else {
-            // start inactive component
-            return createComponentInstanceAndRegister(targetId, message);
+        pendingDelegations.incrementAndGet();
+        boolean delegated = false;
+        try {
+            this.delegateQueue.put(new DelegateDTOImpl(targetId, isPerspective, message, delegationHandled));
+            delegated = true;
+        } catch (InterruptedException e) {
+            t.getUncaughtExceptionHandler().uncaughtException(t, e);
+        } finally {
+            if (!delegated) pendingDelegations.decrementAndGet();
         }
     }
 
@@ -235,22 +366,33 @@ public class MessageCoordinator extends Thread implements
      *
      * @param targetId the fully qualified id
      * @param message  the message
-     * @return a MessageCoordinatorExecutionResult  with value "HANDLE_INACTIVE"
+     * @return a MessageCoordinatorExecutionResult  with value "HANDLE_INACTIVE" or null if the message was moved to the dead letter channel
      */
     private MessageCoordinatorExecutionResult createComponentInstanceAndRegister(final String targetId, final Message<Event, Object> message) {
-        final SubComponent<EventHandler<Event>, Event, Object> component = PerspectiveUtil.getInstance(this.launcher).createSubcomponentById(targetId);
-        if (null == component) throw new ComponentNotFoundException(
-                "invalid component id. Source: "
-                        + message.getSourceId() + " target: "
-                        + message.getTargetId());
+        final SubComponent<EventHandler<Event>, Event, Object> component;
+        try {
+            component = PerspectiveUtil.getInstance(this.launcher).createSubcomponentById(targetId);
+        } catch (ComponentNotFoundException | NonUniqueComponentException e) {
+            DeadLetterChannel.deadLetter(message, DeadLetterReason.UNKNOWN_TARGET, e.getMessage());
+            return null;
+        }
+        if (null == component) {
+            DeadLetterChannel.deadLetter(message, DeadLetterReason.UNKNOWN_TARGET,
+                    "invalid component id. Source: "
+                            + message.getSourceId() + " target: "
+                            + message.getTargetId());
+            return null;
+        }
 
         return findParentPerspectiveAndRegisterComponent(component, message, targetId);
     }
 
     private static MessageCoordinatorExecutionResult findParentPerspectiveAndRegisterComponent(final SubComponent<EventHandler<Event>, Event, Object> component, final Message<Event, Object> message, final String targetId) {
         final Perspective<Node, EventHandler<Event>, Event, Object> parentPerspective = PerspectiveRegistry.findPerspectiveById(FXUtil.getTargetPerspectiveId(targetId));
-        if (null == parentPerspective)
-            throw new ComponentNotFoundException("no valid perspective for component " + targetId + " found");
+        if (null == parentPerspective) {
+            DeadLetterChannel.deadLetter(message, DeadLetterReason.NO_PERSPECTIVE, "no valid perspective for component " + targetId + " found");
+            return null;
+        }
         parentPerspective.registerComponent(component);
         return new MessageCoordinatorExecutionResult(component, parentPerspective, message, MessageCoordinatorExecutionResult.State.HANDLE_INACTIVE);
     }
@@ -0,0 +1,49 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageOverflowPolicy.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+/**
+ * Defines how a full coordinator message queue handles new messages in asynchronous send mode.
+ */
+public enum MessageOverflowPolicy {
+    /**
+     * wait until the queue has free capacity or the block timeout elapsed, the message will be rejected on timeout. Messages sent from the FX application thread are dropped instead of waiting.
+     */
+    BLOCK,
+    /**
+     * remove the oldest message of the lowest lane to accept the new one. Only lanes with the same or a lower priority than the new message are
+     * considered, when the queue contains only messages of a higher priority the new message is dropped instead
+     */
+    DROP_OLDEST,
+    /**
+     * drop the new message
+     */
+    DROP_NEWEST,
+    /**
+     * reject the new message with a MessageRejectedException
+     */
+    FAIL_FAST
+}
@@ -0,0 +1,271 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RoutingTable.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.coordinator;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.context.JacpContext;
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.registry.RegistryListener;
+
+import java.util.Arrays;
+
+/**
+ * The routing table caches the target resolution of a MessageCoordinator. Every target id is resolved once against the component- and perspective registry,
+ * the result is kept until a register/remove event of one of the registries invalidates it. Registering a component of the coordinators perspective directly installs an active route for this component.
+ * Routes are stored in a copy-on-write array indexed by the interned target address, so a lookup is a single array read. Routes of targets which are not interned are not cached.
+ */
+class RoutingTable {
+
+    private static final Route[] EMPTY = new Route[0];
+    private volatile Route[] routes = EMPTY;
+    private final String parentId;
+    private final ComponentListener componentListener = new ComponentListener();
+    private final PerspectiveListener perspectiveListener = new PerspectiveListener();
+    /**
+     * incremented on every registry event, a resolved route is only cached when no event happened during resolution
+     */
+    private long version;
+
+    RoutingTable(final String parentId) {
+        this.parentId = parentId;
+    }
+
+    /**
+     * Start listening to registry changes.
+     */
+    void register() {
+        ComponentRegistry.addListener(componentListener);
+        PerspectiveRegistry.addListener(perspectiveListener);
+    }
+
+    /**
+     * Stop listening to registry changes and drop all cached routes.
+     */
+    void unregister() {
+        ComponentRegistry.removeListener(componentListener);
+        PerspectiveRegistry.removeListener(perspectiveListener);
+        invalidateAll();
+    }
+
+    /**
+     * Returns the route for a message target, the route will be resolved and cached if not already present.
+     *
+     * @param target the message target address
+     * @return the route or null if the target can not be resolved
+     */
+    Route findRoute(final ComponentAddress target) {
+        // targets which are not interned, like unknown or user built ids, are resolved on every message and never grow the table
+        if (!target.isInterned()) return resolve(target);
+        final Route[] current = routes;
+        final int index = target.getIndex();
+        if (index < current.length) {
+            final Route route = current[index];
+            if (route != null) return route;
+        }
+        final long expectedVersion = currentVersion();
+        final Route resolved = resolve(target);
+        if (resolved != null) cacheRoute(target, resolved, expectedVersion);
+        return resolved;
+    }
+
+    private Route resolve(final ComponentAddress target) {
+        if (!target.isLocal()) {
+            // this must be a component message
+            return resolveGlobalComponent(target);
+        } else {
+            // unclear if it is a component- or a perspective-message
+            return resolveLocalTarget(target);
+        }
+    }
+
+    private Route resolveLocalTarget(final ComponentAddress target) {
+        final String targetId = target.getId();
+        // 1. test if perspective itself
+        if (parentId.equalsIgnoreCase(targetId)) {
+            return new Route(MessageCoordinatorExecutionResult.State.HANDLE_CURRENT_PERSPECTIVE, null, targetId, false);
+        }
+        // 2. check if it is an active component in registry, active component must have active perspective
+        final SubComponent<EventHandler<Event>, Event, Object> targetComponent = ComponentRegistry.findComponentByAddress(target.qualify(parentId));
+        if (null != targetComponent) {
+            return new Route(MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE, targetComponent, targetId, false);
+        }
+        // 3. check if it is a perspective, all perspective (even inactive ones are registerd)
+        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(targetId);
+        if (null != perspective) {
+            return new Route(MessageCoordinatorExecutionResult.State.DELEGATE, null, targetId, true);
+        }
+        // 4. check if it is an inactive component in perspective
+        if (PerspectiveRegistry.perspectiveContainsComponentIdInAnnotation(parentId, targetId)) {
+            return new Route(MessageCoordinatorExecutionResult.State.HANDLE_INACTIVE, null, target.qualify(parentId).getId(), false);
+        }
+        return null;
+    }
+
+    private Route resolveGlobalComponent(final ComponentAddress target) {
+        final String targetId = target.getId();
+        if (!parentId.equalsIgnoreCase(target.getPerspectiveId())) {
+            // this must be a message in different perspective
+            return new Route(MessageCoordinatorExecutionResult.State.DELEGATE, null, targetId, false);
+        }
+        final SubComponent<EventHandler<Event>, Event, Object> component = ComponentRegistry.findComponentByAddress(target);
+        if (null != component) {
+            return new Route(MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE, component, targetId, false);
+        }
+        // inactive components must be declared in the perspective, like local targets
+        if (PerspectiveRegistry.perspectiveContainsComponentIdInAnnotation(parentId, target.getComponentId())) {
+            return new Route(MessageCoordinatorExecutionResult.State.HANDLE_INACTIVE, null, targetId, false);
+        }
+        return null;
+    }
+
+    private synchronized long currentVersion() {
+        return version;
+    }
+
+    private synchronized void cacheRoute(final ComponentAddress target, final Route route, final long expectedVersion) {
+        if (version == expectedVersion) putRoute(target, route);
+    }
+
+    /**
+     * must be called while holding the table lock
+     */
+    private void putRoute(final ComponentAddress target, final Route route) {
+        final int index = target.getIndex();
+        final Route[] current = routes;
+        final Route[] copy = Arrays.copyOf(current, Math.max(current.length, index + 1));
+        copy[index] = route;
+        routes = copy;
+    }
+
+    private synchronized void componentRegistered(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        version++;
+        final JacpContext<EventHandler<Event>, Object> context = component.getContext();
+        if (context == null || !parentId.equals(context.getParentId())) return;
+        final String localId = context.getId();
+        final ComponentAddress qualified = context.getComponentAddress();
+        if (qualified != null && qualified.isInterned()) {
+            putRoute(qualified, new Route(MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE, component, qualified.getId(), false));
+        }
+        if (localId != null && !parentId.equalsIgnoreCase(localId)) {
+            final ComponentAddress local = ComponentAddress.lookup(localId);
+            if (local.isLocal() && local.isInterned()) {
+                putRoute(local, new Route(MessageCoordinatorExecutionResult.State.HANDLE_ACTIVE, component, localId, false));
+            }
+        }
+    }
+
+    private synchronized void componentRemoved(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        version++;
+        final Route[] copy = routes.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] != null && copy[i].getComponent() == component) copy[i] = null;
+        }
+        routes = copy;
+    }
+
+    private synchronized void invalidateAll() {
+        version++;
+        routes = EMPTY;
+    }
+
+    /**
+     * A resolved message route.
+     */
+    static final class Route {
+        private final MessageCoordinatorExecutionResult.State state;
+        private final SubComponent<EventHandler<Event>, Event, Object> component;
+        private final String targetId;
+        private final boolean perspective;
+
+        Route(final MessageCoordinatorExecutionResult.State state, final SubComponent<EventHandler<Event>, Event, Object> component, final String targetId, final boolean perspective) {
+            this.state = state;
+            this.component = component;
+            this.targetId = targetId;
+            this.perspective = perspective;
+        }
+
+        /**
+         * @return the handling state of this route
+         */
+        MessageCoordinatorExecutionResult.State getState() {
+            return state;
+        }
+
+        /**
+         * @return the active target component, only available for HANDLE_ACTIVE routes
+         */
+        SubComponent<EventHandler<Event>, Event, Object> getComponent() {
+            return component;
+        }
+
+        /**
+         * @return the target id, for HANDLE_INACTIVE routes the fully qualified component id
+         */
+        String getTargetId() {
+            return targetId;
+        }
+
+        /**
+         * @return true if a DELEGATE route targets a perspective
+         */
+        boolean isPerspective() {
+            return perspective;
+        }
+    }
+
+    private final class ComponentListener implements RegistryListener<SubComponent<EventHandler<Event>, Event, Object>> {
+        @Override
+        public void onRegister(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+            componentRegistered(instance);
+        }
+
+        @Override
+        public void onRemove(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+            componentRemoved(instance);
+        }
+    }
+
+    /**
+     * perspectives are only registered/removed on startup and shutdown, so every perspective change simply invalidates all routes
+     */
+    private final class PerspectiveListener implements RegistryListener<Perspective<Node, EventHandler<Event>, Event, Object>> {
+        @Override
+        public void onRegister(final Perspective<Node, EventHandler<Event>, Event, Object> instance) {
+            invalidateAll();
+        }
+
+        @Override
+        public void onRemove(final Perspective<Node, EventHandler<Event>, Event, Object> instance) {
+            invalidateAll();
+        }
+    }
+}
@@ -32,8 +32,10 @@ import org.jacpfx.api.component.ComponentBase;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.DeadLetterReason;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.DeadLetterChannel;
 import org.jacpfx.rcp.message.MessageImpl;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.FXUtil;
@@ -87,7 +89,7 @@ public class ComponentDelegatorImpl extends Thread implements
 
 		} // End if
 		else {
-			this.handleTargetMiss();
+			this.handleTargetMiss(target, component);
 		} // End else
 	}
 
@@ -129,11 +131,16 @@ public class ComponentDelegatorImpl extends Thread implements
 	}
 
 	/**
-	 * handle component delegate when no target found
+	 * handle component delegate when no target found, the init message of the component is moved to the dead letter channel
+	 *
+	 * @param target
+	 * @param component
 	 */
-	private void handleTargetMiss() {
-		throw new UnsupportedOperationException(
-				"No responsible perspective found. Handling not implemented yet.");
+	private void handleTargetMiss(final String target,
+			final SubComponent<EventHandler<Event>, Event, Object> component) {
+		final String componentId = component.getContext().getId();
+		DeadLetterChannel.deadLetter(new MessageImpl(componentId, target, FXUtil.MessageUtil.INIT, null), DeadLetterReason.NO_PERSPECTIVE,
+				"no responsible perspective " + target + " found for component " + componentId);
 	}
 
 	@SuppressWarnings("unchecked")
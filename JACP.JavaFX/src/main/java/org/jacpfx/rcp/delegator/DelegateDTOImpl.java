@@ -38,17 +38,37 @@ public class DelegateDTOImpl implements DelegateDTO<Event, Object> {
 	private final String target;
 	private final Message<Event, Object> action;
     private final boolean isPerspective;
+    private final Runnable onHandled;
 
 	public DelegateDTOImpl(final String target, final Message<Event, Object> action) {
 		this.target = target;
 		this.action = action;
         this.isPerspective = false;
+        this.onHandled = null;
 	}
 
     public DelegateDTOImpl(final String target, final boolean isPerspective, final Message<Event, Object> action) {
+        this(target, isPerspective, action, null);
+    }
+
+    /**
+     * @param target        the target id
+     * @param isPerspective true if the target is a perspective
+     * @param action        the message
+     * @param onHandled     called by the delegator after the message was handled or failed, may be null
+     */
+    public DelegateDTOImpl(final String target, final boolean isPerspective, final Message<Event, Object> action, final Runnable onHandled) {
         this.target = target;
         this.action = action;
         this.isPerspective = isPerspective;
+        this.onHandled = onHandled;
+    }
+
+    /**
+     * Notifies the sender that the delegator handled the message.
+     */
+    public void handled() {
+        if (onHandled != null) onHandled.run();
     }
 
 	@Override
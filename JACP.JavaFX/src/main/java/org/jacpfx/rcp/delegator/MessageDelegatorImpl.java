@@ -30,11 +30,12 @@ import javafx.event.EventHandler;
 import javafx.scene.Node;
 import org.jacpfx.api.component.ComponentBase;
 import org.jacpfx.api.component.Perspective;
-import org.jacpfx.api.exceptions.ComponentNotFoundException;
 import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.DeadLetterReason;
 import org.jacpfx.api.message.DelegateDTO;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.concurrency.FXWorker;
+import org.jacpfx.rcp.message.DeadLetterChannel;
 import org.jacpfx.rcp.message.MessageImpl;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.FXUtil;
@@ -47,6 +48,7 @@ import java.util.logging.Logger;
 
 /**
  * Created by Andy Moncsek on 10.12.13.
+ * Delegates messages to perspectives which must be activated first. Messages to active perspectives are put directly into the perspective queue by the message coordinator.
  */
 public class MessageDelegatorImpl extends Thread implements
         org.jacpfx.api.delegator.MessageDelegator<EventHandler<Event>, Event, Object> {
@@ -65,7 +67,11 @@ public class MessageDelegatorImpl extends Thread implements
         while (!Thread.interrupted()) {
             try {
                 final DelegateDTO<Event, Object> dto = this.messageDelegateQueue.take();
-                this.handleCall(dto.getTarget(), dto.getMessage());
+                try {
+                    this.handleCall(dto.getTarget(), dto.getMessage());
+                } finally {
+                    if (dto instanceof DelegateDTOImpl) ((DelegateDTOImpl) dto).handled();
+                }
             } catch (final InterruptedException e) {
                 logger.info("queue in ComponentDelegator interrupted");
                 break;
@@ -82,7 +88,10 @@ public class MessageDelegatorImpl extends Thread implements
     private void handleCall(final String targetId,
                                      final Message<Event, Object> message) throws ExecutionException, InterruptedException {
         final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(FXUtil.getTargetPerspectiveId(targetId));
-        if(perspective==null) throw new ComponentNotFoundException("no perspective for message : "+targetId+ " found");
+        if(perspective==null) {
+            DeadLetterChannel.deadLetter(message, DeadLetterReason.NO_PERSPECTIVE, "no perspective for message : "+targetId+ " found");
+            return;
+        }
         checkPerspectiveAndInit(perspective);
         perspective.getMessageQueue().put(message);
     }
@@ -38,9 +38,11 @@ import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.scheduler.StatelessComponentSchedulerImpl;
 import org.jacpfx.rcp.util.HandlerThreadFactory;
 import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+import org.jacpfx.rcp.util.WorkerUtil;
 import org.jacpfx.rcp.worker.CallbackComponentInitWorker;
 import org.jacpfx.rcp.worker.FXComponentInitWorker;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -94,10 +96,26 @@ public class ComponentHandlerImpl
             return;
         }
         // all others
+        this.rejectRequest(action, component);
         this.putMessageToQueue(action,component);
         this.log("DONE EXECUTE REPLACE:::" , component.getContext().getId());
 	}
 
+	@Override
+	public final void handleAndReplaceComponent(
+			final List<Message<Event, Object>> actions,
+			final SubComponent<EventHandler<Event>, Event, Object> component) {
+		if (AStatelessCallbackComponent.class.isAssignableFrom(component.getClass())) {
+			actions.forEach(action -> this.runStatelessCallbackComponent(
+					((AStatelessCallbackComponent) component), action));
+			return;
+		}
+		// all others
+		actions.forEach(action -> this.rejectRequest(action, component));
+		component.putIncomingMessages(actions);
+		this.log("DONE EXECUTE BATCH REPLACE:::" , component.getContext().getId());
+	}
+
 
 	/**
 	 * Handle state less callback component. This Method is invoked when an message is triggered.
@@ -121,6 +139,7 @@ public class ComponentHandlerImpl
 			final SubComponent<EventHandler<Event>, Event, Object> component) {
         if (EmbeddedFXComponent.class.isAssignableFrom(component.getClass())) {
 			this.log("COMPONENT EXECUTE INIT:::" , component.getContext().getId());
+			this.rejectRequest(action, component);
 			this.fxInitExecutor.execute(new FXComponentInitWorker(
                     this.perspectiveLayout.getTargetLayoutComponents(),
                     ((EmbeddedFXComponent) component), action, this.componentDelegateQueue));
@@ -155,6 +174,19 @@ public class ComponentHandlerImpl
 		component.putIncomingMessage(action);
 	}
 
+	/**
+	 * UI components do not answer requests, the message is still handled.
+	 *
+	 * @param action, the message
+	 * @param component, the target component
+	 */
+	private void rejectRequest(final Message<Event, Object> action,
+			final SubComponent<EventHandler<Event>, Event, Object> component) {
+		if (action.getReply() != null && EmbeddedFXComponent.class.isAssignableFrom(component.getClass())) {
+			WorkerUtil.failReply(action, new UnsupportedOperationException("UI components do not answer requests: " + component.getContext().getId()));
+		}
+	}
+
 	private void log(final String message, final String name) {
 		if (this.logger.isLoggable(Level.FINE)) {
 			this.logger.fine(">> " + message+ ' ' +name);
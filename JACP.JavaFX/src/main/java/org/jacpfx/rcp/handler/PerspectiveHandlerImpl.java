@@ -50,6 +50,8 @@ import org.jacpfx.rcp.componentLayout.FXPerspectiveLayout;
 import org.jacpfx.rcp.componentLayout.FXWorkbenchLayout;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
 import org.jacpfx.rcp.message.MessageImpl;
 import org.jacpfx.rcp.perspective.AFXPerspective;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
@@ -154,11 +156,20 @@ public class PerspectiveHandlerImpl implements
 
         final JacpContext<EventHandler<Event>, Object> context = perspective.getContext();
         final String previousPerspectiveId = PerspectiveRegistry.getAndSetCurrentVisiblePerspective(context.getId());
-        preHandlePerspective(perspective, context, previousPerspectiveId);
-        perspective.handlePerspective(action);
-        getLayoutComponentFromPerspectiveLayout(perspectiveLayout).
-                ifPresent(componentOld -> postHandlePerspective(perspective, perspectiveLayout, componentOld, context, previousPerspectiveId));
+        try (EventSpan span = beginPerspectiveSwitch(previousPerspectiveId, context.getId(), action)) {
+            preHandlePerspective(perspective, context, previousPerspectiveId);
+            perspective.handlePerspective(action);
+            getLayoutComponentFromPerspectiveLayout(perspectiveLayout).
+                    ifPresent(componentOld -> postHandlePerspective(perspective, perspectiveLayout, componentOld, context, previousPerspectiveId));
+        }
+    }
 
+    /**
+     * Starts the JFR span of a perspective switch, messages to the visible perspective are no switch.
+     */
+    private static EventSpan beginPerspectiveSwitch(final String previousPerspectiveId, final String perspectiveId, final Message<Event, Object> message) {
+        if (perspectiveId.equals(previousPerspectiveId)) return EventSpan.NONE;
+        return JfrEvents.beginPerspectiveSwitch(previousPerspectiveId, perspectiveId, message);
     }
 
     private void postHandlePerspective(Perspective<Node, EventHandler<Event>, Event, Object> perspective, PerspectiveLayoutInterface<? extends Node, Node> perspectiveLayout, Node componentOld, JacpContext<EventHandler<Event>, Object> context, String previousPerspectiveId) {
@@ -240,14 +251,16 @@ public class PerspectiveHandlerImpl implements
             final Perspective<Node, EventHandler<Event>, Event, Object> previousePerspective = previousePerspectiveId != null && !currentPerspectiveId.equals(previousePerspectiveId) ?
                     PerspectiveRegistry.findPerspectiveById(previousePerspectiveId != null ? previousePerspectiveId : "") : null;
 
-            hidePreviousPerspective(previousePerspective);
-            handlePerspectiveInitialization(perspective);
-            handlePerspective(message, perspective);
-            initPerspectiveUI(perspective.getIPerspectiveLayout());
-            updateToolbarButtons(previousePerspective, false);
-            this.log("3.4.4: perspective init subcomponents");
-            perspective.initComponents(message);
-            updateToolbarButtons(perspective, true);
+            try (EventSpan span = beginPerspectiveSwitch(previousePerspectiveId, currentPerspectiveId, message)) {
+                hidePreviousPerspective(previousePerspective);
+                handlePerspectiveInitialization(perspective);
+                handlePerspective(message, perspective);
+                initPerspectiveUI(perspective.getIPerspectiveLayout());
+                updateToolbarButtons(previousePerspective, false);
+                this.log("3.4.4: perspective init subcomponents");
+                perspective.initComponents(message);
+                updateToolbarButtons(perspective, true);
+            }
         } catch (final Exception e) {
             t.getUncaughtExceptionHandler().uncaughtException(t, e);
         }
@@ -0,0 +1,55 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ALifecycleEvent.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the JFR events about the lifecycle of a component.
+ */
+@Category({"JacpFX", "Lifecycle"})
+@StackTrace(false)
+abstract class ALifecycleEvent extends jdk.jfr.Event implements EventSpan {
+    @Label("Perspective Id")
+    String perspectiveId;
+    @Label("Component Id")
+    String componentId;
+    @Label("Component Type")
+    Class<?> componentType;
+
+    final void set(final String perspectiveId, final String componentId, final Object handle) {
+        this.perspectiveId = perspectiveId;
+        this.componentId = componentId;
+        this.componentType = handle != null ? handle.getClass() : null;
+    }
+
+    @Override
+    public final void close() {
+        commit();
+    }
+}
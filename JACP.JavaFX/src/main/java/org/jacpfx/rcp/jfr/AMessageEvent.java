@@ -0,0 +1,61 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [AMessageEvent.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.jacpfx.api.message.Message;
+
+/**
+ * Base of all JFR events about a message. The perspective and component ids belong to the component which emitted the event.
+ */
+@Category({"JacpFX", "Messaging"})
+@StackTrace(false)
+abstract class AMessageEvent extends jdk.jfr.Event {
+    @Label("Perspective Id")
+    String perspectiveId;
+    @Label("Component Id")
+    String componentId;
+    @Label("Source Id")
+    @Description("The fully qualified id of the sender")
+    String sourceId;
+    @Label("Target Id")
+    @Description("The target id or topic of the message")
+    String targetId;
+    @Label("Payload Type")
+    Class<?> payloadType;
+
+    final void set(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        this.perspectiveId = perspectiveId;
+        this.componentId = componentId;
+        this.sourceId = message.getSourceId();
+        this.targetId = message.getTopic() != null ? message.getTopic() : message.getTargetId();
+        final Object body = message.getMessageBody();
+        this.payloadType = body != null ? body.getClass() : null;
+    }
+}
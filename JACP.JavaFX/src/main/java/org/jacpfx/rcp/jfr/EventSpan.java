@@ -0,0 +1,44 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [EventSpan.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.jfr;
+
+/**
+ * A timed JFR event which was started by {@link JfrEvents}, closing the span commits the event.
+ * If no recording is running, the shared {@link #NONE} span is returned and nothing is allocated.
+ */
+public interface EventSpan extends AutoCloseable {
+    /**
+     * the span returned while the event type is not recorded
+     */
+    EventSpan NONE = () -> {
+    };
+
+    /**
+     * Ends the span and commits the event.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,113 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [JfrEventWriter.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.jfr;
+
+import jdk.jfr.EventType;
+import org.jacpfx.api.message.Message;
+
+/**
+ * Creates and commits the JacpFX JFR events. This class is only loaded by {@link JfrEvents} if the running VM provides the jdk.jfr module,
+ * each method returns before allocating an event if its type is not enabled in a running recording.
+ */
+final class JfrEventWriter {
+    private static final EventType SEND = EventType.getEventType(MessageSendEvent.class);
+    private static final EventType ROUTE = EventType.getEventType(MessageRouteEvent.class);
+    private static final EventType MAILBOX_WAIT = EventType.getEventType(MailboxWaitEvent.class);
+    private static final EventType HANDLE = EventType.getEventType(MessageHandleEvent.class);
+    private static final EventType POST_HANDLE = EventType.getEventType(PostHandleEvent.class);
+    private static final EventType COMPONENT_INIT = EventType.getEventType(ComponentInitEvent.class);
+    private static final EventType COMPONENT_TEARDOWN = EventType.getEventType(ComponentTeardownEvent.class);
+    private static final EventType PERSPECTIVE_SWITCH = EventType.getEventType(PerspectiveSwitchEvent.class);
+
+    private JfrEventWriter() {
+    }
+
+    static void send(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        if (!SEND.isEnabled()) return;
+        final MessageSendEvent event = new MessageSendEvent();
+        event.set(perspectiveId, componentId, message);
+        event.commit();
+    }
+
+    static void route(final String perspectiveId, final Message<?, ?> message, final String decision) {
+        if (!ROUTE.isEnabled()) return;
+        final MessageRouteEvent event = new MessageRouteEvent();
+        event.set(perspectiveId, null, message);
+        event.decision = decision;
+        event.commit();
+    }
+
+    static void mailboxWait(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        if (!MAILBOX_WAIT.isEnabled()) return;
+        final MailboxWaitEvent event = new MailboxWaitEvent();
+        event.set(perspectiveId, componentId, message);
+        event.waitTime = System.nanoTime() - message.getCreationTime();
+        event.commit();
+    }
+
+    static EventSpan beginHandle(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        if (!HANDLE.isEnabled()) return EventSpan.NONE;
+        final MessageHandleEvent event = new MessageHandleEvent();
+        event.set(perspectiveId, componentId, message);
+        event.begin();
+        return event;
+    }
+
+    static EventSpan beginPostHandle(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        if (!POST_HANDLE.isEnabled()) return EventSpan.NONE;
+        final PostHandleEvent event = new PostHandleEvent();
+        event.set(perspectiveId, componentId, message);
+        event.begin();
+        return event;
+    }
+
+    static EventSpan beginComponentInit(final String perspectiveId, final String componentId, final Object handle) {
+        if (!COMPONENT_INIT.isEnabled()) return EventSpan.NONE;
+        final ComponentInitEvent event = new ComponentInitEvent();
+        event.set(perspectiveId, componentId, handle);
+        event.begin();
+        return event;
+    }
+
+    static EventSpan beginComponentTeardown(final String perspectiveId, final String componentId, final Object handle) {
+        if (!COMPONENT_TEARDOWN.isEnabled()) return EventSpan.NONE;
+        final ComponentTeardownEvent event = new ComponentTeardownEvent();
+        event.set(perspectiveId, componentId, handle);
+        event.begin();
+        return event;
+    }
+
+    static EventSpan beginPerspectiveSwitch(final String previousPerspectiveId, final String perspectiveId, final Message<?, ?> message) {
+        if (!PERSPECTIVE_SWITCH.isEnabled()) return EventSpan.NONE;
+        final PerspectiveSwitchEvent event = new PerspectiveSwitchEvent();
+        event.previousPerspectiveId = previousPerspectiveId;
+        event.perspectiveId = perspectiveId;
+        final Object body = message != null ? message.getMessageBody() : null;
+        event.payloadType = body != null ? body.getClass() : null;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [JfrEvents.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.jfr;
+
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.util.RuntimeSettings;
+
+import java.util.logging.Logger;
+
+/**
+ * Emits JacpFX events to the Java Flight Recorder, so the time spent in messaging and component lifecycle can be correlated with UI jank in JDK Mission Control.
+ * The events are grouped in the JacpFX category and carry the perspective and component ids and the payload type. If no recording is running, a call costs one
+ * enabled check. On a VM without the jdk.jfr module, or with jacpfx.jfr.enabled=false, all methods are no-ops.
+ */
+public final class JfrEvents {
+    private static final boolean ENABLED = RuntimeSettings.getBoolean(RuntimeSettings.JFR_ENABLED, true) && isAvailable();
+
+    private JfrEvents() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            Logger.getLogger(JfrEvents.class.getName()).fine("jdk.jfr is not available, JFR events are disabled");
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the events are written to running recordings
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * A message was sent.
+     *
+     * @param perspectiveId the perspective of the sender
+     * @param componentId   the id of the sender
+     * @param message       the message
+     */
+    public static void send(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        if (ENABLED) JfrEventWriter.send(perspectiveId, componentId, message);
+    }
+
+    /**
+     * The route of a message was decided.
+     *
+     * @param perspectiveId the perspective of the routing coordinator
+     * @param message       the message
+     * @param decision      the routing decision, e.g. the route state or DIRECT
+     */
+    public static void route(final String perspectiveId, final Message<?, ?> message, final String decision) {
+        if (ENABLED) JfrEventWriter.route(perspectiveId, message, decision);
+    }
+
+    /**
+     * A message was taken from the mailbox of a component.
+     *
+     * @param perspectiveId the perspective of the component
+     * @param componentId   the component id
+     * @param message       the message
+     */
+    public static void mailboxWait(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        if (ENABLED) JfrEventWriter.mailboxWait(perspectiveId, componentId, message);
+    }
+
+    /**
+     * Starts the span of a handle method.
+     *
+     * @param perspectiveId the perspective of the component
+     * @param componentId   the component id
+     * @param message       the handled message
+     * @return the span to close after the handle method
+     */
+    public static EventSpan beginHandle(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        return ENABLED ? JfrEventWriter.beginHandle(perspectiveId, componentId, message) : EventSpan.NONE;
+    }
+
+    /**
+     * Starts the span of a postHandle method on the application thread.
+     *
+     * @param perspectiveId the perspective of the component
+     * @param componentId   the component id
+     * @param message       the handled message
+     * @return the span to close after the postHandle method
+     */
+    public static EventSpan beginPostHandle(final String perspectiveId, final String componentId, final Message<?, ?> message) {
+        return ENABLED ? JfrEventWriter.beginPostHandle(perspectiveId, componentId, message) : EventSpan.NONE;
+    }
+
+    /**
+     * Starts the span of a component initialization.
+     *
+     * @param perspectiveId the perspective of the component
+     * @param componentId   the component id
+     * @param handle        the component handle
+     * @return the span to close after the initialization
+     */
+    public static EventSpan beginComponentInit(final String perspectiveId, final String componentId, final Object handle) {
+        return ENABLED ? JfrEventWriter.beginComponentInit(perspectiveId, componentId, handle) : EventSpan.NONE;
+    }
+
+    /**
+     * Starts the span of a component teardown.
+     *
+     * @param perspectiveId the perspective of the component
+     * @param componentId   the component id
+     * @param handle        the component handle
+     * @return the span to close after the teardown
+     */
+    public static EventSpan beginComponentTeardown(final String perspectiveId, final String componentId, final Object handle) {
+        return ENABLED ? JfrEventWriter.beginComponentTeardown(perspectiveId, componentId, handle) : EventSpan.NONE;
+    }
+
+    /**
+     * Starts the span of a perspective switch.
+     *
+     * @param previousPerspectiveId the previously visible perspective
+     * @param perspectiveId         the perspective to show
+     * @param message               the message which caused the switch
+     * @return the span to close after the switch
+     */
+    public static EventSpan beginPerspectiveSwitch(final String previousPerspectiveId, final String perspectiveId, final Message<?, ?> message) {
+        return ENABLED ? JfrEventWriter.beginPerspectiveSwitch(previousPerspectiveId, perspectiveId, message) : EventSpan.NONE;
+    }
+}
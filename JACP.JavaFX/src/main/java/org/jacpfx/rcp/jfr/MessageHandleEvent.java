@@ -3,7 +3,7 @@
  *
  *  Copyright (C) 2010 - 2015
  *
- *  [CustomSecurityManager.java]
+ *  [MessageHandleEvent.java]
  *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
  *  All rights reserved.
  *
@@ -23,20 +23,22 @@
  * *********************************************************************
  */
 
-package org.jacpfx.api.util;
+package org.jacpfx.rcp.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
 
 /**
- * Created with IntelliJ IDEA.
- * User: Andy Moncsek
- * Date: 18.07.13
- * Time: 15:34
- * A custom security manager that exposes the getClassContext() information
+ * The execution of a component handle method.
  */
-public class CustomSecurityManager extends SecurityManager {
-    private final static int CALL_STACK_DEPTH = 2;
+@Name("org.jacpfx.MessageHandle")
+@Label("Message Handle")
+@Description("The execution of a component handle method.")
+final class MessageHandleEvent extends AMessageEvent implements EventSpan {
 
-    public String getCallerClassName() {
-        return getClassContext()[CALL_STACK_DEPTH].getName();
+    @Override
+    public void close() {
+        commit();
     }
-
 }
@@ -0,0 +1,54 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PerspectiveSwitchEvent.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The switch of the visible perspective, including the OnHide, OnShow and handle methods.
+ */
+@Name("org.jacpfx.PerspectiveSwitch")
+@Label("Perspective Switch")
+@Description("The switch of the visible perspective, including the OnHide, OnShow and handle methods.")
+@Category({"JacpFX", "Lifecycle"})
+@StackTrace(false)
+final class PerspectiveSwitchEvent extends jdk.jfr.Event implements EventSpan {
+    @Label("Previous Perspective Id")
+    String previousPerspectiveId;
+    @Label("Perspective Id")
+    String perspectiveId;
+    @Label("Payload Type")
+    Class<?> payloadType;
+
+    @Override
+    public void close() {
+        commit();
+    }
+}
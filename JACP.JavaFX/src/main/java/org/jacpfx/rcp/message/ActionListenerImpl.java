@@ -28,6 +28,7 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import org.jacpfx.api.message.ActionListener;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
 import org.jacpfx.rcp.util.MessageLoggerService;
 
 import java.util.Objects;
@@ -64,13 +65,14 @@ public class ActionListenerImpl<T extends Event> implements EventHandler<T>,
 
 	private void logAndPutMessage(Message<Event, Object> m ) throws InterruptedException {
 		MessageLoggerService.getInstance().onSend(m);
-		this.globalMessageQueue.transfer(m);
+		CoordinatorQueue.send(this.globalMessageQueue, m);
 	}
 
 
 	@Override
 	public void handle(final Event t) {
-		this.notifyComponents(new MessageImpl(action.getSourceId(), action.getTargetId(), action.getMessageBody(), t));
+		// the template message has already resolved its target address, every event gets only the new message envelope
+		this.notifyComponents(new MessageImpl(action.getSourceId(), action.getTargetAddress(), action.getMessageBody(), t));
 	}
 
 
@@ -0,0 +1,138 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [DeadLetterChannel.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.message;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.exceptions.ComponentNotFoundException;
+import org.jacpfx.api.exceptions.MessageRejectedException;
+import org.jacpfx.api.message.DeadLetter;
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.registry.TopicRegistry;
+import org.jacpfx.rcp.util.MessageLoggerService;
+import org.jacpfx.rcp.util.WorkerUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects messages which could not be delivered, like messages to unknown targets, expired messages or messages dropped from a full queue. The routing threads never throw for an undelivered
+ * message, the message is counted per reason, reported to the {@link org.jacpfx.api.message.MessageLogger} services and published as {@link DeadLetter} to all
+ * components subscribed to the {@link DeadLetter#TOPIC} topic. A pending reply of an undelivered request completes exceptionally.
+ */
+public final class DeadLetterChannel {
+    private static final Logger LOGGER = Logger.getLogger(DeadLetterChannel.class.getName());
+    private static final DeadLetterReason[] REASONS = DeadLetterReason.values();
+    private static final LongAdder[] deadLetters = new LongAdder[REASONS.length];
+    private static final LongAdder lost = new LongAdder();
+
+    static {
+        for (int i = 0; i < deadLetters.length; i++) deadLetters[i] = new LongAdder();
+    }
+
+    private DeadLetterChannel() {
+
+    }
+
+    /**
+     * Moves an undelivered message to the dead letter channel.
+     *
+     * @param message     the message
+     * @param reason      the reason why the message was not delivered
+     * @param description a description of the failed delivery
+     */
+    public static void deadLetter(final Message<Event, Object> message, final DeadLetterReason reason, final String description) {
+        deadLetters[reason.ordinal()].increment();
+        MessageLoggerService.getInstance().deadLetter(message, reason);
+        if (message.getReply() != null) WorkerUtil.failReply(message, createFailure(reason, description));
+        if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("dead letter " + reason + ": " + description);
+        // a dead letter about a dead letter is not published again
+        if (!(message.getMessageBody() instanceof DeadLetter)) publish(message, reason, description);
+    }
+
+    private static Throwable createFailure(final DeadLetterReason reason, final String description) {
+        switch (reason) {
+            case EXPIRED:
+                return new TimeoutException(description);
+            case OVERFLOW:
+                return new MessageRejectedException(description);
+            default:
+                return new ComponentNotFoundException(description);
+        }
+    }
+
+    /**
+     * Puts one perspective local topic message into the queue of every active perspective with dead letter subscribers. The queues are never blocked,
+     * a dead letter which does not fit into a full queue is counted as lost.
+     */
+    private static void publish(final Message<Event, Object> message, final DeadLetterReason reason, final String description) {
+        final List<SubComponent<EventHandler<Event>, Event, Object>> subscribers = TopicRegistry.findSubscribers(DeadLetter.TOPIC);
+        if (subscribers.isEmpty()) return;
+        final Message<Event, Object> localMessage = MessageImpl.createLocalTopicMessage(
+                MessageImpl.createTopicMessage(message.getSourceId(), DeadLetter.TOPIC, new DeadLetter(message, reason, description)));
+        final List<String> perspectiveIds = new ArrayList<>(2);
+        for (final SubComponent<EventHandler<Event>, Event, Object> subscriber : subscribers) {
+            final String parentId = subscriber.getContext().getParentId();
+            if (parentId == null || perspectiveIds.contains(parentId)) continue;
+            perspectiveIds.add(parentId);
+            final Perspective<Node, EventHandler<Event>, Event, Object> perspective = PerspectiveRegistry.findPerspectiveById(parentId);
+            if (perspective == null || !perspective.getContext().isActive() || !perspective.getMessageQueue().offer(localMessage)) lost.increment();
+        }
+    }
+
+    /**
+     * @param reason the reason
+     * @return the amount of dead letters with the reason
+     */
+    public static long getDeadLetterCount(final DeadLetterReason reason) {
+        return deadLetters[reason.ordinal()].sum();
+    }
+
+    /**
+     * @return the amount of all dead letters
+     */
+    public static long getDeadLetterCount() {
+        long count = 0;
+        for (final LongAdder adder : deadLetters) count += adder.sum();
+        return count;
+    }
+
+    /**
+     * @return the amount of dead letters which could not be published to a subscribing perspective
+     */
+    public static long getLostCount() {
+        return lost.sum();
+    }
+}
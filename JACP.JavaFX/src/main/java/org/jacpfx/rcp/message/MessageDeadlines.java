@@ -0,0 +1,125 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageDeadlines.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.message;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Handles the deadlines of messages. Keeps the default time to live per message body type, which applies to all messages sent without an explicit
+ * time to live, and drops expired messages in the coordinators and component workers before they are handled.
+ */
+public final class MessageDeadlines {
+
+    /**
+     * The stage which dropped an expired message.
+     */
+    public enum Stage {
+        COORDINATOR, WORKER
+    }
+
+    private static final Map<Class<?>, Long> defaultTtl = new ConcurrentHashMap<>();
+    private static final LongAdder[] expired = {new LongAdder(), new LongAdder()};
+
+    private MessageDeadlines() {
+
+    }
+
+    /**
+     * Sets the default time to live of messages with a body of the given type or one of its sub classes.
+     *
+     * @param type the message body type
+     * @param ttl  the time to live, must be positive
+     * @param unit the unit of the time to live
+     */
+    public static void setDefaultTtl(final Class<?> type, final long ttl, final TimeUnit unit) {
+        if (ttl <= 0) throw new IllegalArgumentException("time to live must be positive: " + ttl);
+        defaultTtl.put(Objects.requireNonNull(type), unit.toNanos(ttl));
+    }
+
+    /**
+     * Removes the default time to live of a message body type.
+     *
+     * @param type the message body type
+     */
+    public static void removeDefaultTtl(final Class<?> type) {
+        defaultTtl.remove(type);
+    }
+
+    /**
+     * Returns the default time to live of a message body, the nearest registered super class of the body wins.
+     *
+     * @param body the message body
+     * @return the time to live in nanoseconds or 0 if no default is registered
+     */
+    public static long getDefaultTtlNanos(final Object body) {
+        if (body == null || defaultTtl.isEmpty()) return 0L;
+        for (Class<?> type = body.getClass(); type != null; type = type.getSuperclass()) {
+            final Long ttl = defaultTtl.get(type);
+            if (ttl != null) return ttl;
+        }
+        return 0L;
+    }
+
+    /**
+     * Drops an expired message to the {@link DeadLetterChannel}. A dropped request completes with a {@link java.util.concurrent.TimeoutException}.
+     *
+     * @param message the message
+     * @param stage   the stage which handles the message
+     * @return true if the message was expired and must not be handled
+     */
+    public static boolean dropIfExpired(final Message<Event, Object> message, final Stage stage) {
+        if (message.getDeadline() == 0L || !message.isExpired(System.nanoTime())) return false;
+        expired[stage.ordinal()].increment();
+        DeadLetterChannel.deadLetter(message, DeadLetterReason.EXPIRED, "message expired before it was handled: " + message.getTargetId());
+        return true;
+    }
+
+    /**
+     * @param stage the stage
+     * @return the amount of expired messages dropped by the stage
+     */
+    public static long getExpiredCount(final Stage stage) {
+        return expired[stage.ordinal()].sum();
+    }
+
+    /**
+     * @return the amount of all dropped expired messages
+     */
+    public static long getExpiredCount() {
+        long count = 0;
+        for (final LongAdder adder : expired) count += adder.sum();
+        return count;
+    }
+}
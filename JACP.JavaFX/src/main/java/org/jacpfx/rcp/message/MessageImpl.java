@@ -25,7 +25,13 @@
 package org.jacpfx.rcp.message;
 
 import javafx.event.Event;
+import org.jacpfx.api.message.ComponentAddress;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.api.message.SendOptions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * represents an message which is fired by an component, has a target and a
@@ -34,11 +40,20 @@ import org.jacpfx.api.message.Message;
  * @author Andy Moncsek
  */
 public final class MessageImpl implements Message<Event, Object> {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
 
     private Object message;
     private final String sourceId;
     private final Event event;
     private String target;
+    private ComponentAddress targetAddress;
+    private String topic;
+    private boolean topicLocal;
+    private CompletableFuture<Object> reply;
+    private MessagePriority priority = MessagePriority.NORMAL;
+    private long creationTime = System.nanoTime();
+    private final long sequence = SEQUENCE.incrementAndGet();
+    private long deadline;
 
     public MessageImpl(final String sourceId) {
         this.sourceId = sourceId;
@@ -64,6 +79,109 @@ public final class MessageImpl implements Message<Event, Object> {
         this.setMessageBody(message);
     }
 
+    public MessageImpl(final String sourceId, final ComponentAddress targetAddress,
+                       final Object message, final Event event) {
+        this(sourceId, targetAddress != null ? targetAddress.getId() : null, message, event);
+        this.targetAddress = targetAddress;
+    }
+
+    /**
+     * Creates a message published to a topic.
+     *
+     * @param sourceId the publisher id
+     * @param topic    the topic
+     * @param message  the message body, shared by all subscribers
+     * @return the topic message
+     */
+    public static MessageImpl createTopicMessage(final String sourceId, final String topic, final Object message) {
+        final MessageImpl topicMessage = new MessageImpl(sourceId, topic, message, null);
+        topicMessage.topic = topic;
+        topicMessage.expireAfter(MessageDeadlines.getDefaultTtlNanos(message));
+        return topicMessage;
+    }
+
+    /**
+     * Creates a request message, the reply is completed by the target component.
+     *
+     * @param sourceId the requester id
+     * @param targetId the target id
+     * @param message  the message body
+     * @param reply    the pending reply
+     * @return the request message
+     */
+    public static MessageImpl createRequestMessage(final String sourceId, final String targetId, final Object message, final CompletableFuture<Object> reply) {
+        final MessageImpl request = new MessageImpl(sourceId, targetId, message, null);
+        request.reply = reply;
+        request.expireAfter(MessageDeadlines.getDefaultTtlNanos(message));
+        return request;
+    }
+
+    /**
+     * Creates a message with a priority.
+     *
+     * @param sourceId the source id
+     * @param targetId the target id
+     * @param message  the message body
+     * @param priority the priority lane
+     * @return the message
+     */
+    public static MessageImpl createPriorityMessage(final String sourceId, final String targetId, final Object message, final MessagePriority priority) {
+        return createMessage(sourceId, targetId, message, SendOptions.priority(priority));
+    }
+
+    /**
+     * Creates a message with send options, a message without time to live gets the default time to live of its body type (see {@link MessageDeadlines}).
+     *
+     * @param sourceId the source id
+     * @param targetId the target id
+     * @param message  the message body
+     * @param options  the send options
+     * @return the message
+     */
+    public static MessageImpl createMessage(final String sourceId, final String targetId, final Object message, final SendOptions options) {
+        return new MessageImpl(sourceId, targetId, message, null).applyOptions(options);
+    }
+
+    /**
+     * Creates a message with send options to an interned target address.
+     *
+     * @param sourceId      the source id
+     * @param targetAddress the target address
+     * @param message       the message body
+     * @param options       the send options
+     * @return the message
+     */
+    public static MessageImpl createMessage(final String sourceId, final ComponentAddress targetAddress, final Object message, final SendOptions options) {
+        return new MessageImpl(sourceId, targetAddress, message, null).applyOptions(options);
+    }
+
+    private MessageImpl applyOptions(final SendOptions options) {
+        this.priority = options.getPriority();
+        final long ttl = options.getTtlNanos();
+        expireAfter(ttl != 0L ? ttl : MessageDeadlines.getDefaultTtlNanos(this.message));
+        return this;
+    }
+
+    private void expireAfter(final long ttlNanos) {
+        // 0 is reserved for messages without deadline
+        if (ttlNanos > 0) this.deadline = (this.creationTime + ttlNanos) | 1L;
+    }
+
+    /**
+     * Creates the perspective local copy of a topic message, the message body is not cloned.
+     *
+     * @param message the published message
+     * @return the local topic message
+     */
+    public static MessageImpl createLocalTopicMessage(final Message<Event, Object> message) {
+        final MessageImpl localMessage = new MessageImpl(message.getSourceId(), message.getTopic(), message.getMessageBody(), message.getSourceEvent());
+        localMessage.topic = message.getTopic();
+        localMessage.topicLocal = true;
+        localMessage.priority = message.getPriority();
+        localMessage.creationTime = message.getCreationTime();
+        localMessage.deadline = message.getDeadline();
+        return localMessage;
+    }
 
     private void setMessageBody(final Object message) {
         this.message = message;
@@ -88,7 +206,15 @@ public final class MessageImpl implements Message<Event, Object> {
 
     @Override
     public Message<Event, Object> cloneMessage() {
-        return new MessageImpl(this.sourceId, this.target, this.message, this.event);
+        final MessageImpl clone = new MessageImpl(this.sourceId, this.target, this.message, this.event);
+        clone.targetAddress = this.targetAddress;
+        clone.topic = this.topic;
+        clone.topicLocal = this.topicLocal;
+        clone.reply = this.reply;
+        clone.priority = this.priority;
+        clone.creationTime = this.creationTime;
+        clone.deadline = this.deadline;
+        return clone;
     }
 
     @Override
@@ -96,6 +222,52 @@ public final class MessageImpl implements Message<Event, Object> {
         return this.target;
     }
 
+    @Override
+    public ComponentAddress getTargetAddress() {
+        // a concurrent resolution yields an equal address
+        ComponentAddress address = this.targetAddress;
+        if (address == null && this.target != null) {
+            address = ComponentAddress.lookup(this.target);
+            this.targetAddress = address;
+        }
+        return address;
+    }
+
+    @Override
+    public String getTopic() {
+        return this.topic;
+    }
+
+    @Override
+    public boolean isTopicLocal() {
+        return this.topicLocal;
+    }
+
+    @Override
+    public CompletableFuture<Object> getReply() {
+        return this.reply;
+    }
+
+    @Override
+    public MessagePriority getPriority() {
+        return this.priority;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return this.creationTime;
+    }
+
+    @Override
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    @Override
+    public long getDeadline() {
+        return this.deadline;
+    }
+
     @Override
     public <T> boolean isMessageBodyTypeOf(final Class<T> clazz) {
         return clazz.isAssignableFrom(this.message.getClass());
@@ -119,6 +291,7 @@ public final class MessageImpl implements Message<Event, Object> {
                 ", sourceId='" + sourceId + '\'' +
                 ", event=" + event +
                 ", target='" + target + '\'' +
+                ", topic='" + topic + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageLaneMetrics.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.message;
+
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessagePriority;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the messages served per priority lane and their latency, the time from message creation until a queue handed the message to its consumer.
+ */
+public final class MessageLaneMetrics {
+    private static final int LANES = MessagePriority.values().length;
+    private final LongAdder[] served = new LongAdder[LANES];
+    private final LongAdder[] timed = new LongAdder[LANES];
+    private final LongAdder[] latencyNanos = new LongAdder[LANES];
+    private final LongAccumulator[] maxLatencyNanos = new LongAccumulator[LANES];
+
+    public MessageLaneMetrics() {
+        for (int i = 0; i < LANES; i++) {
+            served[i] = new LongAdder();
+            timed[i] = new LongAdder();
+            latencyNanos[i] = new LongAdder();
+            maxLatencyNanos[i] = new LongAccumulator(Math::max, 0L);
+        }
+    }
+
+    /**
+     * Records a served message in the lane of its priority.
+     *
+     * @param message the served message
+     */
+    public void record(final Message<?, ?> message) {
+        record(message.getPriority(), message.getCreationTime());
+    }
+
+    /**
+     * Records a served message.
+     *
+     * @param priority     the lane
+     * @param creationTime the creation time of the message, 0 if unknown
+     */
+    public void record(final MessagePriority priority, final long creationTime) {
+        final int lane = priority.ordinal();
+        served[lane].increment();
+        if (creationTime == 0L) return;
+        final long latency = System.nanoTime() - creationTime;
+        timed[lane].increment();
+        latencyNanos[lane].add(latency);
+        maxLatencyNanos[lane].accumulate(latency);
+    }
+
+    /**
+     * @param priority the lane
+     * @return the amount of served messages
+     */
+    public long getServedCount(final MessagePriority priority) {
+        return served[priority.ordinal()].sum();
+    }
+
+    /**
+     * @param priority the lane
+     * @return the mean latency in nanoseconds of the served messages with a known creation time
+     */
+    public long getMeanLatencyNanos(final MessagePriority priority) {
+        final long count = timed[priority.ordinal()].sum();
+        return count == 0 ? 0L : latencyNanos[priority.ordinal()].sum() / count;
+    }
+
+    /**
+     * @param priority the lane
+     * @return the max latency in nanoseconds
+     */
+    public long getMaxLatencyNanos(final MessagePriority priority) {
+        return maxLatencyNanos[priority.ordinal()].get();
+    }
+
+    /**
+     * Resets all lanes, e.g. before a measurement.
+     */
+    public void reset() {
+        for (int i = 0; i < LANES; i++) {
+            served[i].reset();
+            timed[i].reset();
+            latencyNanos[i].reset();
+            maxLatencyNanos[i].reset();
+        }
+    }
+}
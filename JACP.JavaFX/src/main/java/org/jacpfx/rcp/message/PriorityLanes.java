@@ -0,0 +1,178 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PriorityLanes.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.message;
+
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.rcp.util.RuntimeSettings;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * FIFO lanes per {@link MessagePriority}, the highest non empty lane is served first. To avoid starvation a waiting lower lane is served after
+ * it was passed over by the starvation limit of higher lane elements, so bulk messages are delayed but always make progress.
+ * The class is not thread safe, the owning queue guards all access.
+ */
+public final class PriorityLanes<T> {
+    private static final MessagePriority[] PRIORITIES = MessagePriority.values();
+    private static final int DEFAULT_STARVATION_LIMIT = Math.max(1, RuntimeSettings.getInt(RuntimeSettings.MESSAGE_LANE_STARVATION_LIMIT, 16));
+    private final ArrayDeque<T>[] lanes;
+    private final int[] passedOver = new int[PRIORITIES.length];
+    private final int starvationLimit;
+    private int size;
+
+    public PriorityLanes() {
+        this(DEFAULT_STARVATION_LIMIT);
+    }
+
+    /**
+     * @param starvationLimit the max amount of elements served before a waiting lower lane
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityLanes(final int starvationLimit) {
+        if (starvationLimit < 1) throw new IllegalArgumentException("starvation limit must be positive: " + starvationLimit);
+        this.starvationLimit = starvationLimit;
+        this.lanes = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Adds an element to the end of its lane.
+     *
+     * @param element  the element
+     * @param priority the lane
+     */
+    public void add(final T element, final MessagePriority priority) {
+        lanes[priority.ordinal()].addLast(element);
+        size++;
+    }
+
+    /**
+     * Removes the next element.
+     *
+     * @return the next element or null if all lanes are empty
+     */
+    public T poll() {
+        final int lane = selectLane();
+        if (lane < 0) return null;
+        for (int i = lane + 1; i < lanes.length; i++) {
+            if (!lanes[i].isEmpty()) passedOver[i]++;
+        }
+        passedOver[lane] = 0;
+        size--;
+        return lanes[lane].pollFirst();
+    }
+
+    /**
+     * Removes the first element of the lowest non empty lane, e.g. to make room in a full queue. Lanes above the given priority are never touched,
+     * so a new element never displaces an element of a higher priority.
+     *
+     * @param priority the highest lane to remove from
+     * @return the removed element or null if the lane and all lower lanes are empty
+     */
+    public T pollLowest(final MessagePriority priority) {
+        for (int i = lanes.length - 1; i >= priority.ordinal(); i--) {
+            if (!lanes[i].isEmpty()) {
+                size--;
+                return lanes[i].pollFirst();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the next element without removing it.
+     *
+     * @return the next element or null if all lanes are empty
+     */
+    public T peek() {
+        final int lane = selectLane();
+        return lane < 0 ? null : lanes[lane].peekFirst();
+    }
+
+    private int selectLane() {
+        int selected = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].isEmpty()) {
+                passedOver[i] = 0;
+            } else if (selected < 0) {
+                selected = i;
+            } else if (passedOver[i] >= starvationLimit) {
+                return i;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Removes the first occurrence of an element.
+     *
+     * @param element the element
+     * @return true if the element was removed
+     */
+    public boolean remove(final Object element) {
+        for (final ArrayDeque<T> lane : lanes) {
+            if (lane.removeFirstOccurrence(element)) {
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs the action for all elements, ordered by lane.
+     *
+     * @param action the action
+     */
+    public void forEach(final Consumer<? super T> action) {
+        for (final ArrayDeque<T> lane : lanes) {
+            lane.forEach(action);
+        }
+    }
+
+    /**
+     * @param priority the lane
+     * @return the amount of elements in a lane
+     */
+    public int size(final MessagePriority priority) {
+        return lanes[priority.ordinal()].size();
+    }
+
+    /**
+     * @return the amount of elements in all lanes
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
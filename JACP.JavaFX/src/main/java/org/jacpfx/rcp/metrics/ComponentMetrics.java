@@ -0,0 +1,197 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentMetrics.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operational metrics of one component: handled messages, the latency of handle and postHandle, the time a worker waits for the application thread and,
+ * for stateless components, how often all instances were busy. All counters are lock free, the workers record without contention on the message path.
+ */
+public final class ComponentMetrics {
+    private static final long RATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder saturated = new LongAdder();
+    private final LatencyHistogram handleLatency = new LatencyHistogram();
+    private final LatencyHistogram postHandleLatency = new LatencyHistogram();
+    private final LatencyHistogram fxWaitLatency = new LatencyHistogram();
+    /**
+     * start of the running handle method, 0 if idle
+     */
+    private volatile long handleSince;
+    /**
+     * start of the running wait for the application thread, 0 if not waiting
+     */
+    private volatile long fxWaitSince;
+    private long rateSampleCount;
+    private long rateSampleTime = System.nanoTime();
+    private double rate;
+    private boolean rateSampled;
+
+    /**
+     * Marks the start of a handle method.
+     *
+     * @return the start time to pass to {@link #endHandle(long)}
+     */
+    public long beginHandle() {
+        final long start = System.nanoTime();
+        handleSince = start;
+        return start;
+    }
+
+    /**
+     * Marks the end of a handle method and records its latency.
+     *
+     * @param start the start time returned by {@link #beginHandle()}
+     */
+    public void endHandle(final long start) {
+        handleSince = 0L;
+        recordHandle(System.nanoTime() - start);
+    }
+
+    /**
+     * Records a handled message, used if the handle is not tracked, e.g. by the concurrent instances of a stateless component.
+     *
+     * @param nanos the handle latency
+     */
+    public void recordHandle(final long nanos) {
+        handled.increment();
+        handleLatency.record(nanos);
+    }
+
+    /**
+     * Records the latency of a postHandle method.
+     *
+     * @param nanos the postHandle latency
+     */
+    public void recordPostHandle(final long nanos) {
+        postHandleLatency.record(nanos);
+    }
+
+    /**
+     * Marks the start of a wait for the application thread.
+     *
+     * @return the start time to pass to {@link #endFXWait(long)}
+     */
+    public long beginFXWait() {
+        final long start = System.nanoTime();
+        fxWaitSince = start;
+        return start;
+    }
+
+    /**
+     * Marks the end of a wait for the application thread and records the wait time.
+     *
+     * @param start the start time returned by {@link #beginFXWait()}
+     */
+    public void endFXWait(final long start) {
+        fxWaitSince = 0L;
+        fxWaitLatency.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Records that pending messages of a stateless component found all instances busy.
+     */
+    public void recordSaturation() {
+        saturated.increment();
+    }
+
+    /**
+     * @return the amount of handled messages
+     */
+    public long getHandledCount() {
+        return handled.sum();
+    }
+
+    /**
+     * Returns the handled messages per second, measured between two calls with at least one second distance.
+     * The first call returns the rate since the creation of the metrics.
+     *
+     * @return the messages per second
+     */
+    public synchronized double getHandledPerSecond() {
+        final long now = System.nanoTime();
+        final long elapsed = now - rateSampleTime;
+        if (rateSampled && elapsed < RATE_INTERVAL_NANOS) return rate;
+        final long count = handled.sum();
+        rate = elapsed <= 0 ? 0d : (count - rateSampleCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        rateSampleCount = count;
+        rateSampleTime = now;
+        rateSampled = true;
+        return rate;
+    }
+
+    /**
+     * @return how often pending messages of a stateless component found all instances busy
+     */
+    public long getSaturationCount() {
+        return saturated.sum();
+    }
+
+    public LatencyHistogram getHandleLatency() {
+        return handleLatency;
+    }
+
+    public LatencyHistogram getPostHandleLatency() {
+        return postHandleLatency;
+    }
+
+    public LatencyHistogram getFXWaitLatency() {
+        return fxWaitLatency;
+    }
+
+    /**
+     * @return the time in nanoseconds the current handle method is running, 0 if no message is handled
+     */
+    public long getHandleRunningNanos() {
+        final long since = handleSince;
+        return since == 0L ? 0L : System.nanoTime() - since;
+    }
+
+    /**
+     * @return the time in nanoseconds the worker is waiting for the application thread, 0 if not waiting
+     */
+    public long getFXWaitRunningNanos() {
+        final long since = fxWaitSince;
+        return since == 0L ? 0L : System.nanoTime() - since;
+    }
+
+    /**
+     * Resets all counters and histograms, e.g. before a measurement.
+     */
+    public synchronized void reset() {
+        handled.reset();
+        saturated.reset();
+        handleLatency.reset();
+        postHandleLatency.reset();
+        fxWaitLatency.reset();
+        rateSampleCount = 0;
+        rateSampleTime = System.nanoTime();
+        rate = 0d;
+        rateSampled = false;
+    }
+}
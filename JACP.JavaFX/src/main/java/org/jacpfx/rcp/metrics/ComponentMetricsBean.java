@@ -0,0 +1,175 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentMetricsBean.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.metrics;
+
+import javafx.event.Event;
+import org.jacpfx.api.component.ComponentHandle;
+import org.jacpfx.api.context.JacpContext;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
+import org.jacpfx.rcp.component.ASubComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MXBean of a registered component, all values are read from the component on request.
+ */
+final class ComponentMetricsBean implements ComponentMetricsMXBean {
+    private final ASubComponent component;
+    private final String id;
+    private final String perspectiveId;
+
+    ComponentMetricsBean(final ASubComponent component, final String perspectiveId, final String id) {
+        this.component = component;
+        this.perspectiveId = perspectiveId;
+        this.id = id;
+    }
+
+    ASubComponent getComponent() {
+        return component;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getPerspectiveId() {
+        return perspectiveId;
+    }
+
+    @Override
+    public String getComponentType() {
+        final ComponentHandle<?, Event, Object> handle = component.getComponent();
+        return handle != null ? handle.getClass().getName() : "";
+    }
+
+    @Override
+    public int getMailboxDepth() {
+        if (component instanceof AStatelessCallbackComponent) return ((AStatelessCallbackComponent) component).getPendingMessages().size();
+        return component.getMailboxDepth();
+    }
+
+    @Override
+    public long getHandledCount() {
+        return component.getMetrics().getHandledCount();
+    }
+
+    @Override
+    public double getHandledPerSecond() {
+        return component.getMetrics().getHandledPerSecond();
+    }
+
+    @Override
+    public LatencySnapshot getHandleLatency() {
+        return component.getMetrics().getHandleLatency().snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getPostHandleLatency() {
+        return component.getMetrics().getPostHandleLatency().snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getFXWaitLatency() {
+        return component.getMetrics().getFXWaitLatency().snapshot();
+    }
+
+    @Override
+    public int getInstanceCount() {
+        if (component instanceof AStatelessCallbackComponent) return ((AStatelessCallbackComponent) component).getInstances().size();
+        return 1;
+    }
+
+    @Override
+    public int getIdleInstanceCount() {
+        if (component instanceof AStatelessCallbackComponent) return ((AStatelessCallbackComponent) component).getIdleInstanceCount();
+        return 0;
+    }
+
+    @Override
+    public long getInstanceSaturationCount() {
+        return component.getMetrics().getSaturationCount();
+    }
+
+    @Override
+    public long getBlockedMillis() {
+        final ComponentMetrics metrics = component.getMetrics();
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(metrics.getHandleRunningNanos(), metrics.getFXWaitRunningNanos()));
+    }
+
+    @Override
+    public List<String> dumpMailbox() {
+        final List<Message<Event, Object>> messages = component instanceof AStatelessCallbackComponent ?
+                ((AStatelessCallbackComponent) component).getPendingMessages() : component.getMailboxSnapshot();
+        final long now = System.nanoTime();
+        final List<String> dump = new ArrayList<>(messages.size());
+        for (final Message<Event, Object> message : messages) {
+            dump.add(describe(message, now));
+        }
+        return dump;
+    }
+
+    @Override
+    public void resetMetrics() {
+        component.getMetrics().reset();
+    }
+
+    /**
+     * Describes the blocking state of the component.
+     *
+     * @param thresholdNanos the min blocking time
+     * @return the description or null if the component is not blocked
+     */
+    String describeBlocked(final long thresholdNanos) {
+        final ComponentMetrics metrics = component.getMetrics();
+        final long fxWait = metrics.getFXWaitRunningNanos();
+        if (fxWait > 0L && fxWait >= thresholdNanos) {
+            return qualifiedId() + " waits for the application thread since " + TimeUnit.NANOSECONDS.toMillis(fxWait) + " ms";
+        }
+        final long handle = metrics.getHandleRunningNanos();
+        if (handle > 0L && handle >= thresholdNanos) {
+            return qualifiedId() + " handles a message since " + TimeUnit.NANOSECONDS.toMillis(handle) + " ms";
+        }
+        return null;
+    }
+
+    private String qualifiedId() {
+        final JacpContext<?, ?> context = component.getContext();
+        return context != null && context.getFullyQualifiedId() != null ? context.getFullyQualifiedId() : perspectiveId + "." + id;
+    }
+
+    private static String describe(final Message<Event, Object> message, final long now) {
+        final Object body = message.getMessageBody();
+        final String target = message.getTopic() != null ? "topic " + message.getTopic() : message.getTargetId();
+        return message.getPriority() + " " + message.getSourceId() + " -> " + target
+                + " [" + (body != null ? body.getClass().getName() : "null") + ", queued "
+                + TimeUnit.NANOSECONDS.toMillis(now - message.getCreationTime()) + " ms]";
+    }
+}
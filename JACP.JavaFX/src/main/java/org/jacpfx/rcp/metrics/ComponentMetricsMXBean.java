@@ -0,0 +1,94 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [ComponentMetricsMXBean.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of the metrics of one component, registered as org.jacpfx:type=Component,perspective=&lt;perspective id&gt;,name=&lt;component id&gt;.
+ * Latencies are in nanoseconds.
+ */
+public interface ComponentMetricsMXBean {
+
+    String getId();
+
+    String getPerspectiveId();
+
+    /**
+     * @return the class name of the component handle
+     */
+    String getComponentType();
+
+    /**
+     * @return the amount of queued messages, for stateless components the messages waiting for an instance
+     */
+    int getMailboxDepth();
+
+    long getHandledCount();
+
+    double getHandledPerSecond();
+
+    LatencySnapshot getHandleLatency();
+
+    LatencySnapshot getPostHandleLatency();
+
+    /**
+     * @return the time a worker was blocked while waiting for the application thread
+     */
+    LatencySnapshot getFXWaitLatency();
+
+    /**
+     * @return the amount of instances of a stateless component, 1 for all other components
+     */
+    int getInstanceCount();
+
+    /**
+     * @return the amount of idle instances of a stateless component, 0 for all other components
+     */
+    int getIdleInstanceCount();
+
+    /**
+     * @return how often pending messages of a stateless component found all instances busy
+     */
+    long getInstanceSaturationCount();
+
+    /**
+     * @return the time in milliseconds the component is running its current handle method or waiting for the application thread, 0 if idle
+     */
+    long getBlockedMillis();
+
+    /**
+     * Lists the queued messages in the order they will be handled.
+     *
+     * @return a description of each queued message
+     */
+    List<String> dumpMailbox();
+
+    /**
+     * Resets the counters and histograms of the component.
+     */
+    void resetMetrics();
+}
@@ -0,0 +1,148 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [LatencyHistogram.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with fixed power of two buckets. The first bucket counts latencies below one microsecond (1024 ns), every following bucket
+ * doubles the upper bound, the last bucket counts everything above 2^40 ns. Each bucket is a striped counter, so concurrent recording never contends on one value.
+ */
+public final class LatencyHistogram {
+    /**
+     * the amount of buckets
+     */
+    public static final int BUCKETS = 32;
+    private static final int FIRST_BUCKET_SHIFT = 10;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the exclusive upper bound of a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound in nanoseconds, Long.MAX_VALUE for the last bucket
+     */
+    public static long getUpperBoundNanos(final int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + FIRST_BUCKET_SHIFT);
+    }
+
+    private static int bucketOf(final long nanos) {
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos >>> FIRST_BUCKET_SHIFT));
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are counted as 0
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        buckets[bucketOf(value)].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * @return the amount of recorded latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (final LongAdder bucket : buckets) count += bucket.sum();
+        return count;
+    }
+
+    /**
+     * @return the mean latency in nanoseconds
+     */
+    public long getMeanNanos() {
+        final long count = getCount();
+        return count == 0 ? 0L : totalNanos.sum() / count;
+    }
+
+    /**
+     * @return the max latency in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the upper bound of the bucket which contains the percentile, limited by the max latency.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the percentile latency in nanoseconds
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        final long[] counts = getBucketCounts();
+        long count = 0;
+        for (final long bucketCount : counts) count += bucketCount;
+        if (count == 0) return 0L;
+        final long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100d));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(getUpperBoundNanos(i), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return the amount of recorded latencies per bucket
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @return the current values of the histogram
+     */
+    public LatencySnapshot snapshot() {
+        return new LatencySnapshot(getCount(), getMeanNanos(), getPercentileNanos(50), getPercentileNanos(90), getPercentileNanos(99), getMaxNanos());
+    }
+
+    /**
+     * Resets all buckets, e.g. before a measurement.
+     */
+    public void reset() {
+        for (final LongAdder bucket : buckets) bucket.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
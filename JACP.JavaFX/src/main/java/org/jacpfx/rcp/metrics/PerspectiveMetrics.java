@@ -0,0 +1,263 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PerspectiveMetrics.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.metrics;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.context.JacpContext;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.message.MessageLaneMetrics;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.RegistryListener;
+import org.jacpfx.rcp.util.RuntimeSettings;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes the metrics of a perspective and its components as JMX MXBeans. The perspective bean shows the coordinator queue, every component of the perspective
+ * gets its own bean while it is registered in the {@link ComponentRegistry}. The message coordinator registers the beans when it starts and removes them when it stops.
+ * With jacpfx.metrics.jmx=false nothing is published, the components still collect their metrics.
+ */
+public final class PerspectiveMetrics implements PerspectiveMetricsMXBean {
+    /**
+     * the JMX domain of all JacpFX beans
+     */
+    public static final String DOMAIN = "org.jacpfx";
+    private static final Logger LOGGER = Logger.getLogger(PerspectiveMetrics.class.getName());
+    private static final boolean JMX_ENABLED = RuntimeSettings.getBoolean(RuntimeSettings.METRICS_JMX, true);
+    private final String id;
+    private final CoordinatorQueue queue;
+    private final Map<String, ComponentMetricsBean> components = new ConcurrentHashMap<>();
+    private final ComponentListener componentListener = new ComponentListener();
+    private volatile ObjectName name;
+
+    public PerspectiveMetrics(final String id, final CoordinatorQueue queue) {
+        this.id = id;
+        this.queue = queue;
+    }
+
+    /**
+     * Returns the name of a perspective bean.
+     *
+     * @param perspectiveId the perspective id
+     * @return the object name
+     * @throws MalformedObjectNameException if the name is invalid
+     */
+    public static ObjectName getPerspectiveName(final String perspectiveId) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=Perspective,name=" + quoteIfNeeded(perspectiveId));
+    }
+
+    /**
+     * Returns the name of a component bean.
+     *
+     * @param perspectiveId the perspective id
+     * @param componentId   the component id
+     * @return the object name
+     * @throws MalformedObjectNameException if the name is invalid
+     */
+    public static ObjectName getComponentName(final String perspectiveId, final String componentId) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=Component,perspective=" + quoteIfNeeded(perspectiveId) + ",name=" + quoteIfNeeded(componentId));
+    }
+
+    private static String quoteIfNeeded(final String value) {
+        final String nonNull = String.valueOf(value);
+        for (int i = 0; i < nonNull.length(); i++) {
+            if (",=:\"*?\n".indexOf(nonNull.charAt(i)) >= 0) return ObjectName.quote(nonNull);
+        }
+        return nonNull;
+    }
+
+    /**
+     * Publishes the perspective bean and the beans of all registered and future components of the perspective.
+     */
+    public void register() {
+        if (!JMX_ENABLED) return;
+        try {
+            final ObjectName perspectiveName = getPerspectiveName(id);
+            registerBean(perspectiveName, this);
+            this.name = perspectiveName;
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "metrics of perspective " + id + " not published", e);
+            return;
+        }
+        ComponentRegistry.addListener(componentListener);
+        ComponentRegistry.findComponentsByParentId(id).forEach(this::componentRegistered);
+    }
+
+    /**
+     * Removes the perspective bean and all component beans of the perspective.
+     */
+    public void unregister() {
+        final ObjectName perspectiveName = this.name;
+        if (perspectiveName == null) return;
+        ComponentRegistry.removeListener(componentListener);
+        new ArrayList<>(components.keySet()).forEach(componentId -> {
+            if (components.remove(componentId) != null) removeComponentBean(componentId);
+        });
+        unregisterBean(perspectiveName);
+        this.name = null;
+    }
+
+    private static MBeanServer server() {
+        return ManagementFactory.getPlatformMBeanServer();
+    }
+
+    private static void registerBean(final ObjectName objectName, final Object bean) throws JMException {
+        final MBeanServer server = server();
+        try {
+            server.registerMBean(bean, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            // a restarted perspective or component replaces the previous bean
+            unregisterBean(objectName);
+            server.registerMBean(bean, objectName);
+        }
+    }
+
+    private static void unregisterBean(final ObjectName objectName) {
+        try {
+            server().unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // already removed
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "bean " + objectName + " not removed", e);
+        }
+    }
+
+    private void componentRegistered(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        if (!(component instanceof ASubComponent)) return;
+        final JacpContext<EventHandler<Event>, Object> context = component.getContext();
+        if (context == null || !id.equals(context.getParentId())) return;
+        final ComponentMetricsBean bean = new ComponentMetricsBean((ASubComponent) component, id, context.getId());
+        try {
+            registerBean(getComponentName(id, context.getId()), bean);
+            components.put(context.getId(), bean);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "metrics of component " + context.getFullyQualifiedId() + " not published", e);
+        }
+    }
+
+    private void componentRemoved(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        for (final Map.Entry<String, ComponentMetricsBean> entry : components.entrySet()) {
+            // the bean may already be replaced by a new instance of the component
+            if (entry.getValue().getComponent() == component && components.remove(entry.getKey(), entry.getValue())) {
+                removeComponentBean(entry.getKey());
+            }
+        }
+    }
+
+    private void removeComponentBean(final String componentId) {
+        try {
+            unregisterBean(getComponentName(id, componentId));
+        } catch (MalformedObjectNameException e) {
+            LOGGER.log(Level.FINE, "bean of component " + componentId + " not removed", e);
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.getCapacity();
+    }
+
+    @Override
+    public long getRoutedCount() {
+        final MessageLaneMetrics metrics = queue.getLaneMetrics();
+        long count = 0;
+        for (final MessagePriority priority : MessagePriority.values()) count += metrics.getServedCount(priority);
+        return count;
+    }
+
+    @Override
+    public long getMaxQueueLatencyNanos() {
+        final MessageLaneMetrics metrics = queue.getLaneMetrics();
+        long max = 0;
+        for (final MessagePriority priority : MessagePriority.values()) max = Math.max(max, metrics.getMaxLatencyNanos(priority));
+        return max;
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return queue.getRejectedCount();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return queue.getDroppedCount();
+    }
+
+    @Override
+    public int getComponentCount() {
+        return components.size();
+    }
+
+    @Override
+    public List<String> listBlockedComponents(final long thresholdMillis) {
+        final long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, thresholdMillis));
+        final List<String> blocked = new ArrayList<>();
+        for (final ComponentMetricsBean bean : components.values()) {
+            final String description = bean.describeBlocked(thresholdNanos);
+            if (description != null) blocked.add(description);
+        }
+        return blocked;
+    }
+
+    private final class ComponentListener implements RegistryListener<SubComponent<EventHandler<Event>, Event, Object>> {
+        @Override
+        public void onRegister(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+            componentRegistered(instance);
+        }
+
+        @Override
+        public void onRemove(final SubComponent<EventHandler<Event>, Event, Object> instance) {
+            componentRemoved(instance);
+        }
+    }
+}
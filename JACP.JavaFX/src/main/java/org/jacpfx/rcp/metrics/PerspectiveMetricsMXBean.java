@@ -0,0 +1,70 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [PerspectiveMetricsMXBean.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of the message coordinator of a perspective, registered as org.jacpfx:type=Perspective,name=&lt;perspective id&gt;.
+ */
+public interface PerspectiveMetricsMXBean {
+
+    String getId();
+
+    /**
+     * @return the amount of messages waiting in the coordinator queue
+     */
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    /**
+     * @return the amount of messages taken from the coordinator queue
+     */
+    long getRoutedCount();
+
+    /**
+     * @return the max time in nanoseconds a message waited in the coordinator queue
+     */
+    long getMaxQueueLatencyNanos();
+
+    long getRejectedCount();
+
+    long getDroppedCount();
+
+    /**
+     * @return the amount of registered components of the perspective
+     */
+    int getComponentCount();
+
+    /**
+     * Lists the components which are running a handle method or wait for the application thread longer than the threshold.
+     *
+     * @param thresholdMillis the min blocking time in milliseconds
+     * @return a description of each blocked component
+     */
+    List<String> listBlockedComponents(long thresholdMillis);
+}
@@ -0,0 +1,52 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FlightPhase.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.recorder;
+
+/**
+ * The stages of a message recorded by the {@link FlightRecorder}.
+ */
+public enum FlightPhase {
+    /**
+     * the message was sent by a component, perspective or workbench
+     */
+    SEND,
+    /**
+     * the message was routed by the coordinator or delivered directly to the target mailbox
+     */
+    ROUTE,
+    /**
+     * a worker took the message from the mailbox and starts handling
+     */
+    RECEIVE,
+    /**
+     * the handle method of the target returned
+     */
+    HANDLE,
+    /**
+     * the postHandle method of the target returned on the application thread
+     */
+    POST_HANDLE
+}
@@ -0,0 +1,148 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FlightRecordAnalyzer.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.recorder;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reconstructs the latency per stage from a {@link FlightRecorder} dump. The records of a message are matched by its sequence number, the time between two
+ * recorded phases is accounted to the later phase, e.g. the RECEIVE latency is the time a message waited in the mailbox after routing. A message delivered to
+ * several components is tracked per receiver: the first phase of a receiver is matched with the last phase before the delivery, like the routing.
+ * Usage: java org.jacpfx.rcp.recorder.FlightRecordAnalyzer dumpFile
+ */
+public final class FlightRecordAnalyzer {
+    private static final int PHASES = FlightPhase.values().length;
+
+    /**
+     * The latency of all stages of one target.
+     */
+    public static final class TargetStats {
+        private final long[] count = new long[PHASES];
+        private final long[] total = new long[PHASES];
+        private final long[] max = new long[PHASES];
+
+        void add(final FlightPhase phase, final long latency) {
+            final int i = phase.ordinal();
+            count[i]++;
+            total[i] += latency;
+            max[i] = Math.max(max[i], latency);
+        }
+
+        /**
+         * @param phase the phase
+         * @return the amount of measured stage latencies
+         */
+        public long getCount(final FlightPhase phase) {
+            return count[phase.ordinal()];
+        }
+
+        /**
+         * @param phase the phase
+         * @return the mean latency of the stage before the phase in nanoseconds
+         */
+        public long getMeanNanos(final FlightPhase phase) {
+            final int i = phase.ordinal();
+            return count[i] == 0 ? 0L : total[i] / count[i];
+        }
+
+        /**
+         * @param phase the phase
+         * @return the max latency of the stage before the phase in nanoseconds
+         */
+        public long getMaxNanos(final FlightPhase phase) {
+            return max[phase.ordinal()];
+        }
+    }
+
+    private FlightRecordAnalyzer() {
+
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: FlightRecordAnalyzer <dump file>");
+            System.exit(1);
+        }
+        System.out.print(report(analyze(FlightRecording.read(Paths.get(args[0])))));
+    }
+
+    /**
+     * Computes the stage latencies per target.
+     *
+     * @param recording the recording
+     * @return the stats by target id
+     */
+    public static Map<String, TargetStats> analyze(final FlightRecording recording) {
+        final Map<String, TargetStats> stats = new TreeMap<>();
+        // the last recorded phase of every message before it was delivered, by sequence number
+        final Map<Long, Integer> delivery = new HashMap<>();
+        // the last recorded phase of every message in a receiving component, by sequence number and receiver
+        final Map<String, Integer> received = new HashMap<>();
+        for (int i = 0; i < recording.size(); i++) {
+            final long sequence = recording.getMessageKey(i);
+            // messages without sequence number can not be matched
+            if (sequence == 0L) continue;
+            final String target = String.valueOf(recording.getTargetId(i));
+            final String receiver = recording.getReceiverId(i);
+            final Integer previous;
+            if (receiver == null) {
+                previous = delivery.put(sequence, i);
+            } else {
+                final Integer last = received.put(sequence + "@" + receiver, i);
+                previous = last != null ? last : delivery.get(sequence);
+            }
+            if (previous == null) continue;
+            final long latency = recording.getTimestamp(i) - recording.getTimestamp(previous);
+            stats.computeIfAbsent(target, id -> new TargetStats()).add(recording.getPhase(i), latency);
+        }
+        return stats;
+    }
+
+    /**
+     * Formats the stage latencies as table in microseconds.
+     *
+     * @param stats the stats by target id
+     * @return the report
+     */
+    public static String report(final Map<String, TargetStats> stats) {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%-40s %-12s %10s %12s %12s%n", "target", "stage", "count", "mean(us)", "max(us)"));
+        stats.forEach((target, targetStats) -> {
+            for (final FlightPhase phase : FlightPhase.values()) {
+                final long count = targetStats.getCount(phase);
+                if (count == 0) continue;
+                report.append(String.format(Locale.ROOT, "%-40s %-12s %10d %12.1f %12.1f%n", target, phase, count,
+                        targetStats.getMeanNanos(phase) / 1000d, targetStats.getMaxNanos(phase) / 1000d));
+            }
+        });
+        return report.toString();
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FlightRecorder.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.recorder;
+
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCombination;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.util.RuntimeSettings;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Always-on recorder of the message flow. Every phase of a message (see {@link FlightPhase}) is stored as fixed-size primitive record in a preallocated ring buffer,
+ * the oldest records are overwritten. A record contains the time, the sequence number of the message which identifies the message in all phases, the interned source
+ * and target ids, the interned payload type, the phase and, for phases executed by a component, the interned id of the receiving component. A dump writes the records of the last seconds to a compact binary file, which is read by the
+ * {@link FlightRecordAnalyzer} to reconstruct the latency per stage.
+ */
+public final class FlightRecorder {
+    private static final Logger LOGGER = Logger.getLogger(FlightRecorder.class.getName());
+    private static final boolean ENABLED = RuntimeSettings.getBoolean(RuntimeSettings.RECORDER_ENABLED, true);
+    private static final int RECORD_SIZE = 5;
+    private static final int NO_SYMBOL = -1;
+
+    private final int mask;
+    private final AtomicLongArray data;
+    private final AtomicLongArray stamps;
+    private final AtomicLong next = new AtomicLong();
+    private final ConcurrentMap<String, Integer> symbols = new ConcurrentHashMap<>();
+    private final AtomicInteger symbolCount = new AtomicInteger();
+    private final ClassValue<Integer> payloadTypes = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return symbol(type.getName());
+        }
+    };
+
+    private static final class Holder {
+        private static final FlightRecorder RECORDER = new FlightRecorder(RuntimeSettings.getInt(RuntimeSettings.RECORDER_CAPACITY, 65536));
+    }
+
+    /**
+     * @param capacity the min amount of records, rounded up to a power of two
+     */
+    public FlightRecorder(final int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("recorder capacity must be positive: " + capacity);
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.data = new AtomicLongArray(size * RECORD_SIZE);
+        this.stamps = new AtomicLongArray(size);
+    }
+
+    /**
+     * @return the recorder of the application
+     */
+    public static FlightRecorder getInstance() {
+        return Holder.RECORDER;
+    }
+
+    /**
+     * Records a phase of a message in the recorder of the application.
+     *
+     * @param phase   the phase
+     * @param message the message
+     */
+    public static void record(final FlightPhase phase, final Message<?, ?> message) {
+        if (ENABLED) Holder.RECORDER.write(phase, message, null);
+    }
+
+    /**
+     * Records a phase of a message executed by a component in the recorder of the application. A message delivered to several components, like a topic message,
+     * is recorded once per receiver.
+     *
+     * @param phase      the phase
+     * @param message    the message
+     * @param receiverId the fully qualified id of the receiving component
+     */
+    public static void record(final FlightPhase phase, final Message<?, ?> message, final String receiverId) {
+        if (ENABLED) Holder.RECORDER.write(phase, message, receiverId);
+    }
+
+    /**
+     * Writes a record, never blocks.
+     *
+     * @param phase   the phase
+     * @param message the message
+     */
+    public void write(final FlightPhase phase, final Message<?, ?> message) {
+        write(phase, message, null);
+    }
+
+    /**
+     * Writes a record, never blocks.
+     *
+     * @param phase      the phase
+     * @param message    the message
+     * @param receiverId the id of the receiving component or null
+     */
+    public void write(final FlightPhase phase, final Message<?, ?> message, final String receiverId) {
+        final Object body = message.getMessageBody();
+        final long ids = (long) symbol(message.getSourceId()) << 32 | symbol(message.getTargetId()) & 0xFFFFFFFFL;
+        final long type = (long) phase.ordinal() << 32 | (body != null ? payloadTypes.get(body.getClass()) : NO_SYMBOL) & 0xFFFFFFFFL;
+        final long receiver = symbol(receiverId);
+        final long position = next.getAndIncrement();
+        final int index = (int) position & mask;
+        final int offset = index * RECORD_SIZE;
+        // a record is invalid while it is written, the ordered stores of the data can not move before the invalidation or after the release
+        stamps.set(index, 0L);
+        data.lazySet(offset, System.nanoTime());
+        data.lazySet(offset + 1, message.getSequence());
+        data.lazySet(offset + 2, ids);
+        data.lazySet(offset + 3, type);
+        data.lazySet(offset + 4, receiver);
+        stamps.lazySet(index, position + 1);
+    }
+
+    private int symbol(final String name) {
+        if (name == null) return NO_SYMBOL;
+        final Integer symbol = symbols.get(name);
+        if (symbol != null) return symbol;
+        return symbols.computeIfAbsent(name, key -> symbolCount.getAndIncrement());
+    }
+
+    /**
+     * @return the max amount of records
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the amount of all records written, including the overwritten ones
+     */
+    public long getRecordCount() {
+        return next.get();
+    }
+
+    /**
+     * Copies the records of a time window, records which are overwritten while copying are skipped.
+     *
+     * @param window the time window
+     * @param unit   the unit of the time window
+     * @return the recording in write order
+     */
+    public FlightRecording snapshot(final long window, final TimeUnit unit) {
+        final long now = System.nanoTime();
+        final long from = now - unit.toNanos(window);
+        final long end = next.get();
+        final long start = Math.max(0L, end - getCapacity());
+        final int max = (int) (end - start);
+        final long[] timestamps = new long[max];
+        final long[] keys = new long[max];
+        final long[] ids = new long[max];
+        final long[] types = new long[max];
+        final int[] receivers = new int[max];
+        int count = 0;
+        for (long position = start; position < end; position++) {
+            final int index = (int) position & mask;
+            final int offset = index * RECORD_SIZE;
+            if (stamps.get(index) != position + 1) continue;
+            // volatile reads, the second stamp read can not move before the data reads, so a record overwritten while copying is detected
+            final long timestamp = data.get(offset);
+            final long key = data.get(offset + 1);
+            final long id = data.get(offset + 2);
+            final long type = data.get(offset + 3);
+            final long receiver = data.get(offset + 4);
+            if (stamps.get(index) != position + 1 || timestamp - from < 0) continue;
+            timestamps[count] = timestamp;
+            keys[count] = key;
+            ids[count] = id;
+            types[count] = type;
+            receivers[count] = (int) receiver;
+            count++;
+        }
+        final String[] names = new String[symbolCount.get()];
+        symbols.forEach((name, symbol) -> {
+            if (symbol < names.length) names[symbol] = name;
+        });
+        return new FlightRecording(now, System.currentTimeMillis(), names, count, timestamps, keys, ids, types, receivers);
+    }
+
+    /**
+     * Writes the records of the configured time window (jacpfx.recorder.window, default 60 seconds) to a file.
+     *
+     * @param file the target file
+     * @throws IOException when the file could not be written
+     */
+    public void dump(final Path file) throws IOException {
+        final FlightRecording recording = snapshot(RuntimeSettings.getLong(RuntimeSettings.RECORDER_WINDOW, 60L), TimeUnit.SECONDS);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            recording.write(out);
+        }
+    }
+
+    /**
+     * Writes a dump to the configured directory (jacpfx.recorder.directory, default java.io.tmpdir).
+     *
+     * @return the written file
+     * @throws IOException when the file could not be written
+     */
+    public Path dump() throws IOException {
+        final String directory = System.getProperty(RuntimeSettings.PREFIX.concat(RuntimeSettings.RECORDER_DIRECTORY), System.getProperty("java.io.tmpdir"));
+        final Path file = Paths.get(directory, "jacpfx-flight-" + System.currentTimeMillis() + ".bin");
+        dump(file);
+        return file;
+    }
+
+    /**
+     * Registers the dump hotkey (jacpfx.recorder.hotkey) in the scene, the dump is written by a separate thread.
+     *
+     * @param scene the scene of the workbench
+     */
+    public static void registerHotkey(final Scene scene) {
+        final String hotkey = System.getProperty(RuntimeSettings.PREFIX.concat(RuntimeSettings.RECORDER_HOTKEY));
+        if (!ENABLED || hotkey == null || scene == null) return;
+        try {
+            scene.getAccelerators().put(KeyCombination.keyCombination(hotkey.trim()), () -> {
+                final Thread dumper = new Thread(() -> {
+                    try {
+                        LOGGER.info("flight recorder dump written to: " + getInstance().dump());
+                    } catch (IOException e) {
+                        LOGGER.log(Level.WARNING, "flight recorder dump failed", e);
+                    }
+                }, "FlightRecorderDump");
+                dumper.setDaemon(true);
+                dumper.start();
+            });
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "invalid flight recorder hotkey: " + hotkey, e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FlightRecording.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.recorder;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The records of a {@link FlightRecorder} dump. The binary format is: magic, version, dump time in nanoseconds and epoch milliseconds, the symbol table of ids and
+ * payload types followed by the records, each with time, message key, source, target, phase, payload type and receiver.
+ */
+public final class FlightRecording {
+    private static final int MAGIC = 0x4A504652;
+    private static final short VERSION = 2;
+    private static final FlightPhase[] PHASES = FlightPhase.values();
+
+    private final long dumpNanoTime;
+    private final long dumpEpochMillis;
+    private final String[] symbols;
+    private final int size;
+    private final long[] timestamps;
+    private final long[] keys;
+    private final long[] ids;
+    private final long[] types;
+    private final int[] receivers;
+
+    FlightRecording(final long dumpNanoTime, final long dumpEpochMillis, final String[] symbols, final int size,
+                    final long[] timestamps, final long[] keys, final long[] ids, final long[] types, final int[] receivers) {
+        this.dumpNanoTime = dumpNanoTime;
+        this.dumpEpochMillis = dumpEpochMillis;
+        this.symbols = symbols;
+        this.size = size;
+        this.timestamps = timestamps;
+        this.keys = keys;
+        this.ids = ids;
+        this.types = types;
+        this.receivers = receivers;
+    }
+
+    /**
+     * Reads a dump file.
+     *
+     * @param file the dump file
+     * @return the recording
+     * @throws IOException when the file is no valid dump
+     */
+    public static FlightRecording read(final Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a dump.
+     *
+     * @param input the dump stream
+     * @return the recording
+     * @throws IOException when the stream contains no valid dump
+     */
+    public static FlightRecording read(final InputStream input) throws IOException {
+        final DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) throw new IOException("no flight recorder dump");
+        final short version = in.readShort();
+        if (version != VERSION) throw new IOException("unsupported flight recorder dump version: " + version);
+        final long dumpNanoTime = in.readLong();
+        final long dumpEpochMillis = in.readLong();
+        final String[] symbols = new String[in.readInt()];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        final int size = in.readInt();
+        final long[] timestamps = new long[size];
+        final long[] keys = new long[size];
+        final long[] ids = new long[size];
+        final long[] types = new long[size];
+        final int[] receivers = new int[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = in.readLong();
+            keys[i] = in.readLong();
+            ids[i] = in.readLong();
+            types[i] = in.readLong();
+            receivers[i] = in.readInt();
+        }
+        return new FlightRecording(dumpNanoTime, dumpEpochMillis, symbols, size, timestamps, keys, ids, types, receivers);
+    }
+
+    /**
+     * Writes the recording in the dump format.
+     *
+     * @param output the target stream
+     * @throws IOException when writing fails
+     */
+    public void write(final OutputStream output) throws IOException {
+        final DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(dumpNanoTime);
+        out.writeLong(dumpEpochMillis);
+        out.writeInt(symbols.length);
+        for (final String symbol : symbols) {
+            out.writeBoolean(symbol != null);
+            if (symbol != null) out.writeUTF(symbol);
+        }
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(timestamps[i]);
+            out.writeLong(keys[i]);
+            out.writeLong(ids[i]);
+            out.writeLong(types[i]);
+            out.writeInt(receivers[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * @return the amount of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index the record index
+     * @return the time of the record in nanoseconds of {@link System#nanoTime()} of the recording process
+     */
+    public long getTimestamp(final int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * @param index the record index
+     * @return the wall clock time of the record in epoch milliseconds
+     */
+    public long getEpochMillis(final int index) {
+        return dumpEpochMillis - (dumpNanoTime - timestamps[index]) / 1_000_000L;
+    }
+
+    /**
+     * @param index the record index
+     * @return the sequence number of the message, equal for all records of one message instance (see {@link org.jacpfx.api.message.Message#getSequence()})
+     */
+    public long getMessageKey(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param index the record index
+     * @return the source id
+     */
+    public String getSourceId(final int index) {
+        return symbol((int) (ids[index] >> 32));
+    }
+
+    /**
+     * @param index the record index
+     * @return the target id
+     */
+    public String getTargetId(final int index) {
+        return symbol((int) ids[index]);
+    }
+
+    /**
+     * @param index the record index
+     * @return the id of the receiving component, or null for phases which are not executed by a component
+     */
+    public String getReceiverId(final int index) {
+        return symbol(receivers[index]);
+    }
+
+    /**
+     * @param index the record index
+     * @return the phase
+     */
+    public FlightPhase getPhase(final int index) {
+        return PHASES[(int) (types[index] >> 32)];
+    }
+
+    /**
+     * @param index the record index
+     * @return the class name of the payload
+     */
+    public String getPayloadType(final int index) {
+        return symbol((int) types[index]);
+    }
+
+    private String symbol(final int symbol) {
+        return symbol >= 0 && symbol < symbols.length ? symbols[symbol] : null;
+    }
+}
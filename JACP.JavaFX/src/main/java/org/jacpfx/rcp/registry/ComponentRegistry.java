@@ -27,12 +27,13 @@ package org.jacpfx.rcp.registry;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import org.jacpfx.api.component.SubComponent;
-import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.api.message.ComponentAddress;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -41,7 +42,8 @@ import java.util.stream.Collectors;
  * @author Andy Moncsek
  */
 public class ComponentRegistry {
-    private static final Map<String, SubComponent<EventHandler<Event>, Event, Object>> componentsReg = new ConcurrentHashMap<>();
+    private static final Map<ComponentAddress, SubComponent<EventHandler<Event>, Event, Object>> componentsReg = new ConcurrentHashMap<>();
+    private static final List<RegistryListener<SubComponent<EventHandler<Event>, Event, Object>>> listeners = new CopyOnWriteArrayList<>();
 
 
     /**
@@ -49,6 +51,25 @@ public class ComponentRegistry {
      */
     public static void clearOnShutdown() {
         componentsReg.clear();
+        listeners.clear();
+    }
+
+    /**
+     * Adds a listener which will be notified when a component was registered or removed.
+     *
+     * @param listener the listener to add
+     */
+    public static void addListener(final RegistryListener<SubComponent<EventHandler<Event>, Event, Object>> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a registry listener.
+     *
+     * @param listener the listener to remove
+     */
+    public static void removeListener(final RegistryListener<SubComponent<EventHandler<Event>, Event, Object>> listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -59,7 +80,10 @@ public class ComponentRegistry {
     public static void registerComponent(
             final SubComponent<EventHandler<Event>, Event, Object> component) {
         Objects.requireNonNull(component.getContext());
-        componentsReg.putIfAbsent(component.getContext().getFullyQualifiedId(), component);
+        if (componentsReg.putIfAbsent(component.getContext().getComponentAddress(), component) == null) {
+            TopicRegistry.subscribe(component);
+            listeners.forEach(listener -> listener.onRegister(component));
+        }
     }
 
     /**
@@ -70,7 +94,11 @@ public class ComponentRegistry {
     public static void removeComponent(
             final SubComponent<EventHandler<Event>, Event, Object> component) {
         Objects.requireNonNull(component.getContext());
-        componentsReg.remove(component.getContext().getFullyQualifiedId());
+        final SubComponent<EventHandler<Event>, Event, Object> removed = componentsReg.remove(component.getContext().getComponentAddress());
+        if (removed != null) {
+            TopicRegistry.unsubscribe(removed);
+            listeners.forEach(listener -> listener.onRemove(removed));
+        }
     }
 
 
@@ -97,8 +125,19 @@ public class ComponentRegistry {
      */
     public static SubComponent<EventHandler<Event>, Event, Object> findComponentByQualifiedId(
             final String targetId) {
-        return componentsReg.get(targetId);
+        return findComponentByAddress(ComponentAddress.lookup(targetId));
+
+    }
 
+    /**
+     * Find a component by its address
+     *
+     * @param address the qualified component address
+     * @return The @see{SubComponent}
+     */
+    public static SubComponent<EventHandler<Event>, Event, Object> findComponentByAddress(
+            final ComponentAddress address) {
+        return componentsReg.get(address);
     }
 
     /**
@@ -111,7 +150,7 @@ public class ComponentRegistry {
     public static SubComponent<EventHandler<Event>, Event, Object> findComponentByQualifiedId(
             final String parentId, final String componentId) {
 
-        return findComponentByQualifiedId(FXUtil.getQualifiedComponentId(parentId,componentId));
+        return findComponentByAddress(ComponentAddress.lookup(parentId, componentId));
 
     }
 
@@ -33,6 +33,7 @@ import org.jacpfx.rcp.util.FXUtil;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collector;
 
@@ -45,6 +46,7 @@ import java.util.stream.Collector;
  */
 public class PerspectiveRegistry {
     private static final Map<String, Perspective<Node, EventHandler<Event>, Event, Object>> perspectiveReg = new ConcurrentHashMap<>();
+    private static final List<RegistryListener<Perspective<Node, EventHandler<Event>, Event, Object>>> listeners = new CopyOnWriteArrayList<>();
     private static final AtomicReference<String> currentVisiblePerspectiveId = new AtomicReference<>();
     private static final Collector<Perspective<Node, EventHandler<Event>, Event, Object>, ?, TreeSet<Perspective<Node, EventHandler<Event>, Event, Object>>> collector = Collector.of(TreeSet::new, TreeSet::add,
             (left, right) -> {
@@ -62,7 +64,25 @@ public class PerspectiveRegistry {
      */
     public static void clearOnShutdown() {
         perspectiveReg.clear();
-        ;
+        listeners.clear();
+    }
+
+    /**
+     * Adds a listener which will be notified when a perspective was registered or removed.
+     *
+     * @param listener the listener to add
+     */
+    public static void addListener(final RegistryListener<Perspective<Node, EventHandler<Event>, Event, Object>> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a registry listener.
+     *
+     * @param listener the listener to remove
+     */
+    public static void removeListener(final RegistryListener<Perspective<Node, EventHandler<Event>, Event, Object>> listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -95,7 +115,9 @@ public class PerspectiveRegistry {
     public static void registerPerspective(
             final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         Objects.requireNonNull(perspective.getContext());
-        perspectiveReg.putIfAbsent(perspective.getContext().getId(), perspective);
+        if (perspectiveReg.putIfAbsent(perspective.getContext().getId(), perspective) == null) {
+            listeners.forEach(listener -> listener.onRegister(perspective));
+        }
     }
 
     /**
@@ -106,7 +128,10 @@ public class PerspectiveRegistry {
     public static void removePerspective(
             final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         Objects.requireNonNull(perspective.getContext());
-        perspectiveReg.remove(perspective.getContext().getId());
+        final Perspective<Node, EventHandler<Event>, Event, Object> removed = perspectiveReg.remove(perspective.getContext().getId());
+        if (removed != null) {
+            listeners.forEach(listener -> listener.onRemove(removed));
+        }
     }
 
     /**
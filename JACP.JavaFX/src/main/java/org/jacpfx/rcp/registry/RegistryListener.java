@@ -0,0 +1,48 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RegistryListener.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.registry;
+
+/**
+ * Callback interface to observe changes in the global registries. Listeners are notified after an instance was added to, or removed from the registry.
+ *
+ * @param <T> the type of registered instance
+ */
+public interface RegistryListener<T> {
+
+    /**
+     * Called after an instance was added to the registry.
+     *
+     * @param instance the registered instance
+     */
+    void onRegister(final T instance);
+
+    /**
+     * Called after an instance was removed from the registry.
+     *
+     * @param instance the removed instance
+     */
+    void onRemove(final T instance);
+}
@@ -0,0 +1,108 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [TopicRegistry.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.registry;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.annotations.component.DeclarativeView;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.api.component.ComponentHandle;
+import org.jacpfx.api.component.SubComponent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Global registry of topic subscriptions. Active components are subscribed to the topics declared in their component annotation while they are registered in the {@link ComponentRegistry}.
+ */
+public class TopicRegistry {
+    private static final String[] NO_TOPICS = new String[0];
+    private static final Map<String, CopyOnWriteArrayList<SubComponent<EventHandler<Event>, Event, Object>>> subscribers = new ConcurrentHashMap<>();
+    private static final ClassValue<String[]> topics = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(final Class<?> type) {
+            return readTopics(type);
+        }
+    };
+
+    /**
+     * clears registry on application shutdown
+     */
+    public static void clearOnShutdown() {
+        subscribers.clear();
+    }
+
+    /**
+     * Subscribes a component to all topics of its annotation.
+     *
+     * @param component the component to subscribe
+     */
+    public static void subscribe(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        for (final String topic : getTopics(component)) {
+            subscribers.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).addIfAbsent(component);
+        }
+    }
+
+    /**
+     * Removes all subscriptions of a component.
+     *
+     * @param component the component to unsubscribe
+     */
+    public static void unsubscribe(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        for (final String topic : getTopics(component)) {
+            final List<SubComponent<EventHandler<Event>, Event, Object>> topicSubscribers = subscribers.get(topic);
+            if (topicSubscribers != null) topicSubscribers.remove(component);
+        }
+    }
+
+    /**
+     * Returns all active subscribers of a topic.
+     *
+     * @param topic the topic
+     * @return an unmodifiable list of @see {SubComponent}
+     */
+    public static List<SubComponent<EventHandler<Event>, Event, Object>> findSubscribers(final String topic) {
+        final List<SubComponent<EventHandler<Event>, Event, Object>> topicSubscribers = subscribers.get(topic);
+        return topicSubscribers != null ? Collections.unmodifiableList(topicSubscribers) : Collections.emptyList();
+    }
+
+    private static String[] getTopics(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        final ComponentHandle<?, Event, Object> handle = component.getComponent();
+        return handle != null ? topics.get(handle.getClass()) : NO_TOPICS;
+    }
+
+    private static String[] readTopics(final Class<?> type) {
+        if (type.isAnnotationPresent(Component.class)) return type.getAnnotation(Component.class).topics();
+        if (type.isAnnotationPresent(View.class)) return type.getAnnotation(View.class).topics();
+        if (type.isAnnotationPresent(DeclarativeView.class)) return type.getAnnotation(DeclarativeView.class).topics();
+        return NO_TOPICS;
+    }
+}
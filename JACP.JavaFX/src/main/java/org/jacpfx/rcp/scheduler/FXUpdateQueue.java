@@ -0,0 +1,152 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [FXUpdateQueue.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.scheduler;
+
+import javafx.application.Platform;
+import org.jacpfx.concurrency.FXWorker;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Collects the UI updates (postHandle and @OnMessage executions) of all components and executes them in batches on the FX application thread.
+ * Only one Platform.runLater is pending at a time, all updates submitted until it runs are executed in submission order within the same run,
+ * so the updates of one component keep their order.
+ */
+public final class FXUpdateQueue {
+
+    private static final Queue<Update> updates = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger size = new AtomicInteger(0);
+    private static final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private FXUpdateQueue() {
+
+    }
+
+    /**
+     * Submits a runnable to the next UI update batch and waits until it was executed.
+     *
+     * @param runnable the UI update
+     * @throws InterruptedException when thread was interrupted on shutdown
+     * @throws ExecutionException   when an exception was thrown in the update
+     */
+    public static void invokeAndWait(final Runnable runnable) throws InterruptedException, ExecutionException {
+        if (Platform.isFxApplicationThread()) {
+            runDirect(runnable);
+            return;
+        }
+        submit(runnable).await();
+    }
+
+    /**
+     * Submits a runnable to the next UI update batch.
+     *
+     * @param runnable the UI update
+     * @return the handle of the pending update
+     */
+    public static Update submit(final Runnable runnable) {
+        final Update update = new Update(runnable);
+        updates.add(update);
+        size.incrementAndGet();
+        if (scheduled.compareAndSet(false, true)) Platform.runLater(FXUpdateQueue::drain);
+        return update;
+    }
+
+    private static void runDirect(final Runnable runnable) throws ExecutionException {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * Executes all updates submitted before this batch started, later updates already scheduled the next batch.
+     */
+    private static void drain() {
+        scheduled.set(false);
+        for (int remaining = size.get(); remaining > 0; remaining--) {
+            final Update update = updates.poll();
+            if (update == null) return;
+            size.decrementAndGet();
+            update.run();
+        }
+    }
+
+    /**
+     * A pending UI update.
+     */
+    public static final class Update {
+        private final Runnable runnable;
+        private final Thread waiter = Thread.currentThread();
+        private volatile boolean done;
+        private volatile Exception error;
+
+        private Update(final Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        private void run() {
+            try {
+                // prevent execution when application is closed
+                if (FXWorker.APPLICATION_RUNNING.get()) runnable.run();
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                done = true;
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        /**
+         * @return true if the update was executed
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Waits until the update was executed, only the submitting thread may wait.
+         *
+         * @throws InterruptedException when thread was interrupted on shutdown
+         * @throws ExecutionException   when an exception was thrown in the update
+         */
+        public void await() throws InterruptedException, ExecutionException {
+            // check if application is still running to prevent wait
+            while (!done && FXWorker.APPLICATION_RUNNING.get()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(FXWorker.WAIT.get()));
+                if (Thread.interrupted()) throw new InterruptedException();
+            }
+            final Exception e = error;
+            if (e != null) throw new ExecutionException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MailboxScheduler.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.scheduler;
+
+import org.jacpfx.concurrency.VirtualThreads;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.util.HandlerThreadFactory;
+import org.jacpfx.rcp.util.RuntimeSettings;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules the mailboxes of stateful components on a shared executor. A mailbox is only scheduled when it contains messages, each run handles at most
+ * {@link #getQuantum()} messages before the mailbox is rescheduled at the end of the queue, so one busy component can not starve the others.
+ * In virtual thread mode (see {@link VirtualThreads}) each mailbox run is executed in a new virtual thread instead of the shared pool.
+ */
+public final class MailboxScheduler {
+    /**
+     * the amount of messages a component handles before other components get a chance to run
+     */
+    public static final String QUANTUM = "mailbox.quantum";
+    /**
+     * the parallelism of the shared mailbox pool
+     */
+    public static final String PARALLELISM = "mailbox.parallelism";
+
+    private static final String NAME = "mailbox:";
+    private static final AtomicInteger counter = new AtomicInteger(0);
+    private static final int quantum = Math.max(1, RuntimeSettings.getInt(QUANTUM, 16));
+    private static final ThreadLocal<Boolean> managed = new ThreadLocal<>();
+    private static volatile ExecutorService executor;
+
+    private MailboxScheduler() {
+
+    }
+
+    /**
+     * Schedules a mailbox run.
+     *
+     * @param mailbox the mailbox task
+     * @return false if the scheduler was shut down
+     */
+    public static boolean execute(final Runnable mailbox) {
+        try {
+            getExecutor().execute(mailbox);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // this can happen on application shutdown
+            return false;
+        }
+    }
+
+    /**
+     * Returns the max amount of messages handled in one mailbox run.
+     *
+     * @return the fairness quantum
+     */
+    public static int getQuantum() {
+        return quantum;
+    }
+
+    /**
+     * Runs a blocking action, like a round trip to the FX application thread or a blocking I/O call of a handler, from a mailbox. The pool compensates the blocked thread if needed,
+     * so blocking handlers can not starve the other mailboxes. Message handlers are not compensated by default, a handler which blocks must wrap the blocking call.
+     * Waiting for a request reply with {@link java.util.concurrent.CompletableFuture#get()} or {@link java.util.concurrent.CompletableFuture#join()} is compensated by the pool itself.
+     * Nested calls run the action directly, the thread is already compensated.
+     *
+     * @param action the blocking action
+     * @param <E>    the exception type of the action
+     * @throws InterruptedException when interrupted while waiting
+     * @throws E                    when the action failed
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> void managedBlock(final BlockingAction<E> action) throws InterruptedException, E {
+        if (!(Thread.currentThread() instanceof ForkJoinWorkerThread) || managed.get() != null) {
+            action.run();
+            return;
+        }
+        final Blocker blocker = new Blocker(action);
+        ForkJoinPool.managedBlock(blocker);
+        if (blocker.error != null) throw (E) blocker.error;
+    }
+
+    private static ExecutorService getExecutor() {
+        final ExecutorService current = executor;
+        if (current != null && !current.isShutdown()) return current;
+        synchronized (MailboxScheduler.class) {
+            if (executor == null || executor.isShutdown()) {
+                executor = createExecutor();
+                ShutdownThreadsHandler.registerExecutor(executor);
+            }
+            return executor;
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        if (VirtualThreads.isEnabled()) {
+            // every mailbox run gets its own virtual thread, blocking handlers do not occupy pool threads
+            return VirtualThreads.newThreadPerTaskExecutor(new HandlerThreadFactory(NAME, true));
+        }
+        final int parallelism = Math.max(1, RuntimeSettings.getInt(PARALLELISM, Runtime.getRuntime().availableProcessors()));
+        return new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(HandlerThreadFactory.PREFIX.concat(NAME).concat(Integer.toString(counter.incrementAndGet())));
+            thread.setDaemon(true);
+            return thread;
+        }, (thread, throwable) -> ExceptionHandler.getInstance().uncaughtException(thread, throwable), true);
+    }
+
+    /**
+     * A blocking action executed by a mailbox.
+     *
+     * @param <E> the exception type of the action
+     */
+    @FunctionalInterface
+    public interface BlockingAction<E extends Exception> {
+        /**
+         * execute the action
+         *
+         * @throws InterruptedException when interrupted while waiting
+         * @throws E                    when the action failed
+         */
+        void run() throws InterruptedException, E;
+    }
+
+    private static final class Blocker implements ForkJoinPool.ManagedBlocker {
+        private final BlockingAction<?> action;
+        private Exception error;
+        private boolean done;
+
+        private Blocker(final BlockingAction<?> action) {
+            this.action = action;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            managed.set(Boolean.TRUE);
+            try {
+                action.run();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                managed.remove();
+                done = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RequestTimeoutScheduler.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+
+package org.jacpfx.rcp.scheduler;
+
+import org.jacpfx.rcp.util.HandlerThreadFactory;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Completes pending requests exceptionally when their timeout expires. All timeouts are handled by one shared daemon thread, a timeout is removed as soon as its request completes.
+ */
+public final class RequestTimeoutScheduler {
+
+    private static final String NAME = "requestTimeout:";
+    private static ScheduledThreadPoolExecutor executor;
+
+    private RequestTimeoutScheduler() {
+
+    }
+
+    /**
+     * Completes the request with a {@link TimeoutException} if it is not completed within the timeout.
+     *
+     * @param request the pending request
+     * @param timeout the max time to wait
+     * @param unit    the unit of the timeout
+     * @param <R>     the reply type
+     * @return the request
+     */
+    public static <R> CompletableFuture<R> orTimeout(final CompletableFuture<R> request, final long timeout, final TimeUnit unit) {
+        if (request.isDone()) return request;
+        final ScheduledFuture<?> task = getExecutor().schedule(() -> request.completeExceptionally(new TimeoutException("no reply within " + timeout + " " + unit)), timeout, unit);
+        request.whenComplete((reply, error) -> task.cancel(false));
+        return request;
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            executor = createExecutor();
+            ShutdownThreadsHandler.registerExecutor(executor);
+        }
+        return executor;
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        final HandlerThreadFactory factory = new HandlerThreadFactory(NAME);
+        final ScheduledThreadPoolExecutor timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = factory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        timeouts.setRemoveOnCancelPolicy(true);
+        return timeouts;
+    }
+}
@@ -35,20 +35,19 @@ import org.jacpfx.api.scheduler.StatelessComponentScheduler;
 import org.jacpfx.rcp.component.AStatelessCallbackComponent;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.worker.StateLessComponentRunWorker;
 
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
+/**
+ * Schedules messages to stateless components. Messages are queued per component and handled by idle instances, checkout of an idle instance is lock free.
+ * A new instance is created when messages are queued and no idle instance is available, until the max instance count is reached. Instances idle longer than the
+ * idle timeout are removed (down to the min instance count) by a timer sweep. All instances are executed in the shared {@link StatelessWorkerPool}.
+ */
 public class StatelessComponentSchedulerImpl implements
         StatelessComponentScheduler<EventHandler<Event>, Event, Object> {
 
     private final Launcher<?> launcher;
 
-    private static final ReadWriteLock lock = new ReentrantReadWriteLock();
-
 
     public StatelessComponentSchedulerImpl(final Launcher<?> launcher) {
         this.launcher = launcher;
@@ -61,131 +60,115 @@ public class StatelessComponentSchedulerImpl implements
     public final void incomingMessage(
             final Message<Event, Object> message,
             final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent) {
-        // TODO avoid locking of whole code block
-
-        // get active instance
-        final SubComponent<EventHandler<Event>, Event, Object> comp = getActiveComponent(baseComponent);
-        final List<SubComponent<EventHandler<Event>, Event, Object>> componentInstances = baseComponent
-                .getInstances();
-        final int currentSize = componentInstances.size();
-        if (comp != null) {
-            if (currentSize < AStatelessCallbackComponent.MAX_INCTANCE_COUNT) {
-                // create new instance as buffer
-                ComponentHandle<?, Event, Object> handle = baseComponent.getComponent();
-                componentInstances.add(getCloneBean(baseComponent,handle.getClass()));
-            } // End inner if
-            // run component in thread
-            instanceRun(baseComponent, comp, message);
-        } // End if
-        else {
-            // check if new instances can be created
-            if (currentSize < AStatelessCallbackComponent.MAX_INCTANCE_COUNT) {
-                createInstanceAndRun(baseComponent, message);
-            } // End if
-            else {
-                seekAndPutMessage(baseComponent, message);
-            } // End else
-        } // End else
-
+        final AStatelessCallbackComponent component = AStatelessCallbackComponent.class.cast(baseComponent);
+        component.putPendingMessage(message);
+        dispatch(component);
     }
 
     /**
-     * block component, put message to component's queue and run in thread
+     * Hands pending messages to idle or new instances. When all instances are busy the messages stay queued, a running instance takes them
+     * before it gets idle and dispatches again afterwards, so no message is left behind.
      *
      * @param baseComponent, the parent component
-     * @param comp,          the child component
-     * @param message,       the message
      */
-    private void instanceRun(
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent,
-            final SubComponent<EventHandler<Event>, Event, Object> comp,
-            final Message<Event, Object> message) {
-        comp.putIncomingMessage(message);
-        // TODO switch to embedded worker!!
-        baseComponent.getExecutorService().submit(new StateLessComponentRunWorker(
-                comp, baseComponent));
+    public final void dispatch(final AStatelessCallbackComponent baseComponent) {
+        while (baseComponent.hasPendingMessages()) {
+            final SubComponent<EventHandler<Event>, Event, Object> comp = checkoutInstance(baseComponent);
+            if (comp == null) {
+                // all instances are busy, a running instance takes the pending messages
+                baseComponent.getMetrics().recordSaturation();
+                return;
+            }
+            final Message<Event, Object> message = baseComponent.pollPendingMessage();
+            if (message == null) {
+                baseComponent.returnInstance(comp);
+                continue;
+            }
+            instanceRun(baseComponent, comp, message);
+        }
     }
 
     /**
-     * if max thread count is not reached and all available component instances
-     * are blocked create a new one, block it an run in thread
+     * Returns an instance after a run, removes expired idle instances and dispatches messages queued in the meantime.
      *
      * @param baseComponent, the parent component
-     * @param message,       the current message
+     * @param comp,          the child component
      */
-    private void createInstanceAndRun(
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent,
-            final Message<Event, Object> message) {
-        ComponentHandle<?, Event, Object> handle = baseComponent.getComponent();
-        lock.writeLock().lock();
-        try {
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> comp = this
-                    .getCloneBean(baseComponent,
-                            handle.getClass());
-            baseComponent.getInstances().add(comp);
-            instanceRun(baseComponent, comp, message);
-        } finally {
-            lock.writeLock().unlock();
+    public final void instanceDone(final AStatelessCallbackComponent baseComponent,
+                                   final SubComponent<EventHandler<Event>, Event, Object> comp) {
+        baseComponent.returnInstance(comp);
+        removeExpiredInstances(baseComponent);
+        scheduleSweep(baseComponent);
+        dispatch(baseComponent);
+    }
+
+    private void removeExpiredInstances(final AStatelessCallbackComponent baseComponent) {
+        SubComponent<EventHandler<Event>, Event, Object> expired;
+        while ((expired = baseComponent.removeExpiredInstance()) != null) {
+            if (expired.isStarted()) TearDownHandler.executePredestroy(expired);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
     /**
-     * {@inheritDoc }
+     * Schedules the removal of the longest idle instance when it expires, so a component shrinks after idle even when it receives no further messages.
+     * At most one sweep per component is scheduled, each sweep schedules the next one while removable instances exist.
+     *
+     * @param baseComponent, the parent component
      */
-    public final <T extends StatelessCallabackComponent<EventHandler<Event>, Event, Object>, H extends ComponentHandle> StatelessCallabackComponent<EventHandler<Event>, Event, Object> getCloneBean(
-            final T baseComponent,
-            final Class<H> clazz) {
-        final AStatelessCallbackComponent component = AStatelessCallbackComponent.class.cast(baseComponent);
-        final Context context = (Context) component.getContext();
-        return component.init(launcher.getBean(context.getParentId().concat(FXUtil.PATTERN_GLOBAL).concat(context.getId())), context);
+    private void scheduleSweep(final AStatelessCallbackComponent baseComponent) {
+        final long delay = baseComponent.getNanosToNextExpiry();
+        if (delay < 0 || !baseComponent.beginSweep()) return;
+        final boolean scheduled = StatelessWorkerPool.schedule(() -> {
+            baseComponent.endSweep();
+            removeExpiredInstances(baseComponent);
+            scheduleSweep(baseComponent);
+        }, delay);
+        if (!scheduled) baseComponent.endSweep();
     }
 
     /**
-     * Returns a component instance that is currently not blocked.
+     * Returns an idle instance or creates a new one if max instance count is not reached.
      *
      * @param baseComponent, the parent component
-     * @return an available subcomponent
+     * @return an available subcomponent or null if all instances are busy
      */
-    private SubComponent<EventHandler<Event>, Event, Object> getActiveComponent(
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent) {
-        int size = baseComponent
-                .getInstances().size();
-        final AtomicInteger threadCount = baseComponent.getThreadCounter();
-        if (size == 0) return null;
-        final SubComponent<EventHandler<Event>, Event, Object> comp = baseComponent
-                .getInstances().get(getSeekValue(threadCount, size));
-
-        return !comp.isBlocked() ? comp : null;
+    private SubComponent<EventHandler<Event>, Event, Object> checkoutInstance(final AStatelessCallbackComponent baseComponent) {
+        final SubComponent<EventHandler<Event>, Event, Object> comp = baseComponent.pollIdleInstance();
+        if (comp != null) return comp;
+        if (!baseComponent.reserveInstance()) return null;
+        final ComponentHandle<?, Event, Object> handle = baseComponent.getComponent();
+        final StatelessCallabackComponent<EventHandler<Event>, Event, Object> instance = getCloneBean(baseComponent, handle.getClass());
+        baseComponent.addInstance(instance);
+        return instance;
     }
 
     /**
-     * seek to first running component in instance list and add message to queue
-     * of selected component
+     * put message to component's queue and run in thread
      *
-     * @param baseComponent, the root component
-     * @param message,       the current message
+     * @param baseComponent, the parent component
+     * @param comp,          the child component
+     * @param message,       the message
      */
-    private void seekAndPutMessage(
-            final StatelessCallabackComponent<EventHandler<Event>, Event, Object> baseComponent,
+    private void instanceRun(
+            final AStatelessCallbackComponent baseComponent,
+            final SubComponent<EventHandler<Event>, Event, Object> comp,
             final Message<Event, Object> message) {
-        // if max count reached, seek through component and add
-        // message to queue of oldest component
-        final int currentSize = baseComponent.getInstances().size();
-        final AtomicInteger threadCount = baseComponent.getThreadCounter();
-        final SubComponent<EventHandler<Event>, Event, Object> comp = baseComponent
-                .getInstances().get(getSeekValue(threadCount, currentSize));
-        // put message to queue
         comp.putIncomingMessage(message);
+        StatelessWorkerPool.execute(new StateLessComponentRunWorker(
+                comp, baseComponent, this));
     }
 
-    private int getSeekValue(
-            final AtomicInteger threadCount, final int currentSize) {
-        final int seek = threadCount.incrementAndGet()
-                % currentSize;
-        threadCount.lazySet(seek);
-        return seek;
+    @SuppressWarnings("unchecked")
+    @Override
+    /**
+     * {@inheritDoc }
+     */
+    public final <T extends StatelessCallabackComponent<EventHandler<Event>, Event, Object>, H extends ComponentHandle> StatelessCallabackComponent<EventHandler<Event>, Event, Object> getCloneBean(
+            final T baseComponent,
+            final Class<H> clazz) {
+        final AStatelessCallbackComponent component = AStatelessCallbackComponent.class.cast(baseComponent);
+        final Context context = (Context) component.getContext();
+        return component.init(launcher.getBean(context.getParentId().concat(FXUtil.PATTERN_GLOBAL).concat(context.getId())), context);
     }
 
 }
@@ -0,0 +1,148 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [StatelessWorkerPool.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.scheduler;
+
+import org.jacpfx.concurrency.VirtualThreads;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.util.HandlerThreadFactory;
+import org.jacpfx.rcp.util.RuntimeSettings;
+import org.jacpfx.rcp.util.ShutdownThreadsHandler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared, bounded work stealing pool executing all instances of stateless components. The pool size does not depend on the amount of stateless components,
+ * the amount of instances per component is limited by {@link org.jacpfx.api.annotations.component.Stateless}.
+ * In virtual thread mode (see {@link VirtualThreads}) each run is executed in a new virtual thread instead.
+ */
+public final class StatelessWorkerPool {
+    /**
+     * the parallelism of the shared stateless pool
+     */
+    public static final String PARALLELISM = "stateless.parallelism";
+
+    private static final String NAME = "AStatelessCallbackComponent:";
+    private static final AtomicInteger counter = new AtomicInteger(0);
+    private static final String TIMER_NAME = "AStatelessCallbackComponentTimer:";
+    private static volatile ExecutorService executor;
+    private static volatile ScheduledThreadPoolExecutor timer;
+
+    private StatelessWorkerPool() {
+
+    }
+
+    /**
+     * Executes a stateless component run.
+     *
+     * @param worker the worker task
+     * @return false if the pool was shut down
+     */
+    public static boolean execute(final Runnable worker) {
+        try {
+            getExecutor().execute(worker);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // this can happen on application shutdown
+            return false;
+        }
+    }
+
+    /**
+     * Executes a stateless component task in the shared pool after a delay, e.g. to remove idle instances. The delay is handled by one shared daemon thread.
+     *
+     * @param task       the task
+     * @param delayNanos the delay in nanoseconds
+     * @return false if the pool was shut down
+     */
+    public static boolean schedule(final Runnable task, final long delayNanos) {
+        try {
+            getTimer().schedule(() -> execute(task), delayNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // this can happen on application shutdown
+            return false;
+        }
+    }
+
+    /**
+     * Returns the shared executor. The executor is shut down with the application, do not shut it down for a single component.
+     *
+     * @return the shared executor service
+     */
+    public static ExecutorService getExecutor() {
+        final ExecutorService current = executor;
+        if (current != null && !current.isShutdown()) return current;
+        synchronized (StatelessWorkerPool.class) {
+            if (executor == null || executor.isShutdown()) {
+                executor = createExecutor();
+                ShutdownThreadsHandler.registerExecutor(executor);
+            }
+            return executor;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor getTimer() {
+        final ScheduledThreadPoolExecutor current = timer;
+        if (current != null && !current.isShutdown()) return current;
+        synchronized (StatelessWorkerPool.class) {
+            if (timer == null || timer.isShutdown()) {
+                timer = createTimer();
+                ShutdownThreadsHandler.registerExecutor(timer);
+            }
+            return timer;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        final HandlerThreadFactory factory = new HandlerThreadFactory(TIMER_NAME);
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = factory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static ExecutorService createExecutor() {
+        if (VirtualThreads.isEnabled()) {
+            return VirtualThreads.newThreadPerTaskExecutor(new HandlerThreadFactory(NAME, true));
+        }
+        final int parallelism = Math.max(1, RuntimeSettings.getInt(PARALLELISM, Runtime.getRuntime().availableProcessors() + 1));
+        return new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(HandlerThreadFactory.PREFIX.concat(NAME).concat(Integer.toString(counter.incrementAndGet())));
+            thread.setDaemon(true);
+            return thread;
+        }, (thread, throwable) -> ExceptionHandler.getInstance().uncaughtException(thread, throwable), true);
+    }
+}
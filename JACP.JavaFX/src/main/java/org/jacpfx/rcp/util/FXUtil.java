@@ -42,6 +42,9 @@ import javafx.scene.Parent;
 import org.jacpfx.api.annotations.Resource;
 import org.jacpfx.api.component.Injectable;
 import org.jacpfx.api.context.JacpContext;
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.rcp.context.Context;
+import org.jacpfx.rcp.context.ContextView;
 
 /**
  * Util class with helper methods
@@ -65,9 +68,7 @@ public class FXUtil {
     public static final String IDECLARATIVECOMPONENT_BUNDLE_LOCATION = "resourceBundleLocation";
     public static final String AFXPERSPECTIVE_PERSPECTIVE_LAYOUT = "perspectiveLayout";
     private final static String PATTERN_LOCALE = "_";
-    private final static char PATTERN_SPLIT = '.';
     public final static String PATTERN_GLOBAL = ".";
-    private final static int MAX_SPLIT = 3;
 
 
     /**
@@ -215,7 +216,8 @@ public class FXUtil {
     }
 
     /**
-     * Injects all Resource memberc like Context
+     * Injects all Resource memberc like Context. Fields of type Context get the role based view of the context, fields of a context implementation type
+     * get the unrestricted context, which is deprecated.
      *
      * @param handler , the component where injection should be performed
      * @param context , the context object
@@ -224,9 +226,16 @@ public class FXUtil {
         final Field[] fields = handler.getClass().getDeclaredFields();
         final List<Field> fieldList = Arrays.asList(fields);
         final ResourceBundle resourceBundle = context.getResourceBundle();
+        // the handle only gets the operations of its role
+        final ContextView view = new ContextView(Context.class.cast(context), ContextView.Role.of(handler));
         fieldList.stream().filter(f -> f.isAnnotationPresent(Resource.class)).forEach(f -> {
             // context injection
-            if (f.getType().isAssignableFrom(context.getClass())) {
+            if (f.getType().isAssignableFrom(ContextView.class)) {
+                injectContext(handler, f, view);
+            } else if (f.getType().isAssignableFrom(context.getClass())) {
+                // fields of an implementation type can not hold the view, they still get the unrestricted context
+                Logger.getLogger(FXUtil.class.getName()).warning("deprecated context injection into " + handler.getClass().getName() + "." + f.getName()
+                        + " of type " + f.getType().getName() + ", declare the field as Context to get the role based view");
                 injectContext(handler, f, context);
             } else if (resourceBundle != null && f.getType().isAssignableFrom(ResourceBundle.class)) {
                 injectResourceBundle(handler, f, resourceBundle);
@@ -365,10 +374,7 @@ public class FXUtil {
      * @return returns the perspective id
      */
     public static String getTargetPerspectiveId(final String messageId) {
-        if (!FXUtil.isLocalMessage(messageId)) {
-            return getParentFromId(messageId);
-        }
-        return messageId;
+        return ComponentAddress.lookup(messageId).getTargetPerspectiveId();
     }
 
     /**
@@ -378,8 +384,8 @@ public class FXUtil {
      * @return returns the first part of message id "parent.child"
      */
     public static String getParentFromId(final String messageId) {
-        final char[][] targetId = FXUtil.getTargetId(messageId);
-        return new String(targetId[0]);
+        final ComponentAddress address = ComponentAddress.lookup(messageId);
+        return address.isLocal() ? address.getId() : address.getPerspectiveId();
     }
 
     /**
@@ -389,11 +395,7 @@ public class FXUtil {
      * @return returns the component id
      */
     public static String getTargetComponentId(final String messageId) {
-        if (!FXUtil.isLocalMessage(messageId)) {
-            final char[][] targetId = FXUtil.getTargetId(messageId);
-            return new String(targetId[1]);
-        }
-        return messageId;
+        return ComponentAddress.lookup(messageId).getComponentId();
     }
 
     /**
@@ -405,7 +407,7 @@ public class FXUtil {
      */
     public static String getQualifiedComponentId(final String parentId, final String componentId) {
         if (parentId == null) return componentId;
-        return parentId.concat(PATTERN_GLOBAL).concat(componentId);
+        return ComponentAddress.lookup(parentId, componentId).getId();
 
     }
 
@@ -416,44 +418,7 @@ public class FXUtil {
      * @return true when message is not seperated by a dot
      */
     public static boolean isLocalMessage(final String messageId) {
-        return messageId.indexOf(PATTERN_GLOBAL) <= -1;
-    }
-
-    /**
-     * returns target message with perspective and component name as array
-     *
-     * @param messageId the message id to analyze
-     * @return returns a string array of the message id
-     */
-    private static char[][] getTargetId(final String messageId) {
-        return split(messageId.toCharArray(), PATTERN_SPLIT);
-    }
-
-    private static char[][] split(final char[] s,
-                                  final char splitChar) {
-        char[][] result = new char[MAX_SPLIT][];
-        final int length = s.length;
-        int offset = 0;
-        int count = 0;
-        int matchCount = 0;
-        for (int i = 0; i < length; i++) {
-            if (s[i] == splitChar) {
-                if (count > 0) {
-                    if (matchCount == MAX_SPLIT - 1) return result;
-                    result[matchCount] = Arrays.copyOfRange(s, offset, offset + count);
-                    matchCount++;
-                }
-                offset = i + 1;
-                count = 0;
-            } else {
-                count++;
-            }
-        }
-        if (count > 0) {
-            if (matchCount == MAX_SPLIT - 1) return result;
-            result[matchCount] = Arrays.copyOfRange(s, offset, offset + count);
-        }
-        return result;
+        return messageId.indexOf(ComponentAddress.SEPARATOR) <= -1;
     }
 
 
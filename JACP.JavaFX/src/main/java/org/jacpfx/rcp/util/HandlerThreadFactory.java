@@ -24,6 +24,7 @@
  */
 package org.jacpfx.rcp.util;
 
+import org.jacpfx.concurrency.VirtualThreads;
 import org.jacpfx.rcp.handler.ExceptionHandler;
 
 import java.util.concurrent.ThreadFactory;
@@ -36,13 +37,31 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class HandlerThreadFactory implements ThreadFactory {
 	public static final String PREFIX="JacpFX-Worker-";
 	private final String name;
+	private final ThreadFactory virtualThreadFactory;
 	private static final AtomicInteger counter = new AtomicInteger(0);
 	public HandlerThreadFactory(String name) {
+		this(name, false);
+	}
+
+	/**
+	 * Creates a thread factory.
+	 * @param name the thread name
+	 * @param virtual true to create virtual threads, see {@link VirtualThreads}
+	 */
+	public HandlerThreadFactory(String name, boolean virtual) {
 		this.name = name;
+		this.virtualThreadFactory = virtual ? VirtualThreads.newThreadFactory(PREFIX.concat(name)) : null;
 	}
 	@Override
     public Thread newThread(Runnable r) {
-        final Thread t = new Thread(r,PREFIX.concat(name.concat(Integer.toString(counter.incrementAndGet()))));
+		final String threadName = PREFIX.concat(name.concat(Integer.toString(counter.incrementAndGet())));
+        final Thread t;
+		if (virtualThreadFactory != null) {
+			t = virtualThreadFactory.newThread(r);
+			t.setName(threadName);
+		} else {
+			t = new Thread(r, threadName);
+		}
 		t.setUncaughtExceptionHandler(ExceptionHandler.getInstance());
         return t;
 	}
@@ -0,0 +1,143 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageHandlerInvoker.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Invokes an {@link org.jacpfx.api.annotations.method.OnMessage} or {@link org.jacpfx.api.annotations.method.OnAsyncMessage} method. The parameter binding
+ * is resolved once when the invoker is created: parameters of type {@link Message} get the current message, all other parameters get the handle return value
+ * (or null if the value does not match the parameter type). The resulting method handle has a fixed shape, so an invocation needs no reflection and no argument array.
+ */
+public final class MessageHandlerInvoker {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class, Object.class);
+    private static final int MESSAGE = 1;
+    private static final int VALUE = 2;
+    private static final MethodHandle INSTANCE_OR_NULL;
+
+    static {
+        try {
+            INSTANCE_OR_NULL = MethodHandles.lookup().findStatic(MessageHandlerInvoker.class, "instanceOrNull",
+                    MethodType.methodType(Object.class, Class.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Method method;
+    private final MethodHandle invoker;
+
+    private MessageHandlerInvoker(final Method method, final MethodHandle invoker) {
+        this.method = method;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Creates the invoker for a handler method.
+     *
+     * @param method the annotated method
+     * @return the invoker
+     */
+    public static MessageHandlerInvoker compile(final Method method) {
+        final Class<?>[] types = method.getParameterTypes();
+        MethodHandle target = unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        }
+        final int[] reorder = new int[types.length + 1];
+        for (int i = 0; i < types.length; i++) {
+            final Class<?> type = types[i];
+            if (type.isPrimitive())
+                throw new UnsupportedOperationException("use " + method.getName() + " either with a Message parameter or with the return value of the handle method");
+            if (type.isAssignableFrom(Message.class) || Message.class.isAssignableFrom(type)) {
+                reorder[i + 1] = MESSAGE;
+            } else {
+                reorder[i + 1] = VALUE;
+                target = MethodHandles.filterArguments(target, i + 1,
+                        INSTANCE_OR_NULL.bindTo(type).asType(MethodType.methodType(type, Object.class)));
+            }
+        }
+        target = target.asType(MethodType.genericMethodType(types.length + 1));
+        return new MessageHandlerInvoker(method, MethodHandles.permuteArguments(target, INVOKER_TYPE, reorder));
+    }
+
+    /**
+     * Invokes the handler method. Exceptions thrown by the handler are passed to the uncaught exception handler of the current thread and complete the reply of a request.
+     *
+     * @param handle  the component handle
+     * @param message the current message
+     * @param value   the return value of the handle method, or null
+     * @return the return value of the handler method, null for void methods
+     */
+    public Object invoke(final Object handle, final Message<Event, Object> message, final Object value) {
+        try {
+            return (Object) this.invoker.invokeExact(handle, (Object) message, value);
+        } catch (final Throwable e) {
+            final Thread t = Thread.currentThread();
+            Logger.getLogger(MessageHandlerInvoker.class.getName()).log(Level.SEVERE, null, e);
+            WorkerUtil.failReply(message, e);
+            t.getUncaughtExceptionHandler().uncaughtException(t, e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the handler method.
+     *
+     * @return the method
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    private static MethodHandle unreflect(final Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (final IllegalAccessException e) {
+            // public method in a non public class
+            method.setAccessible(true);
+            try {
+                return MethodHandles.lookup().unreflect(method);
+            } catch (final IllegalAccessException e1) {
+                throw new UnsupportedOperationException("handler method is not accessible: " + method, e1);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static Object instanceOrNull(final Class<?> type, final Object value) {
+        return type.isInstance(value) ? value : null;
+    }
+}
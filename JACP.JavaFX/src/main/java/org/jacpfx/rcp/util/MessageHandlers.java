@@ -0,0 +1,163 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageHandlers.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The {@link OnMessage} and {@link OnAsyncMessage} invokers of a component class, keyed by the annotated message type. The invokers are created once per class
+ * and shared by all workers and instances of this class.
+ * A message is dispatched to the handler of the most specific annotated type its body is assignable to. The handler is resolved once per message body type and cached.
+ */
+public final class MessageHandlers {
+    private static final ClassValue<MessageHandlers> HANDLERS = new ClassValue<MessageHandlers>() {
+        @Override
+        protected MessageHandlers computeValue(final Class<?> type) {
+            return new MessageHandlers(type);
+        }
+    };
+
+    private final Map<Class<?>, MessageHandlerInvoker> onMessage;
+    private final Map<Class<?>, MessageHandlerInvoker> onAsyncMessage;
+    private final ClassValue<Dispatch> dispatch = new ClassValue<Dispatch>() {
+        @Override
+        protected Dispatch computeValue(final Class<?> messageType) {
+            return new Dispatch(resolve(onMessage, messageType), resolve(onAsyncMessage, messageType));
+        }
+    };
+
+    private MessageHandlers(final Class<?> handleClass) {
+        this.onMessage = Collections.unmodifiableMap(Stream.of(handleClass.getMethods()).
+                filter(method -> method.isAnnotationPresent(OnMessage.class)).
+                collect(Collectors.<Method, Class<?>, MessageHandlerInvoker>toMap(method -> method.getAnnotation(OnMessage.class).value(), MessageHandlerInvoker::compile)));
+        this.onAsyncMessage = Collections.unmodifiableMap(Stream.of(handleClass.getMethods()).
+                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
+                collect(Collectors.<Method, Class<?>, MessageHandlerInvoker>toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), MessageHandlerInvoker::compile)));
+    }
+
+    /**
+     * Returns the handlers of a component class.
+     *
+     * @param handleClass the class of the component handle
+     * @return the handlers
+     */
+    public static MessageHandlers of(final Class<?> handleClass) {
+        return HANDLERS.get(handleClass);
+    }
+
+    /**
+     * Returns the {@link OnMessage} invoker of the most specific type the message type is assignable to.
+     *
+     * @param messageType the type of the message body
+     * @return the invoker or null
+     */
+    public MessageHandlerInvoker getOnMessage(final Class<?> messageType) {
+        return this.dispatch.get(messageType).onMessage;
+    }
+
+    /**
+     * Returns the {@link OnAsyncMessage} invoker of the most specific type the message type is assignable to.
+     *
+     * @param messageType the type of the message body
+     * @return the invoker or null
+     */
+    public MessageHandlerInvoker getOnAsyncMessage(final Class<?> messageType) {
+        return this.dispatch.get(messageType).onAsyncMessage;
+    }
+
+    /**
+     * Returns all {@link OnMessage} invokers.
+     *
+     * @return the invokers by message type
+     */
+    public Map<Class<?>, MessageHandlerInvoker> getOnMessageHandlers() {
+        return this.onMessage;
+    }
+
+    /**
+     * Returns all {@link OnAsyncMessage} invokers.
+     *
+     * @return the invokers by message type
+     */
+    public Map<Class<?>, MessageHandlerInvoker> getOnAsyncMessageHandlers() {
+        return this.onAsyncMessage;
+    }
+
+    /**
+     * Walks breadth first through the type hierarchy of the message type, the nearest annotated type wins. On the same level a class is preferred to an interface,
+     * interfaces are taken in declaration order. A handler for Object is only used when no other type matches.
+     *
+     * @param handlers    the handlers by annotated type
+     * @param messageType the type of the message body
+     * @return the invoker or null
+     */
+    private static MessageHandlerInvoker resolve(final Map<Class<?>, MessageHandlerInvoker> handlers, final Class<?> messageType) {
+        if (handlers.isEmpty()) return null;
+        final Set<Class<?>> visited = new HashSet<>();
+        List<Class<?>> level = Collections.singletonList(messageType);
+        while (!level.isEmpty()) {
+            final List<Class<?>> next = new ArrayList<>();
+            MessageHandlerInvoker interfaceHandler = null;
+            for (final Class<?> type : level) {
+                if (!visited.add(type)) continue;
+                final MessageHandlerInvoker invoker = handlers.get(type);
+                if (invoker != null) {
+                    if (!type.isInterface()) return invoker;
+                    if (interfaceHandler == null) interfaceHandler = invoker;
+                }
+                final Class<?> superclass = type.getSuperclass();
+                if (superclass != null && superclass != Object.class) next.add(superclass);
+                next.addAll(Arrays.asList(type.getInterfaces()));
+            }
+            if (interfaceHandler != null) return interfaceHandler;
+            level = next;
+        }
+        // Object is the least specific type
+        return handlers.get(Object.class);
+    }
+
+    private static final class Dispatch {
+        private final MessageHandlerInvoker onMessage;
+        private final MessageHandlerInvoker onAsyncMessage;
+
+        private Dispatch(final MessageHandlerInvoker onMessage, final MessageHandlerInvoker onAsyncMessage) {
+            this.onMessage = onMessage;
+            this.onAsyncMessage = onAsyncMessage;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [MessageLogDispatcher.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Passes message log events to MessageLogger services on a dedicated thread. The events are published into a preallocated ring buffer, a publisher never waits and
+ * never allocates: when the buffer is full the event is counted as overflow and discarded. Every slot has a sequence number, a publisher claims a free slot with one
+ * CAS and releases it to the consumer thread by updating the sequence (bounded queue of D. Vyukov). An idle consumer parks until a publisher wakes it up.
+ */
+public final class MessageLogDispatcher extends Thread {
+    public static final byte ON_SEND = 0;
+    public static final byte HANDLE_ACTIVE = 1;
+    public static final byte HANDLE_INACTIVE = 2;
+    public static final byte HANDLE_IN_CURRENT_PERSPECTIVE = 3;
+    public static final byte DELEGATE = 4;
+    public static final byte RECEIVE = 5;
+    public static final byte DEAD_LETTER = 6;
+
+    private static final Logger LOGGER = Logger.getLogger(MessageLogDispatcher.class.getName());
+    private static final DeadLetterReason[] REASONS = DeadLetterReason.values();
+
+    private final MessageLogger[] logger;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Message[] messages;
+    private final byte[] types;
+    private final byte[] reasons;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder overflow = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private volatile boolean idle;
+    private long head;
+
+    /**
+     * @param logger   the loggers to call
+     * @param capacity the min amount of buffered events, rounded up to a power of two
+     */
+    public MessageLogDispatcher(final MessageLogger[] logger, final int capacity) {
+        super("MessageLogDispatcher");
+        if (capacity < 1) throw new IllegalArgumentException("message log buffer must be positive: " + capacity);
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.logger = logger.clone();
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+        this.messages = new Message[size];
+        this.types = new byte[size];
+        this.reasons = new byte[size];
+        setDaemon(true);
+    }
+
+    /**
+     * Publishes a log event, never blocks.
+     *
+     * @param type    the event type
+     * @param message the message
+     * @param reason  the dead letter reason or null
+     * @return false if the buffer was full and the event was discarded
+     */
+    public boolean publish(final byte type, final Message message, final DeadLetterReason reason) {
+        long position;
+        int index;
+        for (; ; ) {
+            position = tail.get();
+            index = (int) position & mask;
+            final long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) break;
+            } else if (sequence < position) {
+                // the consumer did not free this slot yet
+                overflow.increment();
+                return false;
+            }
+        }
+        messages[index] = message;
+        types[index] = type;
+        reasons[index] = reason == null ? -1 : (byte) reason.ordinal();
+        // a volatile store, so the following read of the idle flag can not be reordered before it and no wakeup is missed
+        sequences.set(index, position + 1);
+        if (idle) LockSupport.unpark(this);
+        return true;
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.interrupted()) {
+            if (!dispatchNext()) await();
+        }
+    }
+
+    private void await() {
+        idle = true;
+        // recheck after announcing, a publisher which released its slot before the flag was set did not unpark this thread
+        if (!isAvailable()) LockSupport.park(this);
+        idle = false;
+    }
+
+    private boolean isAvailable() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+
+    /**
+     * Dispatches the next buffered event to all loggers.
+     *
+     * @return false if the buffer was empty
+     */
+    boolean dispatchNext() {
+        final long position = head;
+        final int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) return false;
+        final Message message = messages[index];
+        final byte type = types[index];
+        final byte reason = reasons[index];
+        messages[index] = null;
+        sequences.lazySet(index, position + mask + 1);
+        head = position + 1;
+        for (final MessageLogger l : logger) {
+            try {
+                dispatch(l, type, message, reason);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "message logger failed: " + l.getClass().getName(), e);
+            }
+        }
+        dispatched.increment();
+        return true;
+    }
+
+    static void dispatch(final MessageLogger l, final byte type, final Message message, final byte reason) {
+        switch (type) {
+            case ON_SEND:
+                l.onSend(message);
+                break;
+            case HANDLE_ACTIVE:
+                l.handleActive(message);
+                break;
+            case HANDLE_INACTIVE:
+                l.handleInactive(message);
+                break;
+            case HANDLE_IN_CURRENT_PERSPECTIVE:
+                l.handleInCurrentPerspective(message);
+                break;
+            case DELEGATE:
+                l.delegate(message);
+                break;
+            case RECEIVE:
+                l.receive(message);
+                break;
+            case DEAD_LETTER:
+                l.deadLetter(message, reason < 0 ? null : REASONS[reason]);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown message log event: " + type);
+        }
+    }
+
+    /**
+     * @return the size of the ring buffer
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the amount of events discarded because the buffer was full
+     */
+    public long getOverflowCount() {
+        return overflow.sum();
+    }
+
+    /**
+     * @return the amount of events passed to the loggers
+     */
+    public long getDispatchedCount() {
+        return dispatched.sum();
+    }
+}
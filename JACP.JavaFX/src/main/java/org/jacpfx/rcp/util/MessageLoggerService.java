@@ -25,105 +25,95 @@
 
 package org.jacpfx.rcp.util;
 
+import org.jacpfx.api.message.DeadLetterReason;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.api.message.MessageLogger;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
-import java.util.function.Consumer;
 
 /**
  * Created by Andy Moncsek on 14.07.15.
+ * Dispatches the message hooks to all MessageLogger services. Without installed or with disabled loggers a hook costs a single array length check. Installed loggers
+ * are called by the {@link MessageLogDispatcher} thread, the routing threads only publish an event into its ring buffer and never wait for a logger.
  */
 public class MessageLoggerService implements MessageLogger {
-    private static MessageLoggerService service;
-    private ServiceLoader<MessageLogger> loader;
-    private final List<MessageLogger> logger = new ArrayList();
+    private final MessageLogger[] logger;
+    private final MessageLogDispatcher dispatcher;
+
+    private static final class Holder {
+        private static final MessageLoggerService SERVICE = new MessageLoggerService();
+    }
 
     private MessageLoggerService() {
-        loader = ServiceLoader.load(MessageLogger.class);
-        if (loader.iterator().hasNext()) {
-            loader.forEach(logger::add);
+        final List<MessageLogger> loaded = new ArrayList<>();
+        if (RuntimeSettings.getBoolean(RuntimeSettings.MESSAGE_LOGGER_ENABLED, true)) {
+            ServiceLoader.load(MessageLogger.class).forEach(loaded::add);
+        }
+        logger = loaded.toArray(new MessageLogger[loaded.size()]);
+        if (logger.length > 0 && RuntimeSettings.getBoolean(RuntimeSettings.MESSAGE_LOGGER_ASYNC, true)) {
+            dispatcher = new MessageLogDispatcher(logger, RuntimeSettings.getInt(RuntimeSettings.MESSAGE_LOGGER_BUFFER, 4096));
+            ShutdownThreadsHandler.registerThread(dispatcher);
+            dispatcher.start();
         } else {
-            logger.add(new EmptyLogger());
+            dispatcher = null;
         }
+    }
 
+    public static MessageLoggerService getInstance() {
+        return Holder.SERVICE;
     }
 
-    public static synchronized MessageLoggerService getInstance() {
-        if (service == null) {
-            service = new MessageLoggerService();
+    /**
+     * @return the amount of log events discarded because the dispatcher could not keep up
+     */
+    public long getOverflowCount() {
+        return dispatcher != null ? dispatcher.getOverflowCount() : 0L;
+    }
+
+    private void log(final byte type, final Message m, final DeadLetterReason reason) {
+        if (dispatcher != null) {
+            dispatcher.publish(type, m, reason);
+            return;
         }
-        return service;
+        final byte ordinal = reason == null ? -1 : (byte) reason.ordinal();
+        for (final MessageLogger l : logger) MessageLogDispatcher.dispatch(l, type, m, ordinal);
     }
 
     @Override
     public void onSend(Message m) {
-        execute((consumer -> consumer.onSend(m)));
+        if (logger.length > 0) log(MessageLogDispatcher.ON_SEND, m, null);
     }
 
 
     @Override
     public void handleActive(Message m) {
-        execute((consumer -> consumer.handleActive(m)));
+        if (logger.length > 0) log(MessageLogDispatcher.HANDLE_ACTIVE, m, null);
     }
 
     @Override
     public void handleInactive(Message m) {
-        execute((consumer -> consumer.handleInactive(m)));
+        if (logger.length > 0) log(MessageLogDispatcher.HANDLE_INACTIVE, m, null);
     }
 
     @Override
     public void handleInCurrentPerspective(Message m) {
-        execute((consumer -> consumer.handleInCurrentPerspective(m)));
+        if (logger.length > 0) log(MessageLogDispatcher.HANDLE_IN_CURRENT_PERSPECTIVE, m, null);
     }
 
     @Override
     public void delegate(Message m) {
-        execute((consumer -> consumer.delegate(m)));
+        if (logger.length > 0) log(MessageLogDispatcher.DELEGATE, m, null);
     }
 
     @Override
     public void receive(Message m) {
-        execute((consumer -> consumer.receive(m)));
-    }
-
-    private void execute(Consumer<MessageLogger> c) {
-        logger.forEach(c::accept);
+        if (logger.length > 0) log(MessageLogDispatcher.RECEIVE, m, null);
     }
 
-
-    private static class EmptyLogger implements MessageLogger {
-
-        @Override
-        public void onSend(Message m) {
-
-        }
-
-        @Override
-        public void handleActive(Message m) {
-
-        }
-
-        @Override
-        public void handleInactive(Message m) {
-
-        }
-
-        @Override
-        public void handleInCurrentPerspective(Message m) {
-
-        }
-
-        @Override
-        public void delegate(Message m) {
-
-        }
-
-        @Override
-        public void receive(Message m) {
-
-        }
+    @Override
+    public void deadLetter(Message m, DeadLetterReason reason) {
+        if (logger.length > 0) log(MessageLogDispatcher.DEAD_LETTER, m, reason);
     }
 }
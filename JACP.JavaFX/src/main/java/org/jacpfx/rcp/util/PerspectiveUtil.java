@@ -36,6 +36,7 @@ import org.jacpfx.api.component.*;
 import org.jacpfx.api.exceptions.AnnotationNotFoundException;
 import org.jacpfx.api.fragment.Scope;
 import org.jacpfx.api.launcher.Launcher;
+import org.jacpfx.api.message.MessageKeyExtractor;
 import org.jacpfx.rcp.component.*;
 import org.jacpfx.rcp.componentLayout.PerspectiveLayout;
 import org.jacpfx.rcp.context.InternalContext;
@@ -128,13 +129,24 @@ public class PerspectiveUtil {
      * @return the perspective id from annotation
      */
     public static String getPerspectiveIdFromAnnotation(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+        final org.jacpfx.api.annotations.perspective.Perspective perspectiveAnnotation = getPerspectiveAnnotation(perspective);
+        final String id = perspectiveAnnotation.id();
+        if (id == null) throw new IllegalArgumentException("no perspective id set");
+        return id;
+    }
+
+    /**
+     * Returns the perspective annotation of a perspective.
+     *
+     * @param perspective the perspective
+     * @return the perspective annotation
+     */
+    public static org.jacpfx.api.annotations.perspective.Perspective getPerspectiveAnnotation(final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
         final Injectable handler = perspective.getPerspective();
         final org.jacpfx.api.annotations.perspective.Perspective perspectiveAnnotation = handler.getClass()
                 .getAnnotation(org.jacpfx.api.annotations.perspective.Perspective.class);
         if (perspectiveAnnotation == null) throw new IllegalArgumentException("no perspective annotation found");
-        final String id = perspectiveAnnotation.id();
-        if (id == null) throw new IllegalArgumentException("no perspective id set");
-        return id;
+        return perspectiveAnnotation;
     }
 
     /**
@@ -227,6 +239,7 @@ public class PerspectiveUtil {
         setLocale(component, declarativeComponent.localeID());
         setResourceBundleLocation(component, declarativeComponent.resourceBundleLocation());
         handleBaseAttributes(component, declarativeComponent.id(), declarativeComponent.active());
+        setConflationKey(component, declarativeComponent.conflationKey());
         EmbeddedFXComponent.class.cast(component).setViewLocation(declarativeComponent.viewLocation());
     }
 
@@ -237,6 +250,7 @@ public class PerspectiveUtil {
      */
     private static void handleCallbackAnnotation(final SubComponent<EventHandler<Event>, Event, Object> component, final Component callbackAnnotation) {
         handleBaseAttributes(component, callbackAnnotation.id(), callbackAnnotation.active());
+        setConflationKey(component, callbackAnnotation.conflationKey());
     }
 
     /**
@@ -246,6 +260,7 @@ public class PerspectiveUtil {
      */
     private static void handleViewComponentAnnotation(final SubComponent<EventHandler<Event>, Event, Object> component,final View viewComponent) {
         handleBaseAttributes(component, viewComponent.id(), viewComponent.active());
+        setConflationKey(component, viewComponent.conflationKey());
         setInitialLayoutTarget(component, viewComponent.initialTargetLayoutId());
         setLocale(component, viewComponent.localeID());
         setResourceBundleLocation(component, viewComponent.resourceBundleLocation());
@@ -266,6 +281,20 @@ public class PerspectiveUtil {
     }
 
 
+    /**
+     * Enables the conflating mailbox of a stateful component.
+     * @param component, The target component.
+     * @param keyExtractor, The key extractor class.
+     */
+    private static void setConflationKey(final SubComponent<EventHandler<Event>, Event, Object> component, final Class<? extends MessageKeyExtractor> keyExtractor) {
+        if (MessageKeyExtractor.None.class.equals(keyExtractor) || AStatelessCallbackComponent.class.isAssignableFrom(component.getClass())) return;
+        try {
+            ASubComponent.class.cast(component).setMessageKeyExtractor(keyExtractor.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("no valid conflation key extractor: " + keyExtractor.getName(), e);
+        }
+    }
+
     /**
      * Set the resource bundle location to component.
      * @param component, The target component.
@@ -0,0 +1,184 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [RuntimeSettings.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.rcp.util;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Provides access to the global runtime settings of JacpFX. All settings are read from system properties with the prefix "jacpfx.", e.g. -Djacpfx.message.async=true
+ * Invalid values are logged and replaced by the default value.
+ */
+public final class RuntimeSettings {
+    public static final String PREFIX = "jacpfx.";
+    /**
+     * send messages asynchronously instead of handing them over to the coordinator with TransferQueue.transfer
+     */
+    public static final String MESSAGE_ASYNC = "message.async";
+    /**
+     * put messages to active components of the same perspective directly into the target mailbox, false routes every message through the coordinator
+     */
+    public static final String MESSAGE_DIRECT = "message.direct";
+    /**
+     * the capacity of a coordinator message queue in asynchronous mode
+     */
+    public static final String MESSAGE_QUEUE_CAPACITY = "message.queue.capacity";
+    /**
+     * the overflow policy of a full coordinator message queue in asynchronous mode
+     */
+    public static final String MESSAGE_OVERFLOW_POLICY = "message.overflow.policy";
+    /**
+     * the max time in milliseconds a sender waits for a full coordinator message queue when using the BLOCK policy
+     */
+    public static final String MESSAGE_BLOCK_TIMEOUT = "message.block.timeout";
+    /**
+     * the max amount of higher priority messages served before a waiting message of a lower priority lane
+     */
+    public static final String MESSAGE_LANE_STARVATION_LIMIT = "message.lane.starvation.limit";
+    /**
+     * false disables all MessageLogger services
+     */
+    public static final String MESSAGE_LOGGER_ENABLED = "message.logger.enabled";
+    /**
+     * dispatch the MessageLogger hooks on a dedicated thread, false calls the loggers on the routing threads
+     */
+    public static final String MESSAGE_LOGGER_ASYNC = "message.logger.async";
+    /**
+     * the amount of log events buffered for the MessageLogger thread, rounded up to a power of two
+     */
+    public static final String MESSAGE_LOGGER_BUFFER = "message.logger.buffer";
+    /**
+     * false disables the message flight recorder
+     */
+    public static final String RECORDER_ENABLED = "recorder.enabled";
+    /**
+     * the amount of records kept by the message flight recorder, rounded up to a power of two
+     */
+    public static final String RECORDER_CAPACITY = "recorder.capacity";
+    /**
+     * the time window in seconds written by a flight recorder dump
+     */
+    public static final String RECORDER_WINDOW = "recorder.window";
+    /**
+     * the key combination which dumps the flight recorder, e.g. Shortcut+Shift+F12
+     */
+    public static final String RECORDER_HOTKEY = "recorder.hotkey";
+    /**
+     * the directory of flight recorder dumps created by the hotkey, the default is java.io.tmpdir
+     */
+    public static final String RECORDER_DIRECTORY = "recorder.directory";
+    /**
+     * false disables the JacpFX events of the Java Flight Recorder
+     */
+    public static final String JFR_ENABLED = "jfr.enabled";
+    /**
+     * false disables the JMX beans of the perspective and component metrics
+     */
+    public static final String METRICS_JMX = "metrics.jmx";
+
+    private static final Logger LOGGER = Logger.getLogger(RuntimeSettings.class.getName());
+
+    private RuntimeSettings() {
+
+    }
+
+    /**
+     * Returns a boolean setting.
+     *
+     * @param key          the setting key without prefix
+     * @param defaultValue the default value
+     * @return the setting value or the default value
+     */
+    public static boolean getBoolean(final String key, final boolean defaultValue) {
+        final String value = getValue(key);
+        if (value == null) return defaultValue;
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Returns an int setting.
+     *
+     * @param key          the setting key without prefix
+     * @param defaultValue the default value
+     * @return the setting value or the default value
+     */
+    public static int getInt(final String key, final int defaultValue) {
+        final String value = getValue(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logInvalid(key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns a long setting.
+     *
+     * @param key          the setting key without prefix
+     * @param defaultValue the default value
+     * @return the setting value or the default value
+     */
+    public static long getLong(final String key, final long defaultValue) {
+        final String value = getValue(key);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logInvalid(key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns an enum setting, the value is matched case insensitive.
+     *
+     * @param key          the setting key without prefix
+     * @param type         the enum type
+     * @param defaultValue the default value
+     * @param <E>          the enum type
+     * @return the setting value or the default value
+     */
+    public static <E extends Enum<E>> E getEnum(final String key, final Class<E> type, final E defaultValue) {
+        final String value = getValue(key);
+        if (value == null) return defaultValue;
+        for (final E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) return constant;
+        }
+        logInvalid(key, value, defaultValue);
+        return defaultValue;
+    }
+
+    private static String getValue(final String key) {
+        final String value = System.getProperty(PREFIX.concat(key));
+        return value == null ? null : value.trim();
+    }
+
+    private static void logInvalid(final String key, final String value, final Object defaultValue) {
+        LOGGER.log(Level.WARNING, "invalid value \"" + value + "\" for " + PREFIX.concat(key) + ", using default: " + defaultValue);
+    }
+}
@@ -31,10 +31,14 @@ import org.jacpfx.api.annotations.lifecycle.PreDestroy;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.StatelessCallabackComponent;
 import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.workbench.Base;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.component.CallbackComponent;
 import org.jacpfx.rcp.component.EmbeddedFXComponent;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.workbench.GlobalMediator;
 import org.jacpfx.rcp.worker.AComponentWorker;
@@ -101,8 +105,10 @@ public class TearDownHandler {
                             .add(component);
                 } else {
                     // run teardown in app thread
-                    FXUtil.invokeHandleMethodsByAnnotation(PreDestroy.class,
-                            component.getComponent());
+                    try (EventSpan span = beginTearDown(component)) {
+                        FXUtil.invokeHandleMethodsByAnnotation(PreDestroy.class,
+                                component.getComponent());
+                    }
                 }
 
             }
@@ -129,13 +135,13 @@ public class TearDownHandler {
                     final List<SubComponent<EventHandler<Event>, Event, Object>> instances = tmp.getInstances();
                     for (final SubComponent<EventHandler<Event>, Event, Object> instance : instances) {
                         set.add(executor.submit(() -> {
-                            executePredestroy(instance);
+                            executeTracedPredestroy(instance);
                             return true;
                         }));
                     }
                 }
                 set.add(executor.submit(() -> {
-                    executePredestroy(component);
+                    executeTracedPredestroy(component);
                     return true;
                 }));
             }
@@ -147,14 +153,15 @@ public class TearDownHandler {
     }
 
     public static void shutDownFXComponent(final EmbeddedFXComponent component, final String parentId, final Object... params) {
-        // run teardown
-        ComponentRegistry.removeComponent(component);
-        FXUtil.invokeHandleMethodsByAnnotation(PreDestroy.class,
-                component.getComponent(), params);
-        GlobalMediator.getInstance().clearToolbar(component, parentId);
-        component.interruptWorker();
-        component.initEnv(null, null);
-
+        try (EventSpan span = beginTearDown(component)) {
+            // run teardown
+            ComponentRegistry.removeComponent(component);
+            FXUtil.invokeHandleMethodsByAnnotation(PreDestroy.class,
+                    component.getComponent(), params);
+            GlobalMediator.getInstance().clearToolbar(component, parentId);
+            component.interruptWorker();
+            component.initEnv(null, null);
+        }
     }
 
     private static void awaitTermination(Set<Future<Boolean>> set) {
@@ -179,19 +186,23 @@ public class TearDownHandler {
             for (final SubComponent<EventHandler<Event>, Event, Object> instance : instances) {
                 if (instance.isStarted())
                     set.add(executor.submit(() -> {
-                        executePredestroy(instance);
+                        executeTracedPredestroy(instance);
                         return true;
                     }));
             }
             awaitTermination(set);
-            tmp.getExecutorService().shutdownNow();
-            instances.clear();
+            // the executor is shared by all stateless components and must not be shut down here
+            if (component instanceof AStatelessCallbackComponent) {
+                ((AStatelessCallbackComponent) component).clearInstances();
+            } else {
+                instances.clear();
+            }
 
         } else {
             ComponentRegistry.removeComponent(component);
             try {
                 executor.submit(() -> {
-                    executePredestroy(component);
+                    executeTracedPredestroy(component);
                     return true;
                 }).get();
             } catch (InterruptedException | RejectedExecutionException | ExecutionException e) {
@@ -209,6 +220,23 @@ public class TearDownHandler {
                 component.getComponent());
     }
 
+    private static void executeTracedPredestroy(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        try (EventSpan span = beginTearDown(component)) {
+            executePredestroy(component);
+        }
+    }
+
+    /**
+     * Starts the JFR span of a component teardown, the ids are read before the teardown resets the component context.
+     *
+     * @param component the component to shut down
+     * @return the span to close after the teardown
+     */
+    private static EventSpan beginTearDown(final SubComponent<EventHandler<Event>, Event, Object> component) {
+        final JacpContext<EventHandler<Event>, Object> context = component.getContext();
+        return JfrEvents.beginComponentTeardown(context != null ? context.getParentId() : null, context != null ? context.getId() : null, component.getComponent());
+    }
+
     private static void log(final String message) {
         if (Logger.getLogger(AComponentWorker.class.getName()).isLoggable(
                 Level.FINE)) {
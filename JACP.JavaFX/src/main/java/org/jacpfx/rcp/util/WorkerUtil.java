@@ -28,13 +28,12 @@ package org.jacpfx.rcp.util;
 import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
-import java.util.stream.Stream;
 import javafx.collections.ObservableList;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.annotations.method.OnMessage;
 import org.jacpfx.api.component.ComponentView;
 import org.jacpfx.api.component.SubComponent;
@@ -99,7 +98,7 @@ public class WorkerUtil {
     }
 
     /**
-     * delegate component handle return value to specified target
+     * delegate component handle return value to specified target, the return value of a request completes the reply instead
      *
      * @param comp,     the component
      * @param targetId, the message target id
@@ -110,12 +109,39 @@ public class WorkerUtil {
             final SubComponent<EventHandler<Event>, Event, Object> comp,
             final String targetId, final Object value,
             final Message<Event, Object> action) {
+        final CompletableFuture<Object> reply = action.getReply();
+        if (reply != null) {
+            reply.complete(value);
+            return;
+        }
         if (value != null && targetId != null
                 && !action.messageBodyEquals("init")) {
             comp.getContext().send(targetId, value);
         }
     }
 
+    /**
+     * Completes the reply of a request exceptionally.
+     *
+     * @param action, the message
+     * @param e,      the failure of the target component
+     */
+    public static void failReply(final Message<Event, Object> action, final Throwable e) {
+        final CompletableFuture<Object> reply = action.getReply();
+        if (reply != null) reply.completeExceptionally(e);
+    }
+
+    /**
+     * Returns true if the message is a request which was already completed, like a cancelled or timed out request, and must not be handled anymore.
+     *
+     * @param action, the message
+     * @return true if the request is done
+     */
+    public static boolean isReplyDone(final Message<Event, Object> action) {
+        final CompletableFuture<Object> reply = action.getReply();
+        return reply != null && reply.isDone();
+    }
+
     /**
      * Executes post handle method in application main thread. The result value
      * of handle method (from worker thread) is Input for the postHandle Method.
@@ -160,7 +186,30 @@ public class WorkerUtil {
                                                       final EmbeddedFXComponent component, final Message<Event, Object> message, final Method method) throws Exception {
 
         final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-        Node  potsHandleReturnValue = (Node) FXUtil.invokeMethod(OnMessage.class,method,componentViewHandle,handleReturnValue,message);
+        final Node potsHandleReturnValue = (Node) FXUtil.invokeMethod(OnMessage.class,method,componentViewHandle,handleReturnValue,message);
+        applyTypedPostHandleValue(potsHandleReturnValue, handleReturnValue, component);
+
+    }
+
+    /**
+     * Executes the typed post handle method in application main thread. The result value
+     * of handle method (from worker thread) is Input for the postHandle Method.
+     * The return value or the handleReturnValue are the root node of this
+     * component.
+     *
+     * @param handleReturnValue the UI return value after "handle(message)" {@link org.jacpfx.api.component.ComponentHandle#handle(org.jacpfx.api.message.Message)} was executed
+     * @param component         a component
+     * @param message           the current message
+     * @param invoker           the invoker of the {@link OnMessage} method
+     */
+    public static void executeTypedComponentViewPostHandle(final Node handleReturnValue,
+                                                           final EmbeddedFXComponent component, final Message<Event, Object> message, final MessageHandlerInvoker invoker) {
+        final Node potsHandleReturnValue = (Node) invoker.invoke(component.getComponentViewHandle(), message, handleReturnValue);
+        applyTypedPostHandleValue(potsHandleReturnValue, handleReturnValue, component);
+    }
+
+    private static void applyTypedPostHandleValue(final Node postHandleReturnValue, final Node handleReturnValue, final EmbeddedFXComponent component) {
+        Node  potsHandleReturnValue = postHandleReturnValue;
         if (potsHandleReturnValue == null) {
             potsHandleReturnValue = handleReturnValue;
         } else if (component.getType().equals(UIType.DECLARATIVE)) {
@@ -171,7 +220,6 @@ public class WorkerUtil {
             && component.getType().equals(UIType.PROGRAMMATIC)) {
             component.setRoot(potsHandleReturnValue);
         }
-
     }
 
     /**
@@ -220,23 +268,14 @@ public class WorkerUtil {
             final Message<Event, Object> message, BiConsumer<Object,Method> runOnFXThread) throws Exception {
 
         final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-        final Optional<Method> asnc = Stream.of(componentViewHandle.getClass().getMethods()).filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).filter(method1 -> message.getMessageBody().getClass().isAssignableFrom(method1.getAnnotation(OnAsyncMessage.class).value())).findFirst();
-        final Optional<Method> sync = Stream.of(componentViewHandle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnMessage.class)).
-                filter(method1 -> message.getMessageBody().getClass().isAssignableFrom(method1.getAnnotation(OnMessage.class).value())).findFirst();
-        asnc.ifPresent(method -> {
-            final Object handleReturnValue = FXUtil.invokeMethod(OnAsyncMessage.class,method,componentViewHandle,message);
-            sync.ifPresent(methodSync -> {
-                runOnFXThread.accept(handleReturnValue,methodSync);
-            });
-            System.out.println("invoke");
-        });
-        if(!asnc.isPresent()) {
-            sync.ifPresent(methodSync -> {
-                runOnFXThread.accept(null,methodSync);
-            });
+        final MessageHandlers handlers = MessageHandlers.of(componentViewHandle.getClass());
+        final Class<?> messageType = message.getMessageBody().getClass();
+        final MessageHandlerInvoker asyncHandler = handlers.getOnAsyncMessage(messageType);
+        final MessageHandlerInvoker syncHandler = handlers.getOnMessage(messageType);
+        final Object handleReturnValue = asyncHandler != null ? asyncHandler.invoke(componentViewHandle, message, null) : null;
+        if (syncHandler != null) {
+            runOnFXThread.accept(handleReturnValue, syncHandler.getMethod());
         }
-        System.out.println("handle");
         return componentViewHandle.handle(message);
     }
 
@@ -54,8 +54,10 @@ import org.jacpfx.rcp.delegator.MessageDelegatorImpl;
 import org.jacpfx.rcp.handler.PerspectiveHandlerImpl;
 import org.jacpfx.rcp.message.MessageImpl;
 import org.jacpfx.rcp.perspective.AFXPerspective;
+import org.jacpfx.rcp.recorder.FlightRecorder;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.registry.TopicRegistry;
 import org.jacpfx.rcp.util.*;
 
 import java.util.List;
@@ -125,6 +127,7 @@ public abstract class AFXWorkbench
         workbenchDecorator.setWorkbenchLayout(getWorkbenchLayout());
         workbenchDecorator.initBasicLayout(stage);
         SceneUtil.setScene(stage.getScene());
+        FlightRecorder.registerHotkey(stage.getScene());
     }
 
     private void registerTeardownActions() {
@@ -134,6 +137,7 @@ public abstract class AFXWorkbench
             TearDownHandler.handleGlobalTearDown();
             ComponentRegistry.clearOnShutdown();
             PerspectiveRegistry.clearOnShutdown();
+            TopicRegistry.clearOnShutdown();
             Platform.exit();
         });
 
@@ -259,12 +263,14 @@ public abstract class AFXWorkbench
      */
     public final void registerComponent(
             final Perspective<Node, EventHandler<Event>, Event, Object> perspective) {
+        final org.jacpfx.api.annotations.perspective.Perspective perspectiveAnnotation = PerspectiveUtil.getPerspectiveAnnotation(perspective);
         final String perspectiveId = PerspectiveUtil.getPerspectiveIdFromAnnotation(perspective);
         final MessageCoordinator messageCoordinatorLocal = MessageCoordinator.build().
                 parentId(perspectiveId).
                 launcher(launcher).
                 delegateQueue(messageDelegator.getMessageDelegateQueue()).
                 handler(componentHandler);
+        messageCoordinatorLocal.setMessageBatch(perspectiveAnnotation.messageBatchSize(), perspectiveAnnotation.messageBatchLinger());
         // use compleatableFuture
         perspective.init(componentDelegator.getComponentDelegateQueue(),
                 messageDelegator.getMessageDelegateQueue(),
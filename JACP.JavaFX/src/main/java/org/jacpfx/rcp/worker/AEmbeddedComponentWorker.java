@@ -32,25 +32,134 @@ import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.exceptions.InvalidComponentMatch;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.ASubComponent;
+import org.jacpfx.rcp.message.MessageDeadlines;
+import org.jacpfx.rcp.metrics.ComponentMetrics;
+import org.jacpfx.rcp.scheduler.MailboxScheduler;
 import org.jacpfx.rcp.util.FXUtil;
 import org.jacpfx.rcp.util.WorkerUtil;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * handles component methods in own thread;
+ * handles the messages of a stateful component. The worker is scheduled on the shared mailbox pool whenever the component mailbox contains messages,
+ * the messages of one component are always handled one at a time and in order.
  *
  * @author Andy Moncsek
  */
-public abstract class AEmbeddedComponentWorker extends Thread {
+public abstract class AEmbeddedComponentWorker implements Runnable {
 
+    private final ASubComponent component;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile boolean running;
+
+    AEmbeddedComponentWorker(final ASubComponent component) {
+        this.component = component;
+    }
+
+    /**
+     * start handling messages
+     */
+    public final void start() {
+        this.running = true;
+        signal();
+    }
+
+    /**
+     * stop handling messages, a currently handled message will be finished
+     */
+    public final void stop() {
+        this.running = false;
+    }
+
+    /**
+     * @return true if worker was started and not stopped
+     */
+    public final boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Notify the worker about new messages, the worker will be scheduled if not already running.
+     */
+    public final void signal() {
+        if (running && scheduled.compareAndSet(false, true)) {
+            if (!MailboxScheduler.execute(this)) {
+                running = false;
+                scheduled.set(false);
+            }
+        }
+    }
+
+    @Override
+    public final void run() {
+        if (!running) {
+            scheduled.set(false);
+            return;
+        }
+        if (!component.tryLock()) {
+            // the component is locked while initialisation, release will signal the worker again
+            scheduled.set(false);
+            // the lock may have been released while this run was still scheduled, so the signal of the release was lost
+            if (!component.isBlocked() && running && component.hasIncomingMessage()) signal();
+            return;
+        }
+        try {
+            try {
+                handleMessages(MailboxScheduler.getQuantum());
+            } finally {
+                if (component.isBlocked()) component.release();
+            }
+            afterRun();
+        } finally {
+            scheduled.set(false);
+            if (running && component.hasIncomingMessage()) signal();
+        }
+    }
+
+    private void handleMessages(final int quantum) {
+        final Thread t = Thread.currentThread();
+        int handled = 0;
+        while (running && handled < quantum && component.hasIncomingMessage()) {
+            try {
+                final Message<Event, Object> message = component.getNextIncomingMessage();
+                // handlers run un-compensated to keep the pool bounded, blocking points use MailboxScheduler.managedBlock
+                if (!MessageDeadlines.dropIfExpired(message, MessageDeadlines.Stage.WORKER)) handleMessage(message);
+            } catch (InterruptedException e) {
+                // this can happen on application shutdown
+                stop();
+            } catch (Exception e) {
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            }
+            handled++;
+        }
+    }
+
+    /**
+     * Handles one message of the component mailbox, the component is locked while execution.
+     *
+     * @param message the message to handle
+     * @throws Exception handling errors are delegated to the exception handler
+     */
+    abstract void handleMessage(final Message<Event, Object> message) throws Exception;
+
+    /**
+     * @return the metrics of the component handled by this worker
+     */
+    ComponentMetrics getMetrics() {
+        return component.getMetrics();
+    }
+
+    /**
+     * Called after the component lock was released at the end of a worker run.
+     */
+    void afterRun() {
 
-    AEmbeddedComponentWorker(final String name) {
-        super(name);
-        this.setDaemon(true);
     }
 
     /**
@@ -26,22 +26,20 @@ package org.jacpfx.rcp.worker;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.context.InternalContext;
-import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.util.MessageHandlerInvoker;
+import org.jacpfx.rcp.util.MessageHandlers;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
 
-import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This class handles running stateful background component
@@ -54,7 +52,7 @@ public class CallbackComponentInitWorker
     private final ASubComponent component;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue;
     private final Message<Event, Object> action;
-    private final Map<Class, Method> asyncMethodMap;
+    private final MessageHandlers handlers;
     public CallbackComponentInitWorker(
             final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue,
             final ASubComponent component, final Message<Event, Object> action) {
@@ -62,9 +60,7 @@ public class CallbackComponentInitWorker
         this.delegateQueue = delegateQueue;
         this.action = action;
         final ComponentHandle<?, Event, Object> handle = component.getComponent();
-        asyncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), p -> p));
+        this.handlers = MessageHandlers.of(handle.getClass());
     }
 
     @Override
@@ -72,28 +68,31 @@ public class CallbackComponentInitWorker
             throws Exception {
             this.component.lock();
             checkValidComponent(this.component);
-            runCallbackOnStartMethods(this.component);
-            final Message<Event, Object> myAction = this.action;
-            final InternalContext context = InternalContext.class.cast(this.component.getContext());
-            context.updateReturnTarget(myAction.getSourceId());
-            final String currentExecutionTarget = context.getExecutionTarget();
-            final Object value = handleAsyncMessage(myAction,component.getComponent(),myAction.getMessageBody().getClass());//this.component.getComponent().handle(myAction);
-            final String targetId = context
-                    .getReturnTargetAndClear();
-            WorkerUtil.delegateReturnValue(this.component, targetId, value,
-                    myAction);
-            this.checkAndHandleTargetChange(this.component,
-                    currentExecutionTarget);
-            this.component.initWorker(new EmbeddedCallbackComponentWorker( this.delegateQueue,this.component));
+            final JacpContext<EventHandler<Event>, Object> jacpContext = this.component.getContext();
+            try (EventSpan span = JfrEvents.beginComponentInit(jacpContext.getParentId(), jacpContext.getId(), this.component.getComponent())) {
+                runCallbackOnStartMethods(this.component);
+                final Message<Event, Object> myAction = this.action;
+                final InternalContext context = InternalContext.class.cast(this.component.getContext());
+                context.updateReturnTarget(myAction.getSourceId());
+                final String currentExecutionTarget = context.getExecutionTarget();
+                final Object value = handleAsyncMessage(myAction,component.getComponent(),myAction.getMessageBody().getClass());//this.component.getComponent().handle(myAction);
+                final String targetId = context
+                        .getReturnTargetAndClear();
+                WorkerUtil.delegateReturnValue(this.component, targetId, value,
+                        myAction);
+                this.checkAndHandleTargetChange(this.component,
+                        currentExecutionTarget);
+                this.component.initWorker(new EmbeddedCallbackComponentWorker( this.delegateQueue,this.component));
+            }
             handleComponentShutdown(this.component);
         return this.component;
     }
 
     private Object handleAsyncMessage(Message<Event, Object> message, Object componentHandle, Class<?> messageType) {
         Object value = null;
-        final Method asyncMethod = asyncMethodMap.get(messageType);
-        if (asyncMethod != null) {
-            value = FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentHandle, message);
+        final MessageHandlerInvoker asyncHandler = handlers.getOnAsyncMessage(messageType);
+        if (asyncHandler != null) {
+            value = asyncHandler.invoke(componentHandle, message, null);
         }
         return value;
     }
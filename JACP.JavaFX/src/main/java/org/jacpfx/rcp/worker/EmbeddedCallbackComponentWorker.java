@@ -26,21 +26,21 @@ package org.jacpfx.rcp.worker;
 
 import javafx.event.Event;
 import javafx.event.EventHandler;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.exceptions.NonUniqueComponentException;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.metrics.ComponentMetrics;
+import org.jacpfx.rcp.recorder.FlightPhase;
+import org.jacpfx.rcp.recorder.FlightRecorder;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.util.*;
 
-import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This class handles running stateful background component
@@ -52,80 +52,89 @@ class EmbeddedCallbackComponentWorker
         AEmbeddedComponentWorker {
     private final SubComponent<EventHandler<Event>, Event, Object> component;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue;
-    private final Map<Class, Method> asyncMethodMap;
+    private final MessageHandlers handlers;
+
+    private boolean shutdownRequested;
 
     public EmbeddedCallbackComponentWorker(
             final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delegateQueue,
-            final SubComponent<EventHandler<Event>, Event, Object> component) {
-        super(component.getContext().getId());
+            final ASubComponent component) {
+        super(component);
         this.component = component;
         this.delegateQueue = delegateQueue;
         final ComponentHandle<?, Event, Object> handle = component.getComponent();
-        asyncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), p -> p));
-        ShutdownThreadsHandler.registerThread(this);
+        this.handlers = MessageHandlers.of(handle.getClass());
     }
 
     // TODO check behavior when component set to active==false and other messages are in pipe
     @Override
-    public void run() {
+    void handleMessage(final Message<Event, Object> myAction) throws Exception {
         final Thread t = Thread.currentThread();
+        if (WorkerUtil.isReplyDone(myAction)) return;
         try {
-            boolean wasExecuted = false;
-            while (!Thread.interrupted()) {
-                try {
-                    final Message<Event, Object> myAction = this.component
-                            .getNextIncomingMessage();
-                    this.component.lock();
-                    MessageLoggerService.getInstance().receive(myAction);
-                    checkValidComponent(this.component);
-                    wasExecuted = true;
-                    final InternalContext context = InternalContext.class.cast(this.component.getContext());
-                    context.updateReturnTarget(myAction.getSourceId());
-                    final String currentExecutionTarget = context.getExecutionTarget();
+            MessageLoggerService.getInstance().receive(myAction);
+            FlightRecorder.record(FlightPhase.RECEIVE, myAction, this.component.getContext().getFullyQualifiedId());
+            checkValidComponent(this.component);
+            final InternalContext context = InternalContext.class.cast(this.component.getContext());
+            context.updateReturnTarget(myAction.getSourceId());
+            final String currentExecutionTarget = context.getExecutionTarget();
+            final String parentId = this.component.getContext().getParentId();
+            final String id = this.component.getContext().getId();
+            JfrEvents.mailboxWait(parentId, id, myAction);
 
-                    final Object value = handleAsyncMessage(myAction,this.component.getComponent(),myAction.getMessageBody().getClass());
+            final ComponentMetrics metrics = getMetrics();
+            final long start = metrics.beginHandle();
+            final Object value;
+            try (EventSpan span = JfrEvents.beginHandle(parentId, id, myAction)) {
+                value = handleAsyncMessage(myAction, this.component.getComponent(), myAction.getMessageBody().getClass());
+            } finally {
+                metrics.endHandle(start);
+            }
+            FlightRecorder.record(FlightPhase.HANDLE, myAction, this.component.getContext().getFullyQualifiedId());
 
 
-                    final String targetId = context
-                            .getReturnTargetAndClear();
-                    WorkerUtil.delegateReturnValue(this.component, targetId, value,
-                            myAction);
-                    this.checkAndHandleTargetChange(this.component,
-                            currentExecutionTarget);
-                    this.component.release();
-                    if (!component.getContext().isActive()) break;
-                } catch (InterruptedException e) {
-                    if(!t.isInterrupted())t.interrupt();
-                } catch (final IllegalStateException e) {
-                    if (e.getMessage().contains("Not on FX application thread")) {
-                        t.getUncaughtExceptionHandler().uncaughtException(t, new UnsupportedOperationException(
-                                "Do not reuse Node component in handleAction method, use postHandleAction instead to verify that you change nodes in JavaFX main Thread:",
-                                e));
-                    } else {
-                        t.getUncaughtExceptionHandler().uncaughtException(t, e);
-                    }
-                } catch (Exception e) {
-                    t.getUncaughtExceptionHandler().uncaughtException(t, e);
-                }
-                Thread.yield();
+            final String targetId = context
+                    .getReturnTargetAndClear();
+            WorkerUtil.delegateReturnValue(this.component, targetId, value,
+                    myAction);
+            this.checkAndHandleTargetChange(this.component,
+                    currentExecutionTarget);
+            if (!component.getContext().isActive()) {
+                stop();
+                shutdownRequested = true;
+            }
+        } catch (final IllegalStateException e) {
+            if (e.getMessage().contains("Not on FX application thread")) {
+                t.getUncaughtExceptionHandler().uncaughtException(t, new UnsupportedOperationException(
+                        "Do not reuse Node component in handleAction method, use postHandleAction instead to verify that you change nodes in JavaFX main Thread:",
+                        e));
+            } else {
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
             }
-            if (wasExecuted) handleComponentShutdown(this.component);
-        } finally {
-            if (this.component.isBlocked()) this.component.release();
         }
+    }
 
+    @Override
+    void afterRun() {
+        if (shutdownRequested) {
+            shutdownRequested = false;
+            handleComponentShutdown(this.component);
+        }
     }
 
     private Object handleAsyncMessage(Message<Event, Object> message,  ComponentHandle<?, Event, Object> componentHandle, Class<?> messageType)
         throws Exception {
         Object value = null;
-        final Method asyncMethod = asyncMethodMap.get(messageType);
-        if (asyncMethod != null) {
-            value = FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentHandle, message);
+        final MessageHandlerInvoker asyncHandler = handlers.getOnAsyncMessage(messageType);
+        if (asyncHandler != null) {
+            value = asyncHandler.invoke(componentHandle, message, null);
         } else {
-            value =  componentHandle.handle(message);
+            try {
+                value = componentHandle.handle(message);
+            } catch (final Exception e) {
+                WorkerUtil.failReply(message, e);
+                throw e;
+            }
         }
         return value;
     }
@@ -163,7 +172,6 @@ class EmbeddedCallbackComponentWorker
     @Override
     public void cleanAfterInterrupt() {
         this.component.release();
-        ShutdownThreadsHandler.unRegisterThread(this);
     }
 
 }
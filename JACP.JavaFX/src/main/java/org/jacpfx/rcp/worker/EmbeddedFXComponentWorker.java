@@ -29,8 +29,8 @@ import javafx.collections.ObservableList;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
-import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.annotations.component.DeclarativeView;
+import org.jacpfx.api.annotations.component.View;
 import org.jacpfx.api.component.ComponentView;
 import org.jacpfx.api.component.Perspective;
 import org.jacpfx.api.component.SubComponent;
@@ -38,23 +38,27 @@ import org.jacpfx.api.context.JacpContext;
 import org.jacpfx.api.exceptions.NonUniqueComponentException;
 import org.jacpfx.api.message.Message;
 import org.jacpfx.api.util.UIType;
-import org.jacpfx.concurrency.FXWorker;
 import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.componentLayout.FXComponentLayout;
 import org.jacpfx.rcp.componentLayout.PerspectiveLayout;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.metrics.ComponentMetrics;
+import org.jacpfx.rcp.recorder.FlightPhase;
+import org.jacpfx.rcp.recorder.FlightRecorder;
 import org.jacpfx.rcp.registry.ComponentRegistry;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.jacpfx.rcp.scheduler.FXUpdateQueue;
+import org.jacpfx.rcp.scheduler.MailboxScheduler;
 import org.jacpfx.rcp.util.*;
 
-import java.lang.reflect.Method;
 import java.security.InvalidParameterException;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.Semaphore;
 
 /**
  * Background Worker to execute component handle method in separate thread and
@@ -69,58 +73,71 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
     private final Map<String, Node> targetComponents;
     private final EmbeddedFXComponent component;
     private final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> componentDelegateQueue;
-    private final Map<Class, Method> syncMethodMap;
-    private final Map<Class, Method> asyncMethodMap;
+    private final MessageHandlers handlers;
+    /**
+     * limits the pending UI updates in pipelined mode, null if not pipelined
+     */
+    private final Semaphore inFlight;
+    private volatile String publishedTargetLayout;
+    private volatile String publishedExecutionTarget;
 
     public EmbeddedFXComponentWorker(
             final Map<String, Node> targetComponents,
             final BlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> componentDelegateQueue,
             final EmbeddedFXComponent component) {
-        super(component.getContext().getId());
+        super(component);
         this.targetComponents = targetComponents;
         this.component = component;
         this.componentDelegateQueue = componentDelegateQueue;
-        ShutdownThreadsHandler.registerThread(this);
         ComponentView<Node, Event, Object> handle = this.component.getComponentViewHandle();
-        syncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnMessage.class).value(), p -> p));
-        asyncMethodMap = Stream.of(handle.getClass().getMethods()).
-                filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).
-                collect(Collectors.toMap(method -> method.getAnnotation(OnAsyncMessage.class).value(), p -> p));
+        this.handlers = MessageHandlers.of(handle.getClass());
 
+        final int pipelineDepth = getPipelineDepth(handle.getClass());
+        this.inFlight = pipelineDepth > 1 ? new Semaphore(pipelineDepth) : null;
+        final InternalContext context = InternalContext.class.cast(component.getContext());
+        this.publishedTargetLayout = context.getTargetLayout();
+        this.publishedExecutionTarget = context.getExecutionTarget();
         // TODO check for duplicate OnMessage methods
     }
 
-
-    @Override
-    public final void run() {
-        try {
-            this.component.lock();
-            while (!Thread.interrupted()) {
-                handleComponentExecution(this.component, this.targetComponents);
-            }
-            this.component.release();
-        } finally {
-            if (this.component.isBlocked()) this.component.release();
-        }
+    private static int getPipelineDepth(final Class<?> handleClass) {
+        final View view = handleClass.getAnnotation(View.class);
+        if (view != null) return view.pipelineDepth();
+        final DeclarativeView declarativeView = handleClass.getAnnotation(DeclarativeView.class);
+        if (declarativeView != null) return declarativeView.pipelineDepth();
+        return 1;
     }
 
-    private void handleComponentExecution(final EmbeddedFXComponent component, final Map<String, Node> targetComponents) {
+
+    @Override
+    void handleMessage(final Message<Event, Object> message) throws Exception {
         final Thread t = Thread.currentThread();
         try {
-            final Message<Event, Object> message = component.getNextIncomingMessage();
             MessageLoggerService.getInstance().receive(message);
+            FlightRecorder.record(FlightPhase.RECEIVE, message, component.getContext().getFullyQualifiedId());
             final Node previousContainer = component.getRoot();
             final InternalContext contextImpl = InternalContext.class.cast(component.getContext());
             final String currentTargetLayout = contextImpl.getTargetLayout();
             final String currentExecutionTarget = contextImpl.getExecutionTarget();
             final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
             final Class<?> messageType = message.getMessageBody().getClass();
+            final String parentId = component.getContext().getParentId();
+            final String id = component.getContext().getId();
+            JfrEvents.mailboxWait(parentId, id, message);
+
+            final ComponentMetrics metrics = getMetrics();
+            final long start = metrics.beginHandle();
+            final Node value;
+            try (EventSpan span = JfrEvents.beginHandle(parentId, id, message)) {
+                value = handleAsyncMessage(message, componentViewHandle, messageType);
+            } finally {
+                metrics.endHandle(start);
+            }
+            FlightRecorder.record(FlightPhase.HANDLE, message, component.getContext().getFullyQualifiedId());
 
-            final Node value = handleAsyncMessage(message, componentViewHandle, messageType);
-
-            handleSyncMessage(component, targetComponents, message, previousContainer, currentTargetLayout, currentExecutionTarget, messageType, value);
+            publish(component, message, handlers.getOnMessage(messageType), targetComponents,
+                    value, previousContainer,
+                    currentTargetLayout, currentExecutionTarget);
 
         } catch (final IllegalStateException e) {
             if (e.getMessage().contains("Not on FX application thread")) {
@@ -128,33 +145,16 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
                         "Do not reuse Node component in handleAction method, use postHandleAction instead to verify that you change nodes in JavaFX main Thread:",
                         e));
             }
-        } catch (InterruptedException e) {
-            if(!t.isInterrupted())t.interrupt();
-        } catch (Exception e) {
-            t.getUncaughtExceptionHandler().uncaughtException(t, e);
         }
 
     }
 
-    private void handleSyncMessage(EmbeddedFXComponent component, Map<String, Node> targetComponents, Message<Event, Object> message, Node previousContainer, String currentTargetLayout, String currentExecutionTarget, Class<?> messageType, Node value) throws InterruptedException, ExecutionException {
-        final Method syncMethod = syncMethodMap.get(messageType);
-        if (syncMethod != null) {
-            publish(component, message, syncMethod, targetComponents,
-                    value, previousContainer,
-                    currentTargetLayout, currentExecutionTarget);
-        } else {
-            publish(component, message, targetComponents,
-                value, previousContainer,
-                currentTargetLayout, currentExecutionTarget);
-        }
-    }
-
     private Node handleAsyncMessage(Message<Event, Object> message, ComponentView<Node, Event, Object> componentHandle, Class<?> messageType)
         throws Exception {
         Node value;
-        final Method asyncMethod = asyncMethodMap.get(messageType);
-        if (asyncMethod != null) {
-            value = (Node) FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentHandle, message);
+        final MessageHandlerInvoker asyncHandler = handlers.getOnAsyncMessage(messageType);
+        if (asyncHandler != null) {
+            value = (Node) asyncHandler.invoke(componentHandle, message, null);
         } else {
             value = componentHandle.handle(message);
         }
@@ -162,74 +162,112 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
     }
 
     /**
-     * publish message result in application main thread
+     * publish message result in application main thread. In pipelined mode the previous container, layout and execution target
+     * are taken from the last published state, as the values read before handle may already contain changes of following messages.
      *
      * @throws InterruptedException
      */
     private void publish(final EmbeddedFXComponent component,
                          final Message<Event, Object> message,
-                         final Method method,
+                         final MessageHandlerInvoker method,
                          final Map<String, Node> targetComponents,
                          final Node handleReturnValue,
                          final Node previousContainer, final String currentTargetLayout, final String currentExecutionTarget)
             throws InterruptedException, ExecutionException {
         final Thread t = Thread.currentThread();
-        FXWorker.invokeOnFXThreadAndWait(() -> {
+        final boolean pipelined = inFlight != null;
+        final Runnable update = () -> {
             // check if component was set to inactive, if so remove
             try {
-                WorkerUtil.executeTypedComponentViewPostHandle(handleReturnValue, component,
-                        message, method);
+                final Node container = pipelined ? component.getRoot() : previousContainer;
+                final String targetLayout = pipelined ? publishedTargetLayout : currentTargetLayout;
+                final String executionTarget = pipelined ? publishedExecutionTarget : currentExecutionTarget;
+                final long start = System.nanoTime();
+                try (EventSpan span = JfrEvents.beginPostHandle(component.getContext().getParentId(), component.getContext().getId(), message)) {
+                    executePostHandle(component, message, method, handleReturnValue);
+                } finally {
+                    getMetrics().recordPostHandle(System.nanoTime() - start);
+                }
+                FlightRecorder.record(FlightPhase.POST_HANDLE, message, component.getContext().getFullyQualifiedId());
 
                 EmbeddedFXComponentWorker.this.publishComponentValue(
                         component, targetComponents,
-                        previousContainer, currentTargetLayout, currentExecutionTarget);
+                        container, targetLayout, executionTarget);
 
 
             } catch (Exception e) {
                 t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            } finally {
+                if (pipelined) updatePublishedState(component);
             }
-        });
+        };
+        if (pipelined) {
+            publishPipelined(update);
+        } else {
+            final long waitStart = getMetrics().beginFXWait();
+            try {
+                MailboxScheduler.managedBlock(() -> FXUpdateQueue.invokeAndWait(update));
+            } finally {
+                getMetrics().endFXWait(waitStart);
+            }
+        }
     }
 
     /**
-     * publish handle result in application main thread
+     * Submits the UI update without waiting for execution. The worker waits only when the max amount of pending updates is reached.
      *
+     * @param update the UI update
      * @throws InterruptedException
+     * @throws ExecutionException
      */
-    private void publish(final EmbeddedFXComponent component,
-        final Message<Event, Object> message,
-        final Map<String, Node> targetComponents,
-        final Node handleReturnValue,
-        final Node previousContainer, final String currentTargetLayout, final String currentExecutionTarget)
-        throws InterruptedException, ExecutionException {
-        final Thread t = Thread.currentThread();
-        FXWorker.invokeOnFXThreadAndWait(() -> {
-            // check if component was set to inactive, if so remove
+    private void publishPipelined(final Runnable update) throws InterruptedException, ExecutionException {
+        final long waitStart = getMetrics().beginFXWait();
+        try {
+            MailboxScheduler.managedBlock(inFlight::acquire);
+        } finally {
+            getMetrics().endFXWait(waitStart);
+        }
+        FXUpdateQueue.submit(() -> {
             try {
-                Node  potsHandleReturnValue = component.getComponentViewHandle().postHandle(handleReturnValue,
-                    message); // fallback to postHandle method
-                if (potsHandleReturnValue == null) {
-                    potsHandleReturnValue = handleReturnValue;
-                } else if (component.getType().equals(UIType.DECLARATIVE)) {
-                    throw new UnsupportedOperationException(
-                        "declarative component should not have a return value in postHandle method, otherwise you would overwrite the FXML root node.");
-                }
-                if (potsHandleReturnValue != null
-                    && component.getType().equals(UIType.PROGRAMMATIC)) {
-                    component.setRoot(potsHandleReturnValue);
-                }
-
-                EmbeddedFXComponentWorker.this.publishComponentValue(
-                    component, targetComponents,
-                    previousContainer, currentTargetLayout, currentExecutionTarget);
-
-
-            } catch (Exception e) {
-                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+                // skip pending updates of a component which was shut down or moved
+                if (isRunning()) update.run();
+            } finally {
+                inFlight.release();
             }
         });
     }
 
+    private void updatePublishedState(final EmbeddedFXComponent component) {
+        final JacpContext<EventHandler<Event>, Object> context = component.getContext();
+        if (context == null) return;
+        final InternalContext contextImpl = InternalContext.class.cast(context);
+        publishedTargetLayout = contextImpl.getTargetLayout();
+        publishedExecutionTarget = contextImpl.getExecutionTarget();
+    }
+
+    private static void executePostHandle(final EmbeddedFXComponent component,
+                                          final Message<Event, Object> message,
+                                          final MessageHandlerInvoker method,
+                                          final Node handleReturnValue) throws Exception {
+        if (method != null) {
+            WorkerUtil.executeTypedComponentViewPostHandle(handleReturnValue, component,
+                    message, method);
+            return;
+        }
+        Node  potsHandleReturnValue = component.getComponentViewHandle().postHandle(handleReturnValue,
+            message); // fallback to postHandle method
+        if (potsHandleReturnValue == null) {
+            potsHandleReturnValue = handleReturnValue;
+        } else if (component.getType().equals(UIType.DECLARATIVE)) {
+            throw new UnsupportedOperationException(
+                "declarative component should not have a return value in postHandle method, otherwise you would overwrite the FXML root node.");
+        }
+        if (potsHandleReturnValue != null
+            && component.getType().equals(UIType.PROGRAMMATIC)) {
+            component.setRoot(potsHandleReturnValue);
+        }
+    }
+
 
     private boolean removeComponentValue(final Node previousContainer) {
         if (previousContainer != null) {
@@ -345,6 +383,5 @@ class EmbeddedFXComponentWorker extends AEmbeddedComponentWorker {
     @Override
     public final void cleanAfterInterrupt() {
         this.component.release();
-        ShutdownThreadsHandler.unRegisterThread(this);
     }
 }
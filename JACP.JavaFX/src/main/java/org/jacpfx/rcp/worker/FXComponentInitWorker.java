@@ -28,8 +28,6 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
 import org.jacpfx.api.annotations.lifecycle.PostConstruct;
-import org.jacpfx.api.annotations.method.OnMessage;
-import org.jacpfx.api.annotations.method.OnAsyncMessage;
 import org.jacpfx.api.component.ComponentHandle;
 import org.jacpfx.api.component.ComponentView;
 import org.jacpfx.api.component.Perspective;
@@ -43,21 +41,23 @@ import org.jacpfx.rcp.component.EmbeddedFXComponent;
 import org.jacpfx.rcp.componentLayout.FXComponentLayout;
 import org.jacpfx.rcp.context.Context;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.metrics.ComponentMetrics;
 import org.jacpfx.rcp.registry.PerspectiveRegistry;
 import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.util.MessageHandlerInvoker;
+import org.jacpfx.rcp.util.MessageHandlers;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
 import org.jacpfx.rcp.workbench.GlobalMediator;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.Map;
-import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Stream;
 
 /**
  * Background Worker to execute component; handle method to init component.
@@ -97,7 +97,7 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
      * @throws InterruptedException , exception when thread was interrupted
      */
     private void runPreInitMethods() throws InterruptedException, ExecutionException {
-        FXWorker.invokeOnFXThreadAndWait(() -> {
+        invokeOnFXThreadAndWait(() -> {
             setComponentToActiveAndStarted(component);
             final FXComponentLayout layout = Context.class.cast(component.getContext()).getComponentLayout();
             switch (component.getType()) {
@@ -113,6 +113,23 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
         });
     }
 
+    /**
+     * Invokes the runnable on the application thread and records the wait time in the component metrics.
+     *
+     * @param runnable the runnable to invoke
+     * @throws InterruptedException when the worker was interrupted
+     * @throws ExecutionException   when the runnable failed
+     */
+    private void invokeOnFXThreadAndWait(final Runnable runnable) throws InterruptedException, ExecutionException {
+        final ComponentMetrics metrics = this.component.getMetrics();
+        final long waitStart = metrics.beginFXWait();
+        try {
+            FXWorker.invokeOnFXThreadAndWait(runnable);
+        } finally {
+            metrics.endFXWait(waitStart);
+        }
+    }
+
     private void runPreInitOnDeclarativeComponent(final EmbeddedFXComponent component, final FXComponentLayout layout) {
         final URL url = getClass().getResource(
                 component.getViewLocation());
@@ -167,32 +184,35 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
         this.component.lock();
 
         checkValidComponent(this.component);
-        runPreInitMethods();
-        final String name = this.component.getContext().getId();
-        this.log("3.4.4.2.1: subcomponent handle init START: "
-                + name);
-        final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
-        final Class<?> messageType = message.getMessageBody().getClass();
-        final Optional<Method> async = Stream.of(componentViewHandle.getClass().getMethods()).filter(method -> method.isAnnotationPresent(OnAsyncMessage.class)).filter(method -> messageType.isAssignableFrom(method.getAnnotation(OnAsyncMessage.class).value())).findFirst();
-        Node value = null;
-        if (async.isPresent()) {
-            Method asyncMethod = async.get();
-            value = (Node) FXUtil.invokeMethod(OnAsyncMessage.class, asyncMethod, componentViewHandle, message);
-        } else {
-            value = component.getComponentViewHandle().handle(message);
-        }
-        final Optional<Method> sync = Stream.of(componentViewHandle.getClass().getMethods()).filter(method -> method.isAnnotationPresent(OnMessage.class)).filter(method -> messageType.isAssignableFrom(method.getAnnotation(OnMessage.class).value())).findFirst();
-        Method syncMethod = null;
-        if (sync.isPresent()) {
-            syncMethod = sync.get();
-
+        final JacpContext<EventHandler<Event>, Object> context = this.component.getContext();
+        try (EventSpan span = JfrEvents.beginComponentInit(context.getParentId(), context.getId(), this.component.getComponent())) {
+            runPreInitMethods();
+            final String name = this.component.getContext().getId();
+            this.log("3.4.4.2.1: subcomponent handle init START: "
+                    + name);
+            final ComponentView<Node, Event, Object> componentViewHandle = component.getComponentViewHandle();
+            final Class<?> messageType = message.getMessageBody().getClass();
+            final MessageHandlers handlers = MessageHandlers.of(componentViewHandle.getClass());
+            final MessageHandlerInvoker asyncHandler = handlers.getOnAsyncMessage(messageType);
+            Node value = null;
+            final long start = this.component.getMetrics().beginHandle();
+            try {
+                if (asyncHandler != null) {
+                    value = (Node) asyncHandler.invoke(componentViewHandle, message, null);
+                } else {
+                    value = component.getComponentViewHandle().handle(message);
+                }
+            } finally {
+                this.component.getMetrics().endHandle(start);
+            }
+            final MessageHandlerInvoker syncHandler = handlers.getOnMessage(messageType);
+            this.executePostHandleAndAddComponent(value,
+                    this.component, syncHandler, this.message, this.targetComponents);
+            // check if component was shutdown
+            if (!checkIfStartedAndValid(component)) return this.component;
+            this.component.initWorker(new EmbeddedFXComponentWorker(this.targetComponents, this.componentDelegateQueue, this.component));
+            return this.component;
         }
-        this.executePostHandleAndAddComponent(value,
-                this.component, syncMethod, this.message, this.targetComponents);
-        // check if component was shutdown
-        if (!checkIfStartedAndValid(component)) return this.component;
-        this.component.initWorker(new EmbeddedFXComponentWorker(this.targetComponents, this.componentDelegateQueue, this.component));
-        return this.component;
     }
 
     private boolean checkIfStartedAndValid(final EmbeddedFXComponent componentToCheck) {
@@ -224,15 +244,15 @@ public class FXComponentInitWorker extends AComponentWorker<EmbeddedFXComponent>
      * @throws InvocationTargetException
      */
     private void executePostHandleAndAddComponent(
-            final Node handleReturnValue, final EmbeddedFXComponent myComponent, Method syncMethod,
+            final Node handleReturnValue, final EmbeddedFXComponent myComponent, final MessageHandlerInvoker syncHandler,
             final Message<Event, Object> message, final Map<String, Node> targetComponents) throws Exception {
         final Thread t = Thread.currentThread();
-        FXWorker.invokeOnFXThreadAndWait(() -> {
+        invokeOnFXThreadAndWait(() -> {
             try {
                 final ComponentView<Node, Event, Object> componentViewHandle = myComponent.getComponentViewHandle();
                 Node potsHandleReturnValue =null;
-                if (syncMethod != null)
-                    potsHandleReturnValue = (Node) FXUtil.invokeMethod(OnMessage.class, syncMethod, componentViewHandle, message, handleReturnValue);
+                if (syncHandler != null)
+                    potsHandleReturnValue = (Node) syncHandler.invoke(componentViewHandle, message, handleReturnValue);
 
                 if(potsHandleReturnValue==null)
                     potsHandleReturnValue = component.getComponentViewHandle().postHandle(handleReturnValue,
@@ -29,8 +29,15 @@ import javafx.event.EventHandler;
 import org.jacpfx.api.component.StatelessCallabackComponent;
 import org.jacpfx.api.component.SubComponent;
 import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
 import org.jacpfx.rcp.component.ASubComponent;
 import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.message.MessageDeadlines;
+import org.jacpfx.rcp.recorder.FlightPhase;
+import org.jacpfx.rcp.recorder.FlightRecorder;
+import org.jacpfx.rcp.scheduler.StatelessComponentSchedulerImpl;
 import org.jacpfx.rcp.util.MessageLoggerService;
 import org.jacpfx.rcp.util.TearDownHandler;
 import org.jacpfx.rcp.util.WorkerUtil;
@@ -39,7 +46,7 @@ import java.util.concurrent.ExecutionException;
 
 /**
  * CallbackComponent worker to run instances of a stateless component in a worker
- * thread.
+ * thread. After the instance handled its own message it takes the messages queued for the parent component, before it returns to the idle instances.
  * 
  * @author Andy Moncsek
  * 
@@ -48,13 +55,16 @@ public class StateLessComponentRunWorker
 		extends
         AComponentWorker<SubComponent<EventHandler<Event>, Event, Object>> {
 	private final SubComponent<EventHandler<Event>, Event, Object> component;
-	private final StatelessCallabackComponent<EventHandler<Event>, Event, Object> parent;
+	private final AStatelessCallbackComponent parent;
+	private final StatelessComponentSchedulerImpl scheduler;
 
 	public StateLessComponentRunWorker(
 			final SubComponent<EventHandler<Event>, Event, Object> component,
-			final StatelessCallabackComponent<EventHandler<Event>, Event, Object> parent) {
+			final AStatelessCallbackComponent parent,
+			final StatelessComponentSchedulerImpl scheduler) {
 		this.component = component;
 		this.parent = parent;
+		this.scheduler = scheduler;
 	}
 
 	@Override
@@ -64,24 +74,48 @@ public class StateLessComponentRunWorker
                 this.component.lock();
                 if(!component.getContext().isActive())runCallbackOnStartMethods(this.component);
 				while (this.component.hasIncomingMessage()) {
-					final Message<Event, Object> myAction = this.component
-							.getNextIncomingMessage();
-					MessageLoggerService.getInstance().receive(myAction);
-                    final InternalContext context = InternalContext.class.cast(this.component.getContext());
-                    context.updateActiveState(true);
-                    context.updateReturnTarget(myAction.getSourceId());
-                    final Object value = this.component.getComponent().handle(myAction);
-                    final String targetId = context
-                            .getReturnTargetAndClear();
-					WorkerUtil.delegateReturnValue(this.component, targetId, value,
-                            myAction);
+					handleMessage(this.component.getNextIncomingMessage());
+				}
+				Message<Event, Object> pending;
+				while (this.component.getContext().isActive() && (pending = this.parent.pollPendingMessage()) != null) {
+					handleMessage(pending);
 				}
 			} finally {
 				this.component.release();
+				// a deactivated instance shuts down the parent component in done()
+				if (this.component.getContext().isActive()) this.scheduler.instanceDone(this.parent, this.component);
 			}
 		return this.component;
 	}
 
+	private void handleMessage(final Message<Event, Object> myAction) throws Exception {
+		if (WorkerUtil.isReplyDone(myAction) || MessageDeadlines.dropIfExpired(myAction, MessageDeadlines.Stage.WORKER)) return;
+		MessageLoggerService.getInstance().receive(myAction);
+		FlightRecorder.record(FlightPhase.RECEIVE, myAction, this.component.getContext().getFullyQualifiedId());
+		final InternalContext context = InternalContext.class.cast(this.component.getContext());
+		context.updateActiveState(true);
+		context.updateReturnTarget(myAction.getSourceId());
+		final String parentId = this.component.getContext().getParentId();
+		final String id = this.component.getContext().getId();
+		JfrEvents.mailboxWait(parentId, id, myAction);
+		final long start = System.nanoTime();
+		final Object value;
+		try (EventSpan span = JfrEvents.beginHandle(parentId, id, myAction)) {
+			value = this.component.getComponent().handle(myAction);
+		} catch (final Exception e) {
+			WorkerUtil.failReply(myAction, e);
+			throw e;
+		} finally {
+			// all instances record to the metrics of the registered component
+			this.parent.getMetrics().recordHandle(System.nanoTime() - start);
+		}
+		FlightRecorder.record(FlightPhase.HANDLE, myAction, this.component.getContext().getFullyQualifiedId());
+		final String targetId = context
+				.getReturnTargetAndClear();
+		WorkerUtil.delegateReturnValue(this.component, targetId, value,
+				myAction);
+	}
+
 
 
 	@Override
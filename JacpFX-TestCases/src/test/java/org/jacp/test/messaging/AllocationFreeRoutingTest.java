@@ -0,0 +1,99 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.LinkedTransferQueue;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the heap allocation of the coordinator when routing messages to an active component.
+ */
+public class AllocationFreeRoutingTest {
+    private static final int MESSAGES = 1000;
+    private static final int WARMUP_ROUNDS = 300;
+    private static final int MEASURED_ROUNDS = 100;
+    private static final long MAX_ALLOCATED_BYTES = 1024;
+
+    @Component(id = "allocationTarget")
+    public static class AllocationTarget implements CallbackComponent {
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    private static void route(final MessageCoordinator coordinator, final SubComponent<EventHandler<Event>, Event, Object> component,
+                              final Message<Event, Object>[] messages) throws InterruptedException {
+        for (final Message<Event, Object> message : messages) {
+            coordinator.handleMessage(message.getTargetId(), message);
+        }
+        for (int i = 0; i < messages.length; i++) {
+            component.getNextIncomingMessage();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRoutingToActiveComponentAllocatesNothing() throws InterruptedException {
+        final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        final EmbeddedStatefulComponent component = new EmbeddedStatefulComponent(new AllocationTarget());
+        component.initEnv("allocationPerspective", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("allocationTarget");
+        ComponentRegistry.registerComponent(component);
+        try {
+            final MessageCoordinator coordinator = new MessageCoordinator("allocationPerspective", null, new LinkedTransferQueue<>(), null);
+            coordinator.setComponentHandler(new ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>>() {
+                @Override
+                public void initComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> target) {
+                }
+
+                @Override
+                public void handleAndReplaceComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> target) {
+                    target.putIncomingMessage(message);
+                }
+            });
+            // the envelopes and payloads are created up front, only the routing is measured
+            final Message<Event, Object>[] messages = new Message[MESSAGES];
+            for (int i = 0; i < MESSAGES; i++) {
+                messages[i] = new MessageImpl("allocationPerspective.source", i % 2 == 0 ? "allocationTarget" : "allocationPerspective.allocationTarget", "payload", null);
+            }
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                route(coordinator, component, messages);
+            }
+            final long threadId = Thread.currentThread().getId();
+            final long before = allocationBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                route(coordinator, component, messages);
+            }
+            final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+            // a single allocation per message would add up to several hundred kilobytes, the bound only leaves room for measurement noise
+            assertTrue("allocated bytes for " + (MESSAGES * MEASURED_ROUNDS) + " routed messages: " + allocated, allocated < MAX_ALLOCATED_BYTES);
+        } finally {
+            ComponentRegistry.removeComponent(component);
+        }
+    }
+}
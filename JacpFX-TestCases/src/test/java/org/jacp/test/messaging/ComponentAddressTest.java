@@ -0,0 +1,91 @@
+package org.jacp.test.messaging;
+
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.util.FXUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests parsing and interning of message target addresses.
+ */
+public class ComponentAddressTest {
+
+    @Test
+    public void testLocalAddress() {
+        final ComponentAddress address = ComponentAddress.of("addressComponent");
+        assertTrue(address.isLocal());
+        assertNull(address.getPerspectiveId());
+        assertEquals("addressComponent", address.getComponentId());
+        assertEquals("addressComponent", address.getTargetPerspectiveId());
+        assertEquals("addressComponent", address.getId());
+    }
+
+    @Test
+    public void testQualifiedAddress() {
+        final ComponentAddress address = ComponentAddress.of("addressPerspective.addressComponent");
+        assertFalse(address.isLocal());
+        assertEquals("addressPerspective", address.getPerspectiveId());
+        assertEquals("addressComponent", address.getComponentId());
+        assertEquals("addressPerspective", address.getTargetPerspectiveId());
+        assertEquals("addressPerspective.addressComponent", address.getId());
+    }
+
+    @Test
+    public void testInterning() {
+        final ComponentAddress parsed = ComponentAddress.of("internPerspective.internComponent");
+        assertSame(parsed, ComponentAddress.of("internPerspective", "internComponent"));
+        assertSame(parsed, ComponentAddress.of(new String("internPerspective.internComponent")));
+        assertSame(parsed, ComponentAddress.of("internComponent").qualify("internPerspective"));
+        assertSame(parsed, parsed.qualify("otherPerspective"));
+        assertSame(ComponentAddress.of("internComponent"), ComponentAddress.of(null, "internComponent"));
+        assertNotSame(parsed, ComponentAddress.of("internComponent"));
+        assertTrue(parsed.getIndex() != ComponentAddress.of("internComponent").getIndex());
+    }
+
+    @Test
+    public void testLookupDoesNotIntern() {
+        final ComponentAddress unknown = ComponentAddress.lookup("lookupPerspective.lookupComponent");
+        assertFalse(unknown.isInterned());
+        assertEquals(ComponentAddress.NOT_INTERNED, unknown.getIndex());
+        assertEquals("lookupPerspective", unknown.getPerspectiveId());
+        assertEquals("lookupComponent", unknown.getComponentId());
+        assertNotSame(unknown, ComponentAddress.lookup("lookupPerspective.lookupComponent"));
+        assertEquals(unknown, ComponentAddress.lookup("lookupPerspective", "lookupComponent"));
+        assertEquals(unknown, ComponentAddress.lookup("lookupComponent").qualify("lookupPerspective"));
+        assertFalse(ComponentAddress.lookup("lookupComponent").qualify("lookupPerspective").isInterned());
+
+        final ComponentAddress interned = ComponentAddress.of("lookupPerspective.lookupComponent");
+        assertTrue(interned.isInterned());
+        assertEquals(unknown, interned);
+        assertEquals(unknown.hashCode(), interned.hashCode());
+        assertSame(interned, ComponentAddress.lookup("lookupPerspective.lookupComponent"));
+        assertSame(interned, ComponentAddress.lookup("lookupPerspective", "lookupComponent"));
+    }
+
+    @Test
+    public void testMessageTargetAddress() {
+        final MessageImpl message = new MessageImpl("source", "messagePerspective.messageComponent", "body", null);
+        assertSame(ComponentAddress.of("messagePerspective", "messageComponent"), message.getTargetAddress());
+        assertSame(message.getTargetAddress(), message.cloneMessage().getTargetAddress());
+    }
+
+    @Test
+    public void testFXUtilIdHelper() {
+        assertEquals("p1", FXUtil.getTargetPerspectiveId("p1.c1"));
+        assertEquals("p1", FXUtil.getTargetPerspectiveId("p1"));
+        assertEquals("p1", FXUtil.getParentFromId("p1.c1"));
+        assertEquals("c1", FXUtil.getTargetComponentId("p1.c1"));
+        assertEquals("c1", FXUtil.getTargetComponentId("c1"));
+        assertEquals("p1.c1", FXUtil.getQualifiedComponentId("p1", "c1"));
+        assertEquals("c1", FXUtil.getQualifiedComponentId(null, "c1"));
+        assertTrue(FXUtil.isLocalMessage("c1"));
+        assertFalse(FXUtil.isLocalMessage("p1.c1"));
+    }
+}
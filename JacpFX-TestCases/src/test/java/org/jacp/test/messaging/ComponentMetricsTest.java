@@ -0,0 +1,144 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.metrics.ComponentMetrics;
+import org.jacpfx.rcp.metrics.ComponentMetricsMXBean;
+import org.jacpfx.rcp.metrics.LatencyHistogram;
+import org.jacpfx.rcp.metrics.PerspectiveMetrics;
+import org.jacpfx.rcp.metrics.PerspectiveMetricsMXBean;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.junit.Test;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the component metrics, the latency histogram and the published JMX beans.
+ */
+public class ComponentMetricsTest {
+
+    @Component(id = "metricsComponent")
+    public static class MetricsComponent implements CallbackComponent {
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) histogram.record(500);
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(100, histogram.getCount());
+        assertEquals(98, histogram.getBucketCounts()[0]);
+        assertEquals(1, histogram.getBucketCounts()[2]);
+        assertEquals(1024, histogram.getPercentileNanos(50));
+        assertEquals(4096, histogram.getPercentileNanos(99));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), histogram.getPercentileNanos(100));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), histogram.getMaxNanos());
+        assertEquals(histogram.getCount(), histogram.snapshot().getCount());
+        // negative latencies are counted in the first bucket
+        histogram.record(-1);
+        assertEquals(99, histogram.getBucketCounts()[0]);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    @Test
+    public void testHandleAndWaitTracking() throws InterruptedException {
+        final ComponentMetrics metrics = new ComponentMetrics();
+        final long start = metrics.beginHandle();
+        Thread.sleep(5);
+        assertTrue(metrics.getHandleRunningNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.endHandle(start);
+        assertEquals(0, metrics.getHandleRunningNanos());
+        assertEquals(1, metrics.getHandledCount());
+        assertTrue(metrics.getHandleLatency().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(metrics.getHandledPerSecond() > 0d);
+
+        metrics.endFXWait(metrics.beginFXWait());
+        assertEquals(1, metrics.getFXWaitLatency().getCount());
+        assertEquals(0, metrics.getFXWaitRunningNanos());
+        metrics.reset();
+        assertEquals(0, metrics.getHandledCount());
+    }
+
+    @Test
+    public void testJmxBeans() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        final PerspectiveMetrics perspectiveMetrics = new PerspectiveMetrics("metricsPerspective", queue);
+        final EmbeddedStatefulComponent component = new EmbeddedStatefulComponent(new MetricsComponent());
+        component.initEnv("metricsPerspective", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("metricsComponent");
+        final ObjectName perspectiveName = PerspectiveMetrics.getPerspectiveName("metricsPerspective");
+        final ObjectName componentName = PerspectiveMetrics.getComponentName("metricsPerspective", "metricsComponent");
+        perspectiveMetrics.register();
+        try {
+            assertTrue(server.isRegistered(perspectiveName));
+            ComponentRegistry.registerComponent(component);
+            assertTrue(server.isRegistered(componentName));
+
+            final PerspectiveMetricsMXBean perspective = JMX.newMXBeanProxy(server, perspectiveName, PerspectiveMetricsMXBean.class);
+            final ComponentMetricsMXBean bean = JMX.newMXBeanProxy(server, componentName, ComponentMetricsMXBean.class);
+            assertEquals(1, perspective.getComponentCount());
+            assertEquals(10, perspective.getQueueCapacity());
+            queue.send(new MessageImpl("metricsPerspective.source", "metricsPerspective.metricsComponent", "queued", null));
+            assertEquals(1, perspective.getQueueDepth());
+
+            // the component has no worker, so the messages stay in the mailbox
+            final Message<Event, Object> message = new MessageImpl("metricsPerspective.source", "metricsPerspective.metricsComponent", 1, null);
+            component.putIncomingMessage(message);
+            component.putIncomingMessage(new MessageImpl("metricsPerspective.source", "metricsPerspective.metricsComponent", "two", null));
+            assertEquals(2, bean.getMailboxDepth());
+            final List<String> dump = bean.dumpMailbox();
+            assertEquals(2, dump.size());
+            assertTrue(dump.get(0).contains("metricsPerspective.source -> metricsPerspective.metricsComponent"));
+            assertTrue(dump.get(0).contains(Integer.class.getName()));
+            assertEquals(MetricsComponent.class.getName(), bean.getComponentType());
+            assertEquals(1, bean.getInstanceCount());
+
+            component.getMetrics().recordHandle(TimeUnit.MILLISECONDS.toNanos(2));
+            assertEquals(1, bean.getHandledCount());
+            assertEquals(1, bean.getHandleLatency().getCount());
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(2), bean.getHandleLatency().getMaxNanos());
+
+            assertTrue(perspective.listBlockedComponents(0).isEmpty());
+            final long waitStart = component.getMetrics().beginFXWait();
+            Thread.sleep(20);
+            final List<String> blocked = perspective.listBlockedComponents(10);
+            assertEquals(1, blocked.size());
+            assertTrue(blocked.get(0).startsWith("metricsPerspective.metricsComponent waits for the application thread"));
+            assertTrue(bean.getBlockedMillis() >= 20);
+            component.getMetrics().endFXWait(waitStart);
+            assertTrue(perspective.listBlockedComponents(0).isEmpty());
+
+            bean.resetMetrics();
+            assertEquals(0, bean.getHandledCount());
+
+            ComponentRegistry.removeComponent(component);
+            assertFalse(server.isRegistered(componentName));
+            assertEquals(0, perspective.getComponentCount());
+        } finally {
+            ComponentRegistry.removeComponent(component);
+            perspectiveMetrics.unregister();
+        }
+        assertFalse(server.isRegistered(perspectiveName));
+    }
+}
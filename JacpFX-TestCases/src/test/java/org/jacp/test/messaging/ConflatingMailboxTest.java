@@ -0,0 +1,123 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageKeyExtractor;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.ConflatingMailbox;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the key based conflation of the component mailbox.
+ */
+public class ConflatingMailboxTest {
+
+    public static final class Tick {
+        private final String symbol;
+        private final int price;
+
+        Tick(final String symbol, final int price) {
+            this.symbol = symbol;
+            this.price = price;
+        }
+    }
+
+    private static final MessageKeyExtractor BY_SYMBOL = message -> message.getMessageBody() instanceof Tick ? ((Tick) message.getMessageBody()).symbol : null;
+
+    private static Message<Event, Object> message(final Object body) {
+        return new MessageImpl("source", "target", body, null);
+    }
+
+    private static int price(final Message<Event, Object> message) {
+        return message.getTypedMessageBody(Tick.class).price;
+    }
+
+    @Test
+    public void testLatestValuePerKey() throws InterruptedException {
+        final ConflatingMailbox mailbox = new ConflatingMailbox(BY_SYMBOL);
+        mailbox.put(message(new Tick("A", 1)));
+        mailbox.put(message(new Tick("B", 1)));
+        mailbox.put(message(new Tick("A", 2)));
+        mailbox.put(message(new Tick("A", 3)));
+        mailbox.put(message(new Tick("B", 2)));
+        assertEquals(2, mailbox.size());
+        assertEquals(3, mailbox.getConflatedCount());
+        // the latest value keeps the position of the first queued message of its key
+        final Message<Event, Object> first = mailbox.take();
+        assertEquals("A", first.getTypedMessageBody(Tick.class).symbol);
+        assertEquals(3, price(first));
+        assertEquals(2, price(mailbox.take()));
+        assertTrue(mailbox.isEmpty());
+        // a handled key is queued again
+        mailbox.put(message(new Tick("A", 4)));
+        assertEquals(4, price(mailbox.poll()));
+    }
+
+    @Test
+    public void testMessagesWithoutKeyAreNotConflated() {
+        final ConflatingMailbox mailbox = new ConflatingMailbox(BY_SYMBOL);
+        mailbox.put(message("text"));
+        mailbox.put(message("text"));
+        mailbox.put(message(new Tick("A", 1)));
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final Message<Event, Object> request = MessageImpl.createRequestMessage("source", "target", new Tick("A", 2), reply);
+        mailbox.put(request);
+        assertEquals(4, mailbox.size());
+        assertEquals(0, mailbox.getConflatedCount());
+        final List<Message<Event, Object>> drained = new ArrayList<>();
+        assertEquals(4, mailbox.drainTo(drained));
+        assertSame(request, drained.get(3));
+    }
+
+    @Test
+    public void testConflateByType() {
+        final ConflatingMailbox mailbox = new ConflatingMailbox(new MessageKeyExtractor.ByType());
+        mailbox.put(message("first"));
+        mailbox.put(message(1));
+        mailbox.put(message("second"));
+        assertEquals(2, mailbox.size());
+        assertEquals("second", mailbox.poll().getMessageBody());
+        assertEquals(1, mailbox.poll().getMessageBody());
+        assertNull(mailbox.poll());
+    }
+
+    @Test
+    public void testTakeWaitsForMessage() throws InterruptedException {
+        final ConflatingMailbox mailbox = new ConflatingMailbox(BY_SYMBOL);
+        assertNull(mailbox.poll(10, TimeUnit.MILLISECONDS));
+        final Thread producer = new Thread(() -> mailbox.put(message(new Tick("A", 1))));
+        producer.start();
+        assertEquals(1, price(mailbox.take()));
+        producer.join();
+    }
+
+    @Test
+    public void testMailboxIsOnlySetBeforeMessages() {
+        final EmbeddedStatefulComponent component = new EmbeddedStatefulComponent(new CallbackComponent() {
+        });
+        component.setMessageKeyExtractor(BY_SYMBOL);
+        component.putIncomingMessage(message(new Tick("A", 1)));
+        component.putIncomingMessage(message(new Tick("A", 2)));
+        assertEquals(1, component.getMailboxDepth());
+        try {
+            // a component which may already receive messages keeps its mailbox
+            component.setMessageKeyExtractor(new MessageKeyExtractor.ByType());
+            fail("the mailbox must not be replaced");
+        } catch (IllegalStateException e) {
+            assertEquals(1, component.getMailboxDepth());
+        }
+    }
+}
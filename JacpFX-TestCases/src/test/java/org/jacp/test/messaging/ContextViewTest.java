@@ -0,0 +1,110 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.Resource;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.context.Context;
+import org.jacpfx.rcp.context.ContextView;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.util.FXUtil;
+import org.jacpfx.rcp.workbench.FXWorkbench;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the role based context views handed to workbench, perspective and component handles.
+ */
+public class ContextViewTest {
+
+    public static class Callback implements CallbackComponent {
+    }
+
+    public static class InjectedCallback implements CallbackComponent {
+        @Resource
+        private Context context;
+        @Resource
+        private JacpContextImpl implementationContext;
+    }
+
+    private static JacpContextImpl context(final CoordinatorQueue queue) {
+        final JacpContextImpl context = new JacpContextImpl("viewPerspective", queue);
+        context.setId("viewComponent");
+        return context;
+    }
+
+    private static void assertDenied(final Runnable call) {
+        try {
+            call.run();
+            fail("call should be denied");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRoleOfHandle() {
+        assertEquals(ContextView.Role.CALLBACK_COMPONENT, ContextView.Role.of(new Callback()));
+        final FXWorkbench workbench = (FXWorkbench) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{FXWorkbench.class}, (proxy, method, args) -> null);
+        assertEquals(ContextView.Role.WORKBENCH, ContextView.Role.of(workbench));
+    }
+
+    @Test
+    public void testCallbackComponentView() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        final JacpContextImpl context = context(queue);
+        final ContextView view = new ContextView(context, ContextView.Role.CALLBACK_COMPONENT);
+        assertEquals("viewPerspective.viewComponent", view.getFullyQualifiedId());
+        view.setReturnTarget("viewPerspective.other");
+        assertEquals("viewPerspective.other", context.getReturnTargetAndClear());
+        assertDenied(() -> view.setTargetLayout("main"));
+        assertDenied(() -> view.setExecutionTarget("otherPerspective"));
+        assertDenied(() -> view.getManagedFragmentHandler(Object.class));
+
+        view.send("toSelf");
+        final Message<Event, Object> message = queue.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("toSelf", message.getMessageBody());
+    }
+
+    @Test
+    public void testFXComponentView() {
+        final JacpContextImpl context = context(new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0));
+        final ContextView view = new ContextView(context, ContextView.Role.FX_COMPONENT);
+        view.setTargetLayout("main");
+        assertEquals("main", context.getTargetLayout());
+        view.setExecutionTarget("otherPerspective");
+        assertEquals("otherPerspective", context.getExecutionTarget());
+        assertDenied(() -> view.setReturnTarget("viewPerspective.other"));
+    }
+
+    @Test
+    public void testContextInjection() {
+        final JacpContextImpl context = context(new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0));
+        final InjectedCallback handle = new InjectedCallback();
+        FXUtil.performResourceInjection(handle, context);
+        assertTrue(handle.context instanceof ContextView);
+        // fields of the implementation type can not hold the view, they still get the context itself
+        assertSame(context, handle.implementationContext);
+    }
+
+    @Test
+    public void testWorkbenchView() {
+        final ContextView view = new ContextView(context(new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0)), ContextView.Role.WORKBENCH);
+        assertDenied(() -> view.send("toSelf"));
+        assertDenied(() -> view.setReturnTarget("viewPerspective.other"));
+        assertDenied(() -> view.setTargetLayout("main"));
+        // the framework context is not restricted
+        view.send("viewPerspective.viewComponent", "toComponent");
+    }
+}
@@ -0,0 +1,137 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.exceptions.MessageRejectedException;
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.message.DeadLetterChannel;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the overflow policies of the asynchronous coordinator queue.
+ */
+public class CoordinatorQueueTest {
+
+    private static Message<Event, Object> message(final Object body) {
+        return new MessageImpl("source", "target", body, null);
+    }
+
+    @Test
+    public void testOfferRespectsCapacity() {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 2, MessageOverflowPolicy.FAIL_FAST, 0);
+        assertTrue(queue.offer(message(1)));
+        assertTrue(queue.offer(message(2)));
+        assertFalse(queue.offer(message(3)));
+        assertEquals(0, queue.remainingCapacity());
+        queue.poll();
+        assertEquals(1, queue.remainingCapacity());
+        assertTrue(queue.offer(message(3)));
+    }
+
+    @Test
+    public void testPutIgnoresCapacity() {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 1, MessageOverflowPolicy.FAIL_FAST, 0);
+        queue.put(message(1));
+        queue.put(message(2));
+        assertEquals(2, queue.size());
+        final List<Message<Event, Object>> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testFailFast() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 1, MessageOverflowPolicy.FAIL_FAST, 0);
+        queue.send(message(1));
+        try {
+            queue.send(message(2));
+            fail("message should be rejected");
+        } catch (MessageRejectedException e) {
+            assertEquals(1, queue.getRejectedCount());
+        }
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testDropNewest() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 1, MessageOverflowPolicy.DROP_NEWEST, 0);
+        queue.send(message(1));
+        queue.send(message(2));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(1, queue.poll().getMessageBody());
+    }
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 2, MessageOverflowPolicy.DROP_OLDEST, 0);
+        queue.send(message(1));
+        queue.send(message(2));
+        queue.send(message(3));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(2, queue.poll().getMessageBody());
+        assertEquals(3, queue.poll().getMessageBody());
+    }
+
+    @Test
+    public void testDroppedRequestFailsReply() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 1, MessageOverflowPolicy.DROP_NEWEST, 0);
+        final long before = DeadLetterChannel.getDeadLetterCount(DeadLetterReason.OVERFLOW);
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        queue.send(message(1));
+        queue.send(MessageImpl.createRequestMessage("source", "target", 2, reply));
+        assertEquals(before + 1, DeadLetterChannel.getDeadLetterCount(DeadLetterReason.OVERFLOW));
+        assertTrue(reply.isCompletedExceptionally());
+        try {
+            reply.join();
+            fail("reply should fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof MessageRejectedException);
+        }
+    }
+
+    @Test
+    public void testBlockWithTimeout() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 1, MessageOverflowPolicy.BLOCK, 20);
+        queue.send(message(1));
+        final long start = System.nanoTime();
+        try {
+            queue.send(message(2));
+            fail("message should be rejected after timeout");
+        } catch (MessageRejectedException e) {
+            assertTrue(System.nanoTime() - start >= 20_000_000L);
+            assertEquals(1, queue.getRejectedCount());
+        }
+    }
+
+    @Test
+    public void testBlockUntilCapacityIsFree() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 1, MessageOverflowPolicy.BLOCK, 5000);
+        queue.send(message(1));
+        final Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        queue.send(message(2));
+        consumer.join();
+        assertEquals(0, queue.getRejectedCount());
+        assertEquals(2, queue.poll().getMessageBody());
+    }
+}
@@ -0,0 +1,127 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.DelegateDTO;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.delegator.DelegateDTOImpl;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TransferQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the direct routing of messages to the queue of an other perspective.
+ */
+public class CrossPerspectiveRoutingTest {
+    private final List<Perspective<Node, EventHandler<Event>, Event, Object>> registered = new ArrayList<>();
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    @After
+    public void removePerspectives() {
+        registered.forEach(PerspectiveRegistry::removePerspective);
+        registered.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CoordinatorQueue registerPerspective(final String id, final boolean active) {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        final JacpContextImpl context = new JacpContextImpl(queue);
+        context.setId(id);
+        context.updateActiveState(active);
+        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = (Perspective<Node, EventHandler<Event>, Event, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{Perspective.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getContext":
+                            return context;
+                        case "getMessageQueue":
+                            return queue;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        PerspectiveRegistry.registerPerspective(perspective);
+        registered.add(perspective);
+        return queue;
+    }
+
+    private static Message<Event, Object> message(final String targetId, final Object body) {
+        return new MessageImpl("crossPerspective1.source", targetId, body, null);
+    }
+
+    @Test
+    public void testDirectAndDelegatedRouting() throws InterruptedException {
+        final CoordinatorQueue activeQueue = registerPerspective("crossPerspective2", true);
+        registerPerspective("crossPerspective3", false);
+        final TransferQueue<DelegateDTO<Event, Object>> delegateQueue = new LinkedTransferQueue<>();
+        final MessageCoordinator coordinator = new MessageCoordinator("crossPerspective1", null, delegateQueue, null);
+        coordinator.setComponentHandler(new ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>>() {
+            @Override
+            public void initComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+            }
+
+            @Override
+            public void handleAndReplaceComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+            }
+        });
+        coordinator.start();
+        try {
+            // an active perspective gets the message without the delegator
+            coordinator.getMessageQueue().put(message("crossPerspective2.component", "direct"));
+            assertEquals("direct", activeQueue.poll(5, TimeUnit.SECONDS).getMessageBody());
+            coordinator.getMessageQueue().put(message("crossPerspective2", "perspective"));
+            assertEquals("perspective", activeQueue.poll(5, TimeUnit.SECONDS).getMessageBody());
+            assertNull(delegateQueue.peek());
+
+            // an inactive perspective must be activated by the delegator
+            coordinator.getMessageQueue().put(message("crossPerspective3.component", "inactive"));
+            final DelegateDTO<Event, Object> inactive = delegateQueue.poll(5, TimeUnit.SECONDS);
+            assertNotNull(inactive);
+            assertEquals("crossPerspective3.component", inactive.getTarget());
+
+            // following messages must not overtake the delegated message
+            coordinator.getMessageQueue().put(message("crossPerspective2.component", "afterInactive"));
+            final DelegateDTO<Event, Object> following = delegateQueue.poll(5, TimeUnit.SECONDS);
+            assertNotNull(following);
+            assertEquals("afterInactive", following.getMessage().getMessageBody());
+
+            ((DelegateDTOImpl) inactive).handled();
+            ((DelegateDTOImpl) following).handled();
+            coordinator.getMessageQueue().put(message("crossPerspective2.component", "directAgain"));
+            assertEquals("directAgain", activeQueue.poll(5, TimeUnit.SECONDS).getMessageBody());
+            assertNull(delegateQueue.peek());
+        } finally {
+            coordinator.interrupt();
+        }
+    }
+}
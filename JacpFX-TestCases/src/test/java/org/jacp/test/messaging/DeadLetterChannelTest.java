@@ -0,0 +1,178 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.exceptions.ComponentNotFoundException;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.DeadLetter;
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.DeadLetterChannel;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the dead letter channel for messages which could not be delivered.
+ */
+public class DeadLetterChannelTest {
+    private SubComponent<EventHandler<Event>, Event, Object> subscriber;
+    private Perspective<Node, EventHandler<Event>, Event, Object> perspective;
+
+    @Component(id = "deadLetterView", topics = DeadLetter.TOPIC)
+    public static class DeadLetterSubscriber implements CallbackComponent {
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    @After
+    public void remove() {
+        if (subscriber != null) ComponentRegistry.removeComponent(subscriber);
+        if (perspective != null) PerspectiveRegistry.removePerspective(perspective);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CoordinatorQueue registerPerspective(final String id) {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        final JacpContextImpl context = new JacpContextImpl(queue);
+        context.setId(id);
+        context.updateActiveState(true);
+        perspective = (Perspective<Node, EventHandler<Event>, Event, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{Perspective.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getContext":
+                            return context;
+                        case "getMessageQueue":
+                            return queue;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        PerspectiveRegistry.registerPerspective(perspective);
+        return queue;
+    }
+
+    private void registerSubscriber(final String parentId) {
+        final EmbeddedStatefulComponent component = new EmbeddedStatefulComponent(new DeadLetterSubscriber());
+        component.initEnv(parentId, new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("deadLetterView");
+        ComponentRegistry.registerComponent(component);
+        subscriber = component;
+    }
+
+    @Test
+    public void testUnknownTargetDoesNotThrow() throws Exception {
+        assertUnknownTargetFailsReply("nowhere");
+    }
+
+    @Test
+    public void testUnknownQualifiedTargetDoesNotThrow() throws Exception {
+        // a qualified id in the own perspective which is not declared must not reach the class registry
+        assertUnknownTargetFailsReply("deadLetterPerspective1.nowhere");
+    }
+
+    private void assertUnknownTargetFailsReply(final String targetId) throws Exception {
+        final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        final LinkedBlockingQueue<Message<Event, Object>> delivered = new LinkedBlockingQueue<>();
+        final MessageCoordinator coordinator = new MessageCoordinator("deadLetterPerspective1", null, new LinkedTransferQueue<>(), null);
+        coordinator.setUncaughtExceptionHandler((t, e) -> uncaught.set(e));
+        coordinator.setComponentHandler(new ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>>() {
+            @Override
+            public void initComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+            }
+
+            @Override
+            public void handleAndReplaceComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+                delivered.add(message);
+            }
+        });
+        registerSubscriber("deadLetterPerspective1");
+        final long before = DeadLetterChannel.getDeadLetterCount(DeadLetterReason.UNKNOWN_TARGET);
+        coordinator.start();
+        try {
+            final CompletableFuture<Object> reply = new CompletableFuture<>();
+            coordinator.getMessageQueue().put(MessageImpl.createRequestMessage("deadLetterPerspective1.source", targetId, "question", reply));
+            try {
+                reply.get(5, TimeUnit.SECONDS);
+                fail("reply should fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ComponentNotFoundException);
+            }
+            assertEquals(before + 1, DeadLetterChannel.getDeadLetterCount(DeadLetterReason.UNKNOWN_TARGET));
+            assertNull(uncaught.get());
+            assertTrue(coordinator.isAlive());
+        } finally {
+            coordinator.interrupt();
+            // the reply fails before the dead letter is published, wait until the coordinator is done with it
+            coordinator.join(5000);
+        }
+    }
+
+    @Test
+    public void testSubscriberReceivesDeadLetter() throws InterruptedException {
+        final CoordinatorQueue queue = registerPerspective("deadLetterPerspective2");
+        registerSubscriber("deadLetterPerspective2");
+        final long before = DeadLetterChannel.getDeadLetterCount();
+        final Message<Event, Object> message = new MessageImpl("deadLetterPerspective2.source", "nowhere", "body", null);
+        DeadLetterChannel.deadLetter(message, DeadLetterReason.EXPIRED, "expired");
+        assertEquals(before + 1, DeadLetterChannel.getDeadLetterCount());
+
+        final Message<Event, Object> published = queue.poll(5, TimeUnit.SECONDS);
+        assertNotNull(published);
+        assertEquals(DeadLetter.TOPIC, published.getTopic());
+        assertTrue(published.isTopicLocal());
+        final DeadLetter deadLetter = published.getTypedMessageBody(DeadLetter.class);
+        assertSame(message, deadLetter.getMessage());
+        assertEquals(DeadLetterReason.EXPIRED, deadLetter.getReason());
+
+        // a dead letter about a dead letter is only counted
+        DeadLetterChannel.deadLetter(published, DeadLetterReason.UNKNOWN_TARGET, "unknown");
+        assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDeadLetterWithoutActivePerspectiveIsLost() {
+        registerSubscriber("deadLetterPerspective3");
+        final long lost = DeadLetterChannel.getLostCount();
+        DeadLetterChannel.deadLetter(new MessageImpl("source", "nowhere", "body", null), DeadLetterReason.NO_PERSPECTIVE, "no perspective");
+        assertEquals(lost + 1, DeadLetterChannel.getLostCount());
+    }
+}
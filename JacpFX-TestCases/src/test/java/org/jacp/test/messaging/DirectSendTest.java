@@ -0,0 +1,92 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.LinkedTransferQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the direct delivery of messages to active components of the same perspective.
+ */
+public class DirectSendTest {
+    private CoordinatorQueue queue;
+    private JacpContextImpl sender;
+    private EmbeddedStatefulComponent target;
+
+    @Component(id = "directTarget")
+    public static class DirectTarget implements CallbackComponent {
+    }
+
+    @Before
+    public void registerTarget() {
+        queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        sender = new JacpContextImpl("directPerspective", queue);
+        sender.setId("directSender");
+        target = new EmbeddedStatefulComponent(new DirectTarget());
+        target.initEnv("directPerspective", new LinkedTransferQueue<>());
+        InternalContext.class.cast(target.getContext()).setId("directTarget");
+        ComponentRegistry.registerComponent(target);
+    }
+
+    @After
+    public void removeTarget() {
+        ComponentRegistry.removeComponent(target);
+    }
+
+    @Test
+    public void testActiveLocalTargetIsDeliveredDirectly() throws InterruptedException {
+        sender.send("directTarget", "local");
+        sender.send("directPerspective.directTarget", "qualified");
+        assertEquals(0, queue.size());
+        assertEquals("local", target.getNextIncomingMessage().getMessageBody());
+        final Message<Event, Object> message = target.getNextIncomingMessage();
+        assertEquals("qualified", message.getMessageBody());
+        assertEquals("directPerspective.directSender", message.getSourceId());
+    }
+
+    @Test
+    public void testOtherTargetsUseCoordinator() {
+        sender.send("unknownTarget", "unknown");
+        sender.send("otherPerspective.directTarget", "other");
+        sender.send("directPerspective", "perspective");
+        sender.publish("directTopic", "topic");
+        assertEquals(4, queue.size());
+        assertFalse(target.hasIncomingMessage());
+    }
+
+    @Test
+    public void testNoOvertakingOfQueuedMessages() throws InterruptedException {
+        queue.put(new MessageImpl("directPerspective.directSender", "directTarget", "queued", null));
+        sender.send("directTarget", "next");
+        assertEquals(2, queue.size());
+        assertFalse(target.hasIncomingMessage());
+
+        // messages taken by the coordinator keep the queue busy until they are routed
+        queue.take();
+        queue.take();
+        assertFalse(queue.isIdle());
+        sender.send("directTarget", "routing");
+        assertEquals(1, queue.size());
+        queue.take();
+        queue.routed(3);
+        assertTrue(queue.isIdle());
+        sender.send("directTarget", "idle");
+        assertEquals("idle", target.getNextIncomingMessage().getMessageBody());
+    }
+}
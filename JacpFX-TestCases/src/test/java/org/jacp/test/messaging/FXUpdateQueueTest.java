@@ -0,0 +1,93 @@
+package org.jacp.test.messaging;
+
+import javafx.application.Platform;
+import org.jacpfx.rcp.scheduler.FXUpdateQueue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the batched execution of UI updates on the FX application thread.
+ */
+public class FXUpdateQueueTest {
+
+    @BeforeClass
+    public static void initToolkit() throws TimeoutException {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void testLateSubmitSchedulesNewRun() throws InterruptedException {
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+        FXUpdateQueue.submit(() -> {
+            order.add("first");
+            Platform.runLater(() -> order.add("runLater"));
+            // the running batch only executes the updates submitted before it started, this one needs a new run
+            FXUpdateQueue.submit(() -> {
+                order.add("late");
+                done.countDown();
+            });
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("first", "runLater", "late"), order);
+    }
+
+    @Test
+    public void testUpdatesKeepSubmissionOrder() throws InterruptedException {
+        final int threads = 4;
+        final int updates = 500;
+        final List<List<Integer>> executed = new ArrayList<>();
+        final List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final List<Integer> values = new ArrayList<>();
+            executed.add(values);
+            submitters.add(new Thread(() -> {
+                for (int value = 0; value < updates; value++) {
+                    final int current = value;
+                    // the list is only modified on the application thread
+                    FXUpdateQueue.submit(() -> values.add(current));
+                }
+            }));
+        }
+        submitters.forEach(Thread::start);
+        for (final Thread submitter : submitters) {
+            submitter.join(5000);
+        }
+        // the last update runs after all others, the latch publishes the lists of the application thread
+        final CountDownLatch drained = new CountDownLatch(1);
+        FXUpdateQueue.submit(drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        for (final List<Integer> values : executed) {
+            assertEquals(updates, values.size());
+            for (int value = 0; value < updates; value++) {
+                assertEquals(value, values.get(value).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void testInvokeAndWaitReportsError() throws InterruptedException {
+        try {
+            FXUpdateQueue.invokeAndWait(() -> {
+                throw new IllegalStateException("update failed");
+            });
+            fail("the error of the update should be reported");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
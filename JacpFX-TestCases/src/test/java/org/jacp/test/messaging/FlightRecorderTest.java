@@ -0,0 +1,107 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.recorder.FlightPhase;
+import org.jacpfx.rcp.recorder.FlightRecordAnalyzer;
+import org.jacpfx.rcp.recorder.FlightRecorder;
+import org.jacpfx.rcp.recorder.FlightRecording;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the message flight recorder, its dump format and the stage analysis.
+ */
+public class FlightRecorderTest {
+
+    private static Message<Event, Object> message(final String targetId, final Object body) {
+        return new MessageImpl("flightPerspective.source", targetId, body, null);
+    }
+
+    @Test
+    public void testRecordAndDump() throws IOException, InterruptedException {
+        final FlightRecorder recorder = new FlightRecorder(16);
+        final Message<Event, Object> message = message("flightPerspective.target", 42);
+        recorder.write(FlightPhase.SEND, message);
+        recorder.write(FlightPhase.ROUTE, message);
+        Thread.sleep(2);
+        recorder.write(FlightPhase.RECEIVE, message);
+        recorder.write(FlightPhase.HANDLE, message);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.snapshot(1, TimeUnit.MINUTES).write(out);
+        final FlightRecording recording = FlightRecording.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(4, recording.size());
+        assertEquals(FlightPhase.SEND, recording.getPhase(0));
+        assertEquals(FlightPhase.HANDLE, recording.getPhase(3));
+        assertEquals("flightPerspective.source", recording.getSourceId(2));
+        assertEquals("flightPerspective.target", recording.getTargetId(2));
+        assertEquals(Integer.class.getName(), recording.getPayloadType(2));
+        assertEquals(message.getSequence(), recording.getMessageKey(3));
+        assertTrue(Math.abs(System.currentTimeMillis() - recording.getEpochMillis(0)) < TimeUnit.MINUTES.toMillis(1));
+
+        final Map<String, FlightRecordAnalyzer.TargetStats> stats = FlightRecordAnalyzer.analyze(recording);
+        final FlightRecordAnalyzer.TargetStats target = stats.get("flightPerspective.target");
+        assertEquals(0, target.getCount(FlightPhase.SEND));
+        assertEquals(1, target.getCount(FlightPhase.RECEIVE));
+        assertTrue(target.getMeanNanos(FlightPhase.RECEIVE) >= TimeUnit.MILLISECONDS.toNanos(2));
+        assertTrue(FlightRecordAnalyzer.report(stats).contains("RECEIVE"));
+    }
+
+    @Test
+    public void testTopicReceiversAreMatchedSeparately() throws InterruptedException {
+        final FlightRecorder recorder = new FlightRecorder(16);
+        final Message<Event, Object> published = MessageImpl.createTopicMessage("flightPerspective.source", "flightTopic", 42);
+        final Message<Event, Object> copy = MessageImpl.createLocalTopicMessage(published);
+        assertEquals(published.getCreationTime(), copy.getCreationTime());
+        assertNotEquals(published.getSequence(), copy.getSequence());
+        assertNotEquals(published.getSequence(), published.cloneMessage().getSequence());
+
+        recorder.write(FlightPhase.ROUTE, published);
+        recorder.write(FlightPhase.ROUTE, copy);
+        recorder.write(FlightPhase.RECEIVE, published, "flightPerspective.first");
+        Thread.sleep(2);
+        recorder.write(FlightPhase.RECEIVE, published, "flightPerspective.second");
+        recorder.write(FlightPhase.HANDLE, published, "flightPerspective.first");
+        recorder.write(FlightPhase.HANDLE, published, "flightPerspective.second");
+
+        final FlightRecording recording = recorder.snapshot(1, TimeUnit.MINUTES);
+        assertEquals("flightPerspective.first", recording.getReceiverId(2));
+        assertNull(recording.getReceiverId(0));
+        final FlightRecordAnalyzer.TargetStats topic = FlightRecordAnalyzer.analyze(recording).get("flightTopic");
+        // the perspective local copy is a message of its own, both receivers are matched with the routing of the published message
+        assertEquals(0, topic.getCount(FlightPhase.ROUTE));
+        assertEquals(2, topic.getCount(FlightPhase.RECEIVE));
+        assertEquals(2, topic.getCount(FlightPhase.HANDLE));
+        assertTrue(topic.getMaxNanos(FlightPhase.RECEIVE) >= TimeUnit.MILLISECONDS.toNanos(2));
+        // the handle of the first receiver is matched with its own receive, not with the receive of the second one
+        assertTrue(topic.getMaxNanos(FlightPhase.HANDLE) >= TimeUnit.MILLISECONDS.toNanos(2));
+    }
+
+    @Test
+    public void testOldRecordsAreOverwritten() {
+        final FlightRecorder recorder = new FlightRecorder(5);
+        assertEquals(8, recorder.getCapacity());
+        for (int i = 0; i < 20; i++) {
+            recorder.write(FlightPhase.SEND, message("flightPerspective.target" + i, i));
+        }
+        assertEquals(20, recorder.getRecordCount());
+        final FlightRecording recording = recorder.snapshot(1, TimeUnit.MINUTES);
+        assertEquals(8, recording.size());
+        assertEquals("flightPerspective.target12", recording.getTargetId(0));
+        assertEquals("flightPerspective.target19", recording.getTargetId(7));
+        // records outside of the time window are skipped
+        assertEquals(0, recorder.snapshot(0, TimeUnit.SECONDS).size());
+    }
+}
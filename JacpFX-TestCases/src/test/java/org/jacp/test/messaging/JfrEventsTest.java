@@ -0,0 +1,89 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.jfr.EventSpan;
+import org.jacpfx.rcp.jfr.JfrEvents;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the JacpFX events written to the Java Flight Recorder.
+ */
+public class JfrEventsTest {
+
+    private static Optional<RecordedEvent> find(final List<RecordedEvent> events, final String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst();
+    }
+
+    @Test
+    public void testNoSpanWithoutRecording() {
+        assertTrue(JfrEvents.isEnabled());
+        final Message<Event, Object> message = new MessageImpl("jfrPerspective.source", "jfrPerspective.target", "body", null);
+        assertSame(EventSpan.NONE, JfrEvents.beginHandle("jfrPerspective", "target", message));
+        assertSame(EventSpan.NONE, JfrEvents.beginComponentInit("jfrPerspective", "target", this));
+    }
+
+    @Test
+    public void testEventsAreRecorded() throws IOException {
+        final Path file = Files.createTempFile("jacpfx-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.jacpfx.MessageSend");
+            recording.enable("org.jacpfx.MessageRoute");
+            recording.enable("org.jacpfx.MailboxWait");
+            recording.enable("org.jacpfx.MessageHandle");
+            recording.enable("org.jacpfx.ComponentInit");
+            recording.enable("org.jacpfx.PerspectiveSwitch");
+            recording.disable("org.jacpfx.PostHandle");
+            recording.start();
+
+            final Message<Event, Object> message = new MessageImpl("jfrPerspective.source", "jfrPerspective.target", 42, null);
+            JfrEvents.send("jfrPerspective", "source", message);
+            JfrEvents.route("jfrPerspective", message, "HANDLE_ACTIVE");
+            JfrEvents.mailboxWait("jfrPerspective", "target", message);
+            try (EventSpan span = JfrEvents.beginHandle("jfrPerspective", "target", message)) {
+                assertTrue(span != EventSpan.NONE);
+            }
+            try (EventSpan span = JfrEvents.beginComponentInit("jfrPerspective", "target", this)) {
+                assertTrue(span != EventSpan.NONE);
+            }
+            JfrEvents.beginPerspectiveSwitch("jfrPerspective", "otherPerspective", message).close();
+            // disabled in the recording
+            assertSame(EventSpan.NONE, JfrEvents.beginPostHandle("jfrPerspective", "target", message));
+
+            recording.stop();
+            recording.dump(file);
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            final RecordedEvent send = find(events, "org.jacpfx.MessageSend").get();
+            assertEquals("jfrPerspective", send.getString("perspectiveId"));
+            assertEquals("source", send.getString("componentId"));
+            assertEquals("jfrPerspective.source", send.getString("sourceId"));
+            assertEquals("jfrPerspective.target", send.getString("targetId"));
+            assertEquals(Integer.class.getName(), send.getClass("payloadType").getName());
+            assertEquals("HANDLE_ACTIVE", find(events, "org.jacpfx.MessageRoute").get().getString("decision"));
+            assertTrue(find(events, "org.jacpfx.MailboxWait").get().getDuration("waitTime").toNanos() > 0);
+            assertEquals("target", find(events, "org.jacpfx.MessageHandle").get().getString("componentId"));
+            assertEquals(getClass().getName(), find(events, "org.jacpfx.ComponentInit").get().getClass("componentType").getName());
+            final RecordedEvent perspectiveSwitch = find(events, "org.jacpfx.PerspectiveSwitch").get();
+            assertEquals("jfrPerspective", perspectiveSwitch.getString("previousPerspectiveId"));
+            assertEquals("otherPerspective", perspectiveSwitch.getString("perspectiveId"));
+            assertTrue(!find(events, "org.jacpfx.PostHandle").isPresent());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.jacp.test.messaging;
+
+import org.jacpfx.rcp.scheduler.MailboxScheduler;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that blocking mailbox runs do not starve the shared mailbox pool.
+ */
+public class MailboxSchedulerTest {
+
+    @Test
+    public void testBlockedMailboxesAreCompensated() throws InterruptedException {
+        final int mailboxes = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        final CountDownLatch started = new CountDownLatch(mailboxes);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger finished = new AtomicInteger();
+        for (int i = 0; i < mailboxes; i++) {
+            assertTrue(MailboxScheduler.execute(() -> {
+                started.countDown();
+                try {
+                    MailboxScheduler.managedBlock(release::await);
+                    finished.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        try {
+            // every mailbox blocks, the pool must start additional threads for the remaining ones
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (finished.get() < mailboxes && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(mailboxes, finished.get());
+    }
+
+    @Test
+    public void testReplyWaitsAreCompensated() throws InterruptedException {
+        final int mailboxes = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        final CountDownLatch started = new CountDownLatch(mailboxes);
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final AtomicInteger finished = new AtomicInteger();
+        for (int i = 0; i < mailboxes; i++) {
+            assertTrue(MailboxScheduler.execute(() -> {
+                started.countDown();
+                // a handler waiting for a reply is not wrapped, the future compensates the blocked thread itself
+                reply.join();
+                finished.incrementAndGet();
+            }));
+        }
+        try {
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+        } finally {
+            reply.complete("answer");
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (finished.get() < mailboxes && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(mailboxes, finished.get());
+    }
+
+    @Test
+    public void testNestedManagedBlock() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        MailboxScheduler.execute(() -> {
+            try {
+                MailboxScheduler.managedBlock(() -> MailboxScheduler.managedBlock(calls::incrementAndGet));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,165 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the batch mode of the message coordinator.
+ */
+public class MessageBatchTest {
+    private static final String PERSPECTIVE_ID = "batchPerspective";
+    private static final String OTHER_PERSPECTIVE_ID = "batchOtherPerspective";
+
+    private final LinkedBlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private SubComponent<EventHandler<Event>, Event, Object> component;
+    private Perspective<Node, EventHandler<Event>, Event, Object> otherPerspective;
+    private MessageCoordinator coordinator;
+
+    @Component(id = "batchTarget")
+    public static class BatchTarget implements CallbackComponent {
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void register() {
+        final EmbeddedStatefulComponent target = new EmbeddedStatefulComponent(new BatchTarget());
+        target.initEnv(PERSPECTIVE_ID, new LinkedTransferQueue<>());
+        InternalContext.class.cast(target.getContext()).setId("batchTarget");
+        ComponentRegistry.registerComponent(target);
+        component = target;
+
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        final JacpContextImpl context = new JacpContextImpl(queue);
+        context.setId(OTHER_PERSPECTIVE_ID);
+        context.updateActiveState(true);
+        otherPerspective = (Perspective<Node, EventHandler<Event>, Event, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{Perspective.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getContext":
+                            return context;
+                        case "getMessageQueue":
+                            // the coordinator delegates the message to the other perspective now
+                            events.add("delegate");
+                            return queue;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        PerspectiveRegistry.registerPerspective(otherPerspective);
+
+        coordinator = new MessageCoordinator(PERSPECTIVE_ID, null, new LinkedTransferQueue<>(), null);
+        coordinator.setComponentHandler(new ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>>() {
+            @Override
+            public void initComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> target) {
+            }
+
+            @Override
+            public void handleAndReplaceComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> target) {
+                events.add("deliver " + message.getMessageBody());
+            }
+
+            @Override
+            public void handleAndReplaceComponent(final List<Message<Event, Object>> messages, final SubComponent<EventHandler<Event>, Event, Object> target) {
+                events.add("deliver " + messages.stream().map(message -> String.valueOf(message.getMessageBody())).collect(Collectors.joining(",")));
+            }
+        });
+    }
+
+    @After
+    public void remove() throws InterruptedException {
+        coordinator.interrupt();
+        coordinator.join(5000);
+        ComponentRegistry.removeComponent(component);
+        PerspectiveRegistry.removePerspective(otherPerspective);
+    }
+
+    private void send(final String targetId, final Object body) throws InterruptedException {
+        coordinator.getMessageQueue().put(new MessageImpl(PERSPECTIVE_ID + ".source", targetId, body, null));
+    }
+
+    private String nextEvent() throws InterruptedException {
+        return events.poll(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testNonActiveRouteFlushesCollectedDeliveries() throws InterruptedException {
+        coordinator.setMessageBatch(10, 0);
+        send("batchTarget", 1);
+        send(OTHER_PERSPECTIVE_ID + ".component", 2);
+        send("batchTarget", 3);
+        coordinator.start();
+        // the delivery collected before the delegation is passed first, the one after it is not moved ahead
+        assertEquals("deliver 1", nextEvent());
+        assertEquals("delegate", nextEvent());
+        assertEquals("deliver 3", nextEvent());
+        assertNull(events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBatchSizeLimit() throws InterruptedException {
+        coordinator.setMessageBatch(3, 0);
+        for (int i = 1; i <= 7; i++) {
+            send("batchTarget", i);
+        }
+        coordinator.start();
+        assertEquals("deliver 1,2,3", nextEvent());
+        assertEquals("deliver 4,5,6", nextEvent());
+        assertEquals("deliver 7", nextEvent());
+    }
+
+    @Test
+    public void testLingerWaitsForBatch() throws InterruptedException {
+        final long linger = 200;
+        coordinator.setMessageBatch(10, linger);
+        coordinator.start();
+        final long start = System.nanoTime();
+        send("batchTarget", 1);
+        Thread.sleep(50);
+        send("batchTarget", 2);
+        // the second message arrived within the linger time and is handled in the same batch
+        assertEquals("deliver 1,2", nextEvent());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(linger));
+    }
+}
@@ -0,0 +1,96 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.api.message.SendOptions;
+import org.jacpfx.rcp.message.MessageDeadlines;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the deadlines of messages and the dropping of expired messages.
+ */
+public class MessageDeadlineTest {
+
+    public static class Quote {
+    }
+
+    public static class StockQuote extends Quote {
+    }
+
+    @After
+    public void removeDefaults() {
+        MessageDeadlines.removeDefaultTtl(Quote.class);
+        MessageDeadlines.removeDefaultTtl(StockQuote.class);
+    }
+
+    @Test
+    public void testSendOptions() {
+        assertSame(SendOptions.DEFAULT, SendOptions.priority(MessagePriority.NORMAL));
+        final SendOptions options = SendOptions.ttl(2, TimeUnit.SECONDS).withPriority(MessagePriority.INTERACTIVE);
+        assertEquals(MessagePriority.INTERACTIVE, options.getPriority());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), options.getTtlNanos());
+
+        final Message<Event, Object> message = MessageImpl.createMessage("source", "target", "body", options);
+        assertEquals(MessagePriority.INTERACTIVE, message.getPriority());
+        assertTrue(message.getDeadline() != 0L);
+        assertFalse(message.isExpired(System.nanoTime()));
+        assertTrue(message.isExpired(message.getCreationTime() + TimeUnit.SECONDS.toNanos(3)));
+        assertEquals(message.getDeadline(), message.cloneMessage().getDeadline());
+
+        final Message<Event, Object> noTtl = MessageImpl.createMessage("source", "target", "body", SendOptions.DEFAULT);
+        assertEquals(0L, noTtl.getDeadline());
+        assertFalse(noTtl.isExpired(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testDefaultTtlPerType() {
+        MessageDeadlines.setDefaultTtl(Quote.class, 1, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), MessageDeadlines.getDefaultTtlNanos(new StockQuote()));
+        MessageDeadlines.setDefaultTtl(StockQuote.class, 5, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(5), MessageDeadlines.getDefaultTtlNanos(new StockQuote()));
+        assertEquals(0L, MessageDeadlines.getDefaultTtlNanos("text"));
+
+        assertTrue(MessageImpl.createMessage("source", "target", new Quote(), SendOptions.DEFAULT).getDeadline() != 0L);
+        assertTrue(MessageImpl.createTopicMessage("source", "quotes", new Quote()).getDeadline() != 0L);
+        // an explicit time to live wins
+        final Message<Event, Object> message = MessageImpl.createMessage("source", "target", new Quote(), SendOptions.ttl(1, TimeUnit.MINUTES));
+        assertFalse(message.isExpired(message.getCreationTime() + TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    @Test
+    public void testDropExpired() throws InterruptedException {
+        final long expiredBefore = MessageDeadlines.getExpiredCount(MessageDeadlines.Stage.WORKER);
+        final Message<Event, Object> alive = MessageImpl.createMessage("source", "target", "body", SendOptions.ttl(1, TimeUnit.MINUTES));
+        assertFalse(MessageDeadlines.dropIfExpired(alive, MessageDeadlines.Stage.WORKER));
+        assertFalse(MessageDeadlines.dropIfExpired(new MessageImpl("source", "target", "body", null), MessageDeadlines.Stage.WORKER));
+
+        MessageDeadlines.setDefaultTtl(Quote.class, 1, TimeUnit.MILLISECONDS);
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final Message<Event, Object> request = MessageImpl.createRequestMessage("source", "target", new Quote(), reply);
+        Thread.sleep(5);
+        assertTrue(MessageDeadlines.dropIfExpired(request, MessageDeadlines.Stage.WORKER));
+        assertEquals(expiredBefore + 1, MessageDeadlines.getExpiredCount(MessageDeadlines.Stage.WORKER));
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("reply should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        } catch (TimeoutException e) {
+            fail("reply was not completed");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.annotations.method.OnMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.util.MessageHandlerInvoker;
+import org.jacpfx.rcp.util.MessageHandlers;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the parameter binding and the type hierarchy dispatch of compiled OnMessage / OnAsyncMessage invokers.
+ */
+public class MessageHandlerInvokerTest {
+
+    private static Message<Event, Object> message(final Object body) {
+        return new MessageImpl("source", "target", body, null);
+    }
+
+    public static class Handler {
+
+        @OnAsyncMessage(String.class)
+        public Object onString(final Message<Event, Object> message) {
+            return message.getMessageBody();
+        }
+
+        @OnMessage(String.class)
+        public Object postString(final StringBuilder value, final Message<Event, Object> message) {
+            return value == null ? null : value.append(message.getMessageBody()).toString();
+        }
+
+        @OnMessage(Integer.class)
+        public void postInteger(final Message<Event, Object> message) {
+        }
+
+        @OnAsyncMessage(Integer.class)
+        public Object failInteger(final Message<Event, Object> message) {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    public static class HierarchyHandler {
+
+        @OnMessage(Integer.class)
+        public Object onInteger(final Message<Event, Object> message) {
+            return "integer";
+        }
+
+        @OnMessage(Number.class)
+        public Object onNumber(final Message<Event, Object> message) {
+            return "number";
+        }
+
+        @OnMessage(CharSequence.class)
+        public Object onCharSequence(final Message<Event, Object> message) {
+            return "charSequence";
+        }
+
+        @OnMessage(Object.class)
+        public Object onObject(final Message<Event, Object> message) {
+            return "object";
+        }
+    }
+
+    @Test
+    public void testHandlersAreCachedPerClass() {
+        final MessageHandlers handlers = MessageHandlers.of(Handler.class);
+        assertSame(handlers, MessageHandlers.of(Handler.class));
+        assertSame(handlers.getOnMessage(String.class), MessageHandlers.of(Handler.class).getOnMessage(String.class));
+        assertEquals(2, handlers.getOnMessageHandlers().size());
+        assertEquals(2, handlers.getOnAsyncMessageHandlers().size());
+        assertNull(handlers.getOnMessage(Long.class));
+    }
+
+    @Test
+    public void testMessageBinding() {
+        final MessageHandlerInvoker invoker = MessageHandlers.of(Handler.class).getOnAsyncMessage(String.class);
+        assertNotNull(invoker);
+        assertEquals("onString", invoker.getMethod().getName());
+        assertEquals("hello", invoker.invoke(new Handler(), message("hello"), null));
+    }
+
+    @Test
+    public void testValueBinding() {
+        final MessageHandlerInvoker invoker = MessageHandlers.of(Handler.class).getOnMessage(String.class);
+        assertEquals("value:hello", invoker.invoke(new Handler(), message("hello"), new StringBuilder("value:")));
+        // a value not matching the parameter type is passed as null
+        assertNull(invoker.invoke(new Handler(), message("hello"), "value:"));
+    }
+
+    @Test
+    public void testVoidMethod() {
+        final MessageHandlerInvoker invoker = MessageHandlers.of(Handler.class).getOnMessage(Integer.class);
+        assertNull(invoker.invoke(new Handler(), message(1), null));
+    }
+
+    @Test
+    public void testExceptionIsPassedToUncaughtExceptionHandler() {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread t = Thread.currentThread();
+        final Thread.UncaughtExceptionHandler previous = t.getUncaughtExceptionHandler();
+        t.setUncaughtExceptionHandler((thread, e) -> error.set(e));
+        try {
+            final MessageHandlerInvoker invoker = MessageHandlers.of(Handler.class).getOnAsyncMessage(Integer.class);
+            assertNull(invoker.invoke(new Handler(), message(1), null));
+            assertEquals(IllegalStateException.class, error.get().getClass());
+        } finally {
+            t.setUncaughtExceptionHandler(previous);
+        }
+    }
+
+    @Test
+    public void testMostSpecificHandler() {
+        final MessageHandlers handlers = MessageHandlers.of(HierarchyHandler.class);
+        final HierarchyHandler handle = new HierarchyHandler();
+        assertEquals("integer", handlers.getOnMessage(Integer.class).invoke(handle, message(1), null));
+        assertEquals("number", handlers.getOnMessage(Long.class).invoke(handle, message(1L), null));
+        assertEquals("charSequence", handlers.getOnMessage(String.class).invoke(handle, message("1"), null));
+        assertEquals("charSequence", handlers.getOnMessage(StringBuilder.class).invoke(handle, message(new StringBuilder()), null));
+        assertEquals("object", handlers.getOnMessage(Boolean.class).invoke(handle, message(true), null));
+        assertSame(handlers.getOnMessage(Long.class), handlers.getOnMessage(Long.class));
+        assertNull(handlers.getOnAsyncMessage(Long.class));
+        // without a matching handler the message is handled by the handle method
+        assertNull(MessageHandlers.of(Handler.class).getOnMessage(Boolean.class));
+    }
+}
@@ -0,0 +1,151 @@
+package org.jacp.test.messaging;
+
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessageLogger;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.util.MessageLogDispatcher;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the ring buffer dispatch of message log events.
+ */
+public class MessageLogDispatcherTest {
+
+    private static final class RecordingLogger implements MessageLogger {
+        private final List<String> events = new ArrayList<>();
+
+        private synchronized void record(final String event, final Message m) {
+            events.add(event + ":" + m.getMessageBody());
+        }
+
+        synchronized List<String> getEvents() {
+            return new ArrayList<>(events);
+        }
+
+        @Override
+        public void onSend(final Message m) {
+            record("send", m);
+        }
+
+        @Override
+        public void handleActive(final Message m) {
+            record("active", m);
+        }
+
+        @Override
+        public void handleInactive(final Message m) {
+            record("inactive", m);
+        }
+
+        @Override
+        public void handleInCurrentPerspective(final Message m) {
+            record("perspective", m);
+        }
+
+        @Override
+        public void delegate(final Message m) {
+            record("delegate", m);
+        }
+
+        @Override
+        public void receive(final Message m) {
+            record("receive", m);
+        }
+
+        @Override
+        public void deadLetter(final Message m, final DeadLetterReason reason) {
+            record("dead " + reason, m);
+        }
+    }
+
+    private static Message message(final Object body) {
+        return new MessageImpl("source", "target", body, null);
+    }
+
+    private static void awaitDispatched(final MessageLogDispatcher dispatcher, final long count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getDispatchedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, dispatcher.getDispatchedCount());
+    }
+
+    @Test
+    public void testEventsAreDispatchedInOrder() throws InterruptedException {
+        final RecordingLogger logger = new RecordingLogger();
+        final MessageLogDispatcher dispatcher = new MessageLogDispatcher(new MessageLogger[]{logger}, 16);
+        dispatcher.start();
+        try {
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                // the buffer is smaller than the amount of events, retry until the dispatcher freed a slot
+                while (!dispatcher.publish(MessageLogDispatcher.ON_SEND, message(i), null)) {
+                    Thread.yield();
+                }
+                expected.add("send:" + i);
+            }
+            while (!dispatcher.publish(MessageLogDispatcher.DEAD_LETTER, message("lost"), DeadLetterReason.EXPIRED)) {
+                Thread.yield();
+            }
+            expected.add("dead EXPIRED:lost");
+            awaitDispatched(dispatcher, 101);
+            assertEquals(expected, logger.getEvents());
+        } finally {
+            dispatcher.interrupt();
+        }
+    }
+
+    @Test
+    public void testIdleDispatcherWakesUp() throws InterruptedException {
+        final RecordingLogger logger = new RecordingLogger();
+        final MessageLogDispatcher dispatcher = new MessageLogDispatcher(new MessageLogger[]{logger}, 16);
+        dispatcher.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                // the idle dispatcher parks without timeout, only a publish wakes it up
+                final long deadline = System.currentTimeMillis() + 5000;
+                while (dispatcher.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertEquals(Thread.State.WAITING, dispatcher.getState());
+                assertTrue(dispatcher.publish(MessageLogDispatcher.RECEIVE, message(i), null));
+                awaitDispatched(dispatcher, i + 1);
+            }
+        } finally {
+            dispatcher.interrupt();
+        }
+    }
+
+    @Test
+    public void testOverflowIsCounted() throws InterruptedException {
+        final RecordingLogger logger = new RecordingLogger();
+        final MessageLogDispatcher dispatcher = new MessageLogDispatcher(new MessageLogger[]{logger}, 3);
+        assertEquals(4, dispatcher.getCapacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(dispatcher.publish(MessageLogDispatcher.RECEIVE, message(i), null));
+        }
+        // the consumer is not running, the buffer is full
+        assertFalse(dispatcher.publish(MessageLogDispatcher.RECEIVE, message(4), null));
+        assertFalse(dispatcher.publish(MessageLogDispatcher.RECEIVE, message(5), null));
+        assertEquals(2, dispatcher.getOverflowCount());
+
+        dispatcher.start();
+        try {
+            awaitDispatched(dispatcher, 4);
+            assertEquals("receive:3", logger.getEvents().get(3));
+            assertTrue(dispatcher.publish(MessageLogDispatcher.DELEGATE, message(6), null));
+            awaitDispatched(dispatcher, 5);
+            assertEquals("delegate:6", logger.getEvents().get(4));
+        } finally {
+            dispatcher.interrupt();
+        }
+    }
+}
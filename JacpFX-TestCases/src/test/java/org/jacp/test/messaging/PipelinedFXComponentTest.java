@@ -0,0 +1,105 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.scene.Node;
+import org.jacpfx.api.annotations.component.View;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.EmbeddedFXComponent;
+import org.jacpfx.rcp.component.FXComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.worker.FXComponentInitWorker;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the pipelined handle/postHandle mode of FX components.
+ */
+public class PipelinedFXComponentTest {
+    private static final int PIPELINE_DEPTH = 2;
+    private static final int MESSAGES = 5;
+
+    @View(id = "pipelinedView", initialTargetLayoutId = "pipelinedTarget", pipelineDepth = PIPELINE_DEPTH)
+    public static class PipelinedView implements FXComponent {
+        private final List<Object> handled = new CopyOnWriteArrayList<>();
+        private final List<Object> postHandled = new CopyOnWriteArrayList<>();
+        private final CountDownLatch releaseApplicationThread = new CountDownLatch(1);
+
+        @Override
+        public Node handle(final Message<Event, Object> message) throws Exception {
+            if (message.getMessageBody() instanceof Integer) handled.add(message.getMessageBody());
+            return null;
+        }
+
+        @Override
+        public Node postHandle(final Node node, final Message<Event, Object> message) throws Exception {
+            if (!(message.getMessageBody() instanceof Integer)) return null;
+            postHandled.add(message.getMessageBody());
+            // the first update blocks the application thread, so the following updates stay pending
+            if (message.getMessageBody().equals(1)) releaseApplicationThread.await(10, TimeUnit.SECONDS);
+            return null;
+        }
+    }
+
+    @BeforeClass
+    public static void init() throws TimeoutException {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+        FxToolkit.registerPrimaryStage();
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testPipelineKeepsOrderAndDepth() throws Exception {
+        final PipelinedView view = new PipelinedView();
+        final EmbeddedFXComponent component = new EmbeddedFXComponent(view);
+        component.initEnv("pipelinePerspective", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("pipelinedView");
+        final FXComponentInitWorker initWorker = new FXComponentInitWorker(new HashMap<>(), component,
+                new MessageImpl("pipelinePerspective", "pipelinedView", "init", null), new LinkedBlockingQueue<>());
+        new Thread(initWorker).start();
+        initWorker.get(10, TimeUnit.SECONDS);
+        try {
+            try {
+                for (int i = 1; i <= MESSAGES; i++) {
+                    component.putIncomingMessage(new MessageImpl("pipelinePerspective.source", "pipelinedView", i, null));
+                }
+                // the pending updates fill the pipeline, the next handled message waits for a free slot
+                awaitCondition(() -> view.handled.size() == PIPELINE_DEPTH + 1);
+                Thread.sleep(100);
+                assertEquals(PIPELINE_DEPTH + 1, view.handled.size());
+                assertEquals(Arrays.<Object>asList(1), view.postHandled);
+            } finally {
+                view.releaseApplicationThread.countDown();
+            }
+            awaitCondition(() -> view.postHandled.size() == MESSAGES);
+            assertEquals(Arrays.<Object>asList(1, 2, 3, 4, 5), view.handled);
+            assertEquals(Arrays.<Object>asList(1, 2, 3, 4, 5), view.postHandled);
+        } finally {
+            component.interruptWorker();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.api.message.MessagePriority;
+import org.jacpfx.rcp.component.PriorityMailbox;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.message.PriorityLanes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the priority lanes of the coordinator queue and the component mailbox.
+ */
+public class PriorityLaneTest {
+
+    private static Message<Event, Object> message(final Object body, final MessagePriority priority) {
+        return MessageImpl.createPriorityMessage("source", "target", body, priority);
+    }
+
+    private static String pollAll(final PriorityLanes<String> lanes) {
+        final StringBuilder builder = new StringBuilder();
+        String element;
+        while ((element = lanes.poll()) != null) builder.append(element);
+        return builder.toString();
+    }
+
+    @Test
+    public void testPriorityMessage() {
+        final Message<Event, Object> message = message("body", MessagePriority.INTERACTIVE);
+        assertEquals(MessagePriority.INTERACTIVE, message.getPriority());
+        assertEquals(MessagePriority.INTERACTIVE, message.cloneMessage().getPriority());
+        assertEquals(message.getCreationTime(), message.cloneMessage().getCreationTime());
+        assertEquals(MessagePriority.NORMAL, new MessageImpl("source", "target", "body", null).getPriority());
+    }
+
+    @Test
+    public void testHigherLanesFirst() {
+        final PriorityLanes<String> lanes = new PriorityLanes<>(10);
+        lanes.add("b", MessagePriority.BULK);
+        lanes.add("n", MessagePriority.NORMAL);
+        lanes.add("i", MessagePriority.INTERACTIVE);
+        lanes.add("j", MessagePriority.INTERACTIVE);
+        assertEquals(4, lanes.size());
+        assertEquals("i", lanes.peek());
+        assertEquals("ijnb", pollAll(lanes));
+        assertTrue(lanes.isEmpty());
+    }
+
+    @Test
+    public void testStarvationProtection() {
+        final PriorityLanes<String> lanes = new PriorityLanes<>(2);
+        for (int i = 0; i < 6; i++) lanes.add("i", MessagePriority.INTERACTIVE);
+        lanes.add("n", MessagePriority.NORMAL);
+        lanes.add("b", MessagePriority.BULK);
+        // a waiting lane is served after it was passed over twice, the normal message also passes the bulk message
+        assertEquals("iinbiiii", pollAll(lanes));
+        assertEquals(0, lanes.size());
+    }
+
+    @Test
+    public void testCoordinatorQueueLanes() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        queue.send(message("bulk1", MessagePriority.BULK));
+        queue.send(message("bulk2", MessagePriority.BULK));
+        queue.send(message("normal", MessagePriority.NORMAL));
+        queue.send(message("interactive", MessagePriority.INTERACTIVE));
+        assertEquals(4, queue.size());
+        assertEquals("interactive", queue.take().getMessageBody());
+        final List<Message<Event, Object>> drained = new ArrayList<>();
+        assertEquals(3, queue.drainTo(drained));
+        assertEquals("normal", drained.get(0).getMessageBody());
+        assertEquals("bulk1", drained.get(1).getMessageBody());
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.getLaneMetrics().getServedCount(MessagePriority.INTERACTIVE));
+        assertEquals(2, queue.getLaneMetrics().getServedCount(MessagePriority.BULK));
+        assertTrue(queue.getLaneMetrics().getMaxLatencyNanos(MessagePriority.BULK) > 0);
+    }
+
+    @Test
+    public void testDropOldestDropsLowestLane() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 2, MessageOverflowPolicy.DROP_OLDEST, 0);
+        queue.send(message("interactive", MessagePriority.INTERACTIVE));
+        queue.send(message("bulk", MessagePriority.BULK));
+        queue.send(message("normal", MessagePriority.NORMAL));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals("interactive", queue.poll().getMessageBody());
+        assertEquals("normal", queue.poll().getMessageBody());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDropOldestKeepsHigherLanes() throws InterruptedException {
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 2, MessageOverflowPolicy.DROP_OLDEST, 0);
+        queue.send(message("interactive1", MessagePriority.INTERACTIVE));
+        queue.send(message("interactive2", MessagePriority.INTERACTIVE));
+        queue.send(message("bulk", MessagePriority.BULK));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals("interactive1", queue.poll().getMessageBody());
+        assertEquals("interactive2", queue.poll().getMessageBody());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testMailboxLanes() throws InterruptedException {
+        final PriorityMailbox mailbox = new PriorityMailbox();
+        mailbox.put(message("bulk", MessagePriority.BULK));
+        mailbox.put(message("normal", MessagePriority.NORMAL));
+        mailbox.put(message("interactive", MessagePriority.INTERACTIVE));
+        assertEquals(1, mailbox.size(MessagePriority.BULK));
+        assertEquals("interactive", mailbox.peek().getMessageBody());
+        assertEquals("interactive", mailbox.take().getMessageBody());
+        assertEquals("normal", mailbox.take().getMessageBody());
+        assertEquals("bulk", mailbox.take().getMessageBody());
+        assertEquals(1, mailbox.getLaneMetrics().getServedCount(MessagePriority.NORMAL));
+    }
+}
@@ -0,0 +1,123 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.method.OnAsyncMessage;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.util.MessageHandlerInvoker;
+import org.jacpfx.rcp.util.MessageHandlers;
+import org.jacpfx.rcp.util.WorkerUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests request messages and the completion of their replies.
+ */
+public class RequestReplyTest {
+
+    public static class FailingHandler {
+        @OnAsyncMessage(String.class)
+        public Object onString(final Message<Event, Object> message) {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    private static CoordinatorQueue asyncQueue() {
+        return new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+    }
+
+    private static Throwable cause(final CompletableFuture<?> reply) throws InterruptedException {
+        try {
+            reply.get(5, TimeUnit.SECONDS);
+            fail("reply should fail");
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            fail("reply was not completed");
+        }
+        return null;
+    }
+
+    @Test
+    public void testRequestIsQueued() throws Exception {
+        final CoordinatorQueue queue = asyncQueue();
+        final JacpContextImpl context = new JacpContextImpl("requestPerspective", queue);
+        context.setId("requester");
+        final CompletableFuture<String> reply = context.request("responder", "question");
+        final Message<Event, Object> request = queue.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("responder", request.getTargetId());
+        assertEquals("requestPerspective.requester", request.getSourceId());
+        assertNotNull(request.getReply());
+        assertSame(request.getReply(), request.cloneMessage().getReply());
+        request.getReply().complete("answer");
+        assertEquals("answer", reply.get(5, TimeUnit.SECONDS));
+        assertNull(new MessageImpl("source", "target", "body", null).getReply());
+    }
+
+    @Test
+    public void testReturnValueCompletesReply() throws Exception {
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final Message<Event, Object> request = MessageImpl.createRequestMessage("source", "target", "question", reply);
+        // the component is not needed, a reply is never delivered as message
+        WorkerUtil.delegateReturnValue(null, "source", "answer", request);
+        assertEquals("answer", reply.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelledRequestIsDone() {
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final Message<Event, Object> request = MessageImpl.createRequestMessage("source", "target", "question", reply);
+        assertFalse(WorkerUtil.isReplyDone(request));
+        reply.cancel(false);
+        assertTrue(WorkerUtil.isReplyDone(request));
+        assertFalse(WorkerUtil.isReplyDone(new MessageImpl("source", "target", "body", null)));
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        final JacpContextImpl context = new JacpContextImpl("requestPerspective", asyncQueue());
+        context.setId("requester");
+        final CompletableFuture<Object> reply = context.request("responder", "question", 50, TimeUnit.MILLISECONDS);
+        assertTrue(cause(reply) instanceof TimeoutException);
+    }
+
+    @Test
+    public void testHandlerFailureCompletesReply() throws Exception {
+        final CompletableFuture<Object> reply = new CompletableFuture<>();
+        final Message<Event, Object> request = MessageImpl.createRequestMessage("source", "target", "question", reply);
+        final MessageHandlerInvoker invoker = MessageHandlers.of(FailingHandler.class).getOnAsyncMessage(String.class);
+        final Thread.UncaughtExceptionHandler previous = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> {
+        });
+        try {
+            assertNull(invoker.invoke(new FailingHandler(), request, null));
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(previous);
+        }
+        assertTrue(cause(reply) instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,198 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.component.Injectable;
+import org.jacpfx.api.component.Perspective;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.ComponentAddress;
+import org.jacpfx.api.message.DeadLetterReason;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.context.JacpContextImpl;
+import org.jacpfx.rcp.coordinator.CoordinatorQueue;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.coordinator.MessageOverflowPolicy;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.DeadLetterChannel;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.PerspectiveRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the invalidation of the cached message routes of a coordinator on registry changes.
+ */
+public class RoutingTableTest {
+    private static final String PERSPECTIVE_ID = "routingPerspective";
+
+    private final List<SubComponent<EventHandler<Event>, Event, Object>> components = new ArrayList<>();
+    private final List<Perspective<Node, EventHandler<Event>, Event, Object>> perspectives = new ArrayList<>();
+    private final LinkedBlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delivered = new LinkedBlockingQueue<>();
+    private MessageCoordinator coordinator;
+
+    @Component(id = "routingTarget")
+    public static class RoutingTarget implements CallbackComponent {
+    }
+
+    @org.jacpfx.api.annotations.perspective.Perspective(id = PERSPECTIVE_ID, components = {"routingDeclared", "routingLate"})
+    public static class RoutingPerspective implements Injectable {
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    @Before
+    public void createCoordinator() {
+        coordinator = new MessageCoordinator(PERSPECTIVE_ID, null, new LinkedTransferQueue<>(), null);
+        coordinator.setComponentHandler(new ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>>() {
+            @Override
+            public void initComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+            }
+
+            @Override
+            public void handleAndReplaceComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+                delivered.add(component);
+            }
+        });
+    }
+
+    @After
+    public void remove() {
+        components.forEach(ComponentRegistry::removeComponent);
+        perspectives.forEach(PerspectiveRegistry::removePerspective);
+    }
+
+    private SubComponent<EventHandler<Event>, Event, Object> registerComponent(final String id) {
+        final EmbeddedStatefulComponent component = new EmbeddedStatefulComponent(new RoutingTarget());
+        component.initEnv(PERSPECTIVE_ID, new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId(id);
+        ComponentRegistry.registerComponent(component);
+        components.add(component);
+        return component;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Perspective<Node, EventHandler<Event>, Event, Object> registerPerspective(final String id, final CoordinatorQueue queue, final Runnable onAnnotationLookup) {
+        final JacpContextImpl context = new JacpContextImpl(queue);
+        context.setId(id);
+        context.updateActiveState(true);
+        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = (Perspective<Node, EventHandler<Event>, Event, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{Perspective.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getContext":
+                            return context;
+                        case "getMessageQueue":
+                            return queue;
+                        case "getPerspective":
+                            if (onAnnotationLookup != null) onAnnotationLookup.run();
+                            return new RoutingPerspective();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        PerspectiveRegistry.registerPerspective(perspective);
+        perspectives.add(perspective);
+        return perspective;
+    }
+
+    private void route(final String targetId) {
+        coordinator.handleMessage(targetId, new MessageImpl(PERSPECTIVE_ID + ".source", targetId, "body", null));
+    }
+
+    private static long unknownTargets() {
+        return DeadLetterChannel.getDeadLetterCount(DeadLetterReason.UNKNOWN_TARGET);
+    }
+
+    @Test
+    public void testComponentRemoveAndRegisterInvalidatesRoute() {
+        final SubComponent<EventHandler<Event>, Event, Object> first = registerComponent("routingTarget");
+        route("routingTarget");
+        route(PERSPECTIVE_ID + ".routingTarget");
+        assertSame(first, delivered.poll());
+        assertSame(first, delivered.poll());
+
+        ComponentRegistry.removeComponent(first);
+        final long before = unknownTargets();
+        route("routingTarget");
+        route(PERSPECTIVE_ID + ".routingTarget");
+        assertNull(delivered.poll());
+        assertEquals(before + 2, unknownTargets());
+
+        // the new instance with the same id replaces the removed one
+        final SubComponent<EventHandler<Event>, Event, Object> second = registerComponent("routingTarget");
+        route("routingTarget");
+        route(PERSPECTIVE_ID + ".routingTarget");
+        assertSame(second, delivered.poll());
+        assertSame(second, delivered.poll());
+    }
+
+    @Test
+    public void testPerspectiveRegisterAndRemoveInvalidatesRoute() {
+        registerPerspective(PERSPECTIVE_ID, new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0), null);
+        // only routes of interned targets are cached
+        ComponentAddress.of("routingDeclared");
+        // the declared component is inactive and can not be created in this test, the route is cached anyway
+        long before = unknownTargets();
+        route("routingDeclared");
+        assertEquals(before + 1, unknownTargets());
+
+        // a perspective with the same id takes precedence over the inactive component
+        final CoordinatorQueue queue = new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0);
+        final Perspective<Node, EventHandler<Event>, Event, Object> perspective = registerPerspective("routingDeclared", queue, null);
+        before = unknownTargets();
+        route("routingDeclared");
+        assertEquals("routingDeclared", queue.poll().getTargetId());
+        assertEquals(before, unknownTargets());
+
+        PerspectiveRegistry.removePerspective(perspective);
+        route("routingDeclared");
+        assertNull(queue.poll());
+        assertEquals(before + 1, unknownTargets());
+    }
+
+    @Test
+    public void testRouteResolvedDuringRegistryChangeIsNotCached() {
+        final AtomicReference<SubComponent<EventHandler<Event>, Event, Object>> late = new AtomicReference<>();
+        // the component gets registered while the coordinator resolves the route to it as inactive
+        registerPerspective(PERSPECTIVE_ID, new CoordinatorQueue(true, 10, MessageOverflowPolicy.FAIL_FAST, 0), () -> {
+            if (late.get() == null) late.set(registerComponent("routingLate"));
+        });
+        ComponentAddress.of("routingLate");
+        final long before = unknownTargets();
+        route("routingLate");
+        assertEquals(before + 1, unknownTargets());
+        assertNull(delivered.poll());
+
+        // the stale inactive route must not replace the route installed by the registration
+        route("routingLate");
+        assertSame(late.get(), delivered.poll());
+        assertEquals(before + 1, unknownTargets());
+    }
+}
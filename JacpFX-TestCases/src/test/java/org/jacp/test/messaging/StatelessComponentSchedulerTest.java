@@ -0,0 +1,192 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import org.jacpfx.api.annotations.component.Stateless;
+import org.jacpfx.api.fragment.Scope;
+import org.jacpfx.api.launcher.Launcher;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.AStatelessCallbackComponent;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatelessCallbackComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.scheduler.StatelessComponentSchedulerImpl;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the adaptive instance pool of stateless components.
+ */
+public class StatelessComponentSchedulerTest {
+    private static final int MAX_INSTANCES = 2;
+
+    @Stateless(maxInstances = MAX_INSTANCES, idleTimeout = 50)
+    public static class PooledComponent implements CallbackComponent {
+        private final Probe probe;
+
+        PooledComponent(final Probe probe) {
+            this.probe = probe;
+        }
+
+        @Override
+        public Object handle(final Message<Event, Object> message) throws Exception {
+            final int running = probe.running.incrementAndGet();
+            probe.maxRunning.accumulateAndGet(running, Math::max);
+            probe.started.countDown();
+            try {
+                probe.release.await(10, TimeUnit.SECONDS);
+                return message.getMessageBody();
+            } finally {
+                probe.running.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Probe {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final CountDownLatch started;
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private Probe(final int expectedRuns) {
+            this.started = new CountDownLatch(expectedRuns);
+        }
+    }
+
+    @BeforeClass
+    public static void initToolkit() throws TimeoutException {
+        // the instance workers are FX tasks
+        FxToolkit.registerPrimaryStage();
+    }
+
+    private static AStatelessCallbackComponent createComponent(final Probe probe) {
+        final AStatelessCallbackComponent component = new EmbeddedStatelessCallbackComponent(new PooledComponent(probe));
+        component.initEnv("statelessPoolPerspective", new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId("statelessPoolComponent");
+        return component;
+    }
+
+    private static StatelessComponentSchedulerImpl createScheduler(final Probe probe) {
+        return new StatelessComponentSchedulerImpl(new Launcher<Object>() {
+            @Override
+            public Object getContext() {
+                return null;
+            }
+
+            @Override
+            public <P> P getBean(final Class<P> clazz) {
+                return null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <P> P getBean(final String qualifier) {
+                return (P) new PooledComponent(probe);
+            }
+
+            @Override
+            public <P> P registerAndGetBean(final Class<? extends P> type, final String id, final Scope scope) {
+                return null;
+            }
+        });
+    }
+
+    private static List<CompletableFuture<Object>> sendRequests(final StatelessComponentSchedulerImpl scheduler, final AStatelessCallbackComponent component, final int count) {
+        final List<CompletableFuture<Object>> replies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final CompletableFuture<Object> reply = new CompletableFuture<>();
+            scheduler.incomingMessage(MessageImpl.createRequestMessage("statelessPoolPerspective.source", "statelessPoolComponent", i, reply), component);
+            replies.add(reply);
+        }
+        return replies;
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testInstanceCountIsBoundedUnderBurst() throws Exception {
+        final Probe probe = new Probe(MAX_INSTANCES);
+        final AStatelessCallbackComponent component = createComponent(probe);
+        final StatelessComponentSchedulerImpl scheduler = createScheduler(probe);
+        final List<CompletableFuture<Object>> replies;
+        try {
+            replies = sendRequests(scheduler, component, 50);
+            assertTrue(probe.started.await(10, TimeUnit.SECONDS));
+            // all instances are busy, the rest of the burst waits in the pending queue
+            assertEquals(MAX_INSTANCES, component.getInstances().size());
+            assertEquals(MAX_INSTANCES, component.getThreadCounter().get());
+            assertTrue(component.hasPendingMessages());
+        } finally {
+            probe.release.countDown();
+        }
+        for (final CompletableFuture<Object> reply : replies) {
+            reply.get(10, TimeUnit.SECONDS);
+        }
+        assertTrue(probe.maxRunning.get() <= MAX_INSTANCES);
+        assertTrue(component.getInstances().size() <= MAX_INSTANCES);
+    }
+
+    @Test
+    public void testNoMessageIsLostWhileAllInstancesAreBusy() throws Exception {
+        final Probe probe = new Probe(MAX_INSTANCES);
+        final AStatelessCallbackComponent component = createComponent(probe);
+        final StatelessComponentSchedulerImpl scheduler = createScheduler(probe);
+        final List<CompletableFuture<Object>> replies = sendRequests(scheduler, component, MAX_INSTANCES);
+        final List<CompletableFuture<Object>> queued;
+        try {
+            assertTrue(probe.started.await(10, TimeUnit.SECONDS));
+            // no instance is idle and no new one can be created, the messages are taken by the running instances
+            queued = sendRequests(scheduler, component, 10);
+            assertEquals(10, component.getPendingMessages().size());
+        } finally {
+            probe.release.countDown();
+        }
+        replies.addAll(queued);
+        for (int i = 0; i < replies.size(); i++) {
+            final Object value = replies.get(i).get(10, TimeUnit.SECONDS);
+            assertEquals(i < MAX_INSTANCES ? i : i - MAX_INSTANCES, value);
+        }
+        assertFalse(component.hasPendingMessages());
+    }
+
+    @Test
+    public void testIdleInstancesAreRemovedBySweep() throws Exception {
+        final Probe probe = new Probe(MAX_INSTANCES);
+        final AStatelessCallbackComponent component = createComponent(probe);
+        final StatelessComponentSchedulerImpl scheduler = createScheduler(probe);
+        final List<CompletableFuture<Object>> replies = sendRequests(scheduler, component, MAX_INSTANCES);
+        try {
+            assertTrue(probe.started.await(10, TimeUnit.SECONDS));
+        } finally {
+            probe.release.countDown();
+        }
+        for (final CompletableFuture<Object> reply : replies) {
+            reply.get(10, TimeUnit.SECONDS);
+        }
+        // no further message arrives, the timer sweep removes the instances after the idle timeout
+        awaitCondition(() -> component.getInstances().isEmpty());
+        assertEquals(0, component.getThreadCounter().get());
+        assertEquals(0, component.getIdleInstanceCount());
+    }
+}
@@ -0,0 +1,163 @@
+package org.jacp.test.messaging;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import org.jacpfx.api.annotations.component.Component;
+import org.jacpfx.api.component.SubComponent;
+import org.jacpfx.api.handler.ComponentHandler;
+import org.jacpfx.api.message.DelegateDTO;
+import org.jacpfx.api.message.Message;
+import org.jacpfx.rcp.component.CallbackComponent;
+import org.jacpfx.rcp.component.EmbeddedStatefulComponent;
+import org.jacpfx.rcp.context.InternalContext;
+import org.jacpfx.rcp.coordinator.MessageCoordinator;
+import org.jacpfx.rcp.handler.DefaultErrorDialogHandler;
+import org.jacpfx.rcp.handler.ExceptionHandler;
+import org.jacpfx.rcp.message.MessageImpl;
+import org.jacpfx.rcp.registry.ComponentRegistry;
+import org.jacpfx.rcp.registry.TopicRegistry;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TransferQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the topic subscription and the fan out of published messages by the message coordinator.
+ */
+public class TopicPublishTest {
+
+    private final List<SubComponent<EventHandler<Event>, Event, Object>> registered = new ArrayList<>();
+
+    @Component(id = "tickView1", topics = "ticks")
+    public static class TickSubscriber1 implements CallbackComponent {
+    }
+
+    @Component(id = "tickView2", topics = {"ticks", "news"})
+    public static class TickSubscriber2 implements CallbackComponent {
+    }
+
+    @Component(id = "tickView3", topics = "ticks")
+    public static class TickSubscriber3 implements CallbackComponent {
+    }
+
+    @Component(id = "noTopic")
+    public static class NoSubscriber implements CallbackComponent {
+    }
+
+    @BeforeClass
+    public static void initExceptionHandler() {
+        ExceptionHandler.initExceptionHandler(new DefaultErrorDialogHandler());
+    }
+
+    @After
+    public void removeComponents() {
+        registered.forEach(ComponentRegistry::removeComponent);
+        registered.clear();
+    }
+
+    private SubComponent<EventHandler<Event>, Event, Object> register(final CallbackComponent handle, final String parentId, final String id) {
+        final EmbeddedStatefulComponent component = new EmbeddedStatefulComponent(handle);
+        component.initEnv(parentId, new LinkedTransferQueue<>());
+        InternalContext.class.cast(component.getContext()).setId(id);
+        ComponentRegistry.registerComponent(component);
+        registered.add(component);
+        return component;
+    }
+
+    @Test
+    public void testSubscription() {
+        final SubComponent<EventHandler<Event>, Event, Object> tick1 = register(new TickSubscriber1(), "topicPerspective1", "tickView1");
+        final SubComponent<EventHandler<Event>, Event, Object> tick2 = register(new TickSubscriber2(), "topicPerspective1", "tickView2");
+        register(new NoSubscriber(), "topicPerspective1", "noTopic");
+        assertEquals(2, TopicRegistry.findSubscribers("ticks").size());
+        assertTrue(TopicRegistry.findSubscribers("ticks").contains(tick1));
+        assertEquals(1, TopicRegistry.findSubscribers("news").size());
+        assertSame(tick2, TopicRegistry.findSubscribers("news").get(0));
+        assertTrue(TopicRegistry.findSubscribers("unknown").isEmpty());
+        ComponentRegistry.removeComponent(tick2);
+        assertEquals(1, TopicRegistry.findSubscribers("ticks").size());
+        assertTrue(TopicRegistry.findSubscribers("news").isEmpty());
+    }
+
+    @Test
+    public void testTopicMessage() {
+        final Object body = new Object();
+        final MessageImpl message = MessageImpl.createTopicMessage("topicPerspective1.publisher", "ticks", body);
+        assertEquals("ticks", message.getTopic());
+        assertFalse(message.isTopicLocal());
+        final Message<Event, Object> local = MessageImpl.createLocalTopicMessage(message);
+        assertEquals("ticks", local.getTopic());
+        assertTrue(local.isTopicLocal());
+        assertSame(body, local.getMessageBody());
+        assertTrue(local.cloneMessage().isTopicLocal());
+        assertNull(new MessageImpl("source", "target", body, null).getTopic());
+    }
+
+    @Test
+    public void testFanOut() throws InterruptedException {
+        final SubComponent<EventHandler<Event>, Event, Object> tick1 = register(new TickSubscriber1(), "topicPerspective1", "tickView1");
+        final SubComponent<EventHandler<Event>, Event, Object> tick2 = register(new TickSubscriber2(), "topicPerspective1", "tickView2");
+        register(new TickSubscriber3(), "topicPerspective2", "tickView3");
+
+        final TransferQueue<DelegateDTO<Event, Object>> delegateQueue = new LinkedTransferQueue<>();
+        final LinkedBlockingQueue<SubComponent<EventHandler<Event>, Event, Object>> delivered = new LinkedBlockingQueue<>();
+        final List<Message<Event, Object>> deliveredMessages = new ArrayList<>();
+        final MessageCoordinator coordinator = new MessageCoordinator("topicPerspective1", null, delegateQueue, null);
+        coordinator.setComponentHandler(new ComponentHandler<SubComponent<EventHandler<Event>, Event, Object>, Message<Event, Object>>() {
+            @Override
+            public void initComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+            }
+
+            @Override
+            public void handleAndReplaceComponent(final Message<Event, Object> message, final SubComponent<EventHandler<Event>, Event, Object> component) {
+                synchronized (deliveredMessages) {
+                    deliveredMessages.add(message);
+                }
+                delivered.add(component);
+            }
+        });
+        coordinator.start();
+        try {
+            final Object body = new Object();
+            coordinator.getMessageQueue().put(MessageImpl.createTopicMessage("topicPerspective1.publisher", "ticks", body));
+
+            final List<SubComponent<EventHandler<Event>, Event, Object>> receivers = new ArrayList<>();
+            receivers.add(delivered.poll(5, TimeUnit.SECONDS));
+            receivers.add(delivered.poll(5, TimeUnit.SECONDS));
+            assertTrue(receivers.contains(tick1));
+            assertTrue(receivers.contains(tick2));
+            synchronized (deliveredMessages) {
+                assertSame(deliveredMessages.get(0), deliveredMessages.get(1));
+                assertSame(body, deliveredMessages.get(0).getMessageBody());
+            }
+
+            // one local copy for the other perspective
+            final DelegateDTO<Event, Object> dto = delegateQueue.poll(5, TimeUnit.SECONDS);
+            assertNotNull(dto);
+            assertEquals("topicPerspective2", dto.getTarget());
+            assertTrue(dto.getMessage().isTopicLocal());
+            assertSame(body, dto.getMessage().getMessageBody());
+
+            // a local copy is not delegated again
+            coordinator.getMessageQueue().put(MessageImpl.createLocalTopicMessage(dto.getMessage()));
+            assertNotNull(delivered.poll(5, TimeUnit.SECONDS));
+            assertNotNull(delivered.poll(5, TimeUnit.SECONDS));
+            assertNull(delegateQueue.poll(200, TimeUnit.MILLISECONDS));
+        } finally {
+            coordinator.interrupt();
+        }
+    }
+}
@@ -50,7 +50,7 @@ public final class FXWorker<T> implements Worker<T>{
     public static final AtomicLong WAIT = new AtomicLong(3500L);
     public static final AtomicBoolean APPLICATION_RUNNING = new AtomicBoolean(true);
     public final AtomicBoolean PROGRESS_DIRTY = new AtomicBoolean(false);
-    private final static ExecutorService EXECUTOR = Executors.newWorkStealingPool();
+    private final static ExecutorService EXECUTOR = VirtualThreads.isEnabled() ? VirtualThreads.newThreadPerTaskExecutor("FXWorker-") : Executors.newWorkStealingPool();
     private final DoubleProperty progress;
     private final StringProperty message;
     private final BooleanProperty cancel;
@@ -0,0 +1,135 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [VirtualThreads.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx.concurrency;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Provides executors backed by virtual threads when running on a JDK with virtual thread support (Java 21+). The virtual thread mode is opt-in, start the application with -Djacpfx.virtual.threads=true to enable it.
+ * The JDK API is accessed by reflection, so this class can be compiled and used on Java 8; on older runtimes the mode is silently disabled.
+ */
+public final class VirtualThreads {
+    /**
+     * the system property to enable the virtual thread mode
+     */
+    public static final String PROPERTY = "jacpfx.virtual.threads";
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreads.class.getName());
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static final Method NAME = findMethod(loadClass("java.lang.Thread$Builder"), "name", String.class, long.class);
+    private static final Method FACTORY = findMethod(loadClass("java.lang.Thread$Builder"), "factory");
+    private static final Method THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY) && checkAvailable();
+
+    private VirtualThreads() {
+
+    }
+
+    /**
+     * @return true if the runtime supports virtual threads
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null && NAME != null && FACTORY != null && THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return true if the virtual thread mode is enabled and available
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Creates a thread factory for virtual threads.
+     *
+     * @param namePrefix the name prefix, the thread names are numbered starting with 0
+     * @return the thread factory
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ThreadFactory newThreadFactory(final String namePrefix) {
+        if (!isAvailable()) throw new UnsupportedOperationException("virtual threads are not supported by this runtime");
+        try {
+            final Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads are not supported by this runtime", e);
+        }
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task.
+     *
+     * @param threadFactory a virtual thread factory
+     * @return the executor
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final ThreadFactory threadFactory) {
+        if (!isAvailable()) throw new UnsupportedOperationException("virtual threads are not supported by this runtime");
+        try {
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads are not supported by this runtime", e);
+        }
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task.
+     *
+     * @param namePrefix the name prefix of the virtual threads
+     * @return the executor
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String namePrefix) {
+        return newThreadPerTaskExecutor(newThreadFactory(namePrefix));
+    }
+
+    private static boolean checkAvailable() {
+        if (isAvailable()) return true;
+        LOGGER.log(Level.WARNING, PROPERTY + " is set but virtual threads are not supported by this runtime, using platform threads");
+        return false;
+    }
+
+    private static Class<?> loadClass(final String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method findMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        if (type == null) return null;
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
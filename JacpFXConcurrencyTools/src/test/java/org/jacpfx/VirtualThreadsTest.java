@@ -0,0 +1,74 @@
+/*
+ * **********************************************************************
+ *
+ *  Copyright (C) 2010 - 2015
+ *
+ *  [VirtualThreadsTest.java]
+ *  JACPFX Project (https://github.com/JacpFX/JacpFX/)
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an "AS IS"
+ *  BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language
+ *  governing permissions and limitations under the License.
+ *
+ *
+ * *********************************************************************
+ */
+
+package org.jacpfx;
+
+import org.jacpfx.concurrency.VirtualThreads;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests the virtual thread mode of the workers.
+ */
+public class VirtualThreadsTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(VirtualThreads.isEnabled());
+    }
+
+    @Test
+    public void testUnsupportedRuntime() {
+        if (VirtualThreads.isAvailable()) return;
+        try {
+            VirtualThreads.newThreadFactory("test-");
+            fail("virtual threads should not be available");
+        } catch (UnsupportedOperationException e) {
+            // expected on runtimes without virtual threads
+        }
+    }
+
+    @Test
+    public void testThreadPerTaskExecutor() throws Exception {
+        assumeTrue(VirtualThreads.isAvailable());
+        final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            final Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+            assertEquals("test-0", name.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}